@@ -0,0 +1,104 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.DurabilityPolicy;
+import com.jcoremanager.repository.H2TaskRepository;
+import com.jcoremanager.repository.JsonTaskRepository;
+import com.jcoremanager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesmas operações no JsonTaskRepository (tudo em memória + diário) e no H2TaskRepository
+ * (banco embutido, arquivo local). Os dois sem fsync por operação (diário e WRITE_DELAY em modo
+ * buffered), para comparar o custo de cada modelo e não o do disco.
+ * O H2 é criado pela migração do mesmo 'tasks.json' usado pelo backend json.
+ * O lote insere e remove as mesmas tarefas, para a massa manter o tamanho.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BackendComparisonBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"json", "h2"})
+    public String backend;
+
+    private Path workDir;
+    private TaskRepository repository;
+    private List<Task> tasks;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        tasks = TaskDatasets.generate(size);
+        workDir = TaskDatasets.createWorkDir();
+        Path json = workDir.resolve("tasks.json");
+        TaskDatasets.writeJson(json, tasks);
+        repository = switch (backend) {
+            case "json" -> new JsonTaskRepository(json);
+            case "h2" -> new H2TaskRepository("jdbc:h2:" + workDir.resolve("tasks"), json, DurabilityPolicy.buffered());
+            default -> throw new IllegalArgumentException(backend);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        TaskDatasets.deleteWorkDir(workDir);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(tasks.get(sequence++ % tasks.size()).getId());
+    }
+
+    @Benchmark
+    public Object findByStatus() {
+        return repository.findByStatus(Priority.ALTA, false);
+    }
+
+    @Benchmark
+    public void update() {
+        Task target = repository.findById(tasks.get(sequence++ % tasks.size()).getId()).orElseThrow();
+        target.setPriority(target.getPriority() == Priority.ALTA ? Priority.BAIXA : Priority.ALTA);
+        repository.update(target);
+    }
+
+    @Benchmark
+    public int saveAllAndDeleteAll() {
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Task task = TaskDatasets.newTask(sequence++);
+            batch.add(task);
+            ids.add(task.getId());
+        }
+        repository.saveAll(batch);
+        return repository.deleteAll(ids).size();
+    }
+}
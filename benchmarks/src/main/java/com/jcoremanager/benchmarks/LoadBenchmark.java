@@ -0,0 +1,55 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.repository.JsonTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga inicial (loadFromFile): abrir o JsonTaskRepository sobre um 'tasks.json' já existente,
+ * o que inclui ler o arquivo e montar o mapa e os índices em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path workDir;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = TaskDatasets.createWorkDir();
+        file = workDir.resolve("tasks.json");
+        TaskDatasets.writeJson(file, TaskDatasets.generate(size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        TaskDatasets.deleteWorkDir(workDir);
+    }
+
+    @Benchmark
+    public JsonTaskRepository loadFromFile() {
+        return new JsonTaskRepository(file);
+    }
+}
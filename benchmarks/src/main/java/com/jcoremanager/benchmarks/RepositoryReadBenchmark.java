@@ -0,0 +1,90 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.JsonTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras do JsonTaskRepository: findById (ID completo e parcial) e findAll.
+ * Os IDs consultados giram por toda a massa, para não medir sempre a mesma entrada em cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryReadBenchmark {
+
+    // Tamanho de prefixo que o usuário digitaria; único mesmo com 1M de tarefas.
+    private static final int PARTIAL_ID_LENGTH = 13;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path workDir;
+    private JsonTaskRepository repository;
+    private String[] fullIds;
+    private String[] partialIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<Task> tasks = TaskDatasets.generate(size);
+        workDir = TaskDatasets.createWorkDir();
+        Path file = workDir.resolve("tasks.json");
+        TaskDatasets.writeJson(file, tasks);
+        repository = new JsonTaskRepository(file);
+
+        fullIds = new String[tasks.size()];
+        partialIds = new String[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            fullIds[i] = tasks.get(i).getId();
+            partialIds[i] = fullIds[i].substring(0, PARTIAL_ID_LENGTH);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        TaskDatasets.deleteWorkDir(workDir);
+    }
+
+    @Benchmark
+    public Optional<Task> findByIdFull() {
+        return repository.findById(fullIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<Task> findByIdPartial() {
+        return repository.findById(partialIds[nextIndex()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findAll() {
+        return repository.findAll();
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == fullIds.length ? 0 : index + 1;
+        return index;
+    }
+}
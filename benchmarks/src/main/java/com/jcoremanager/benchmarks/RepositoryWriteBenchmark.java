@@ -0,0 +1,107 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.JsonTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritas do JsonTaskRepository: save, update e delete.
+ * Cada escrita reescreve o 'tasks.json' inteiro, então o custo cresce com o tamanho da massa;
+ * por isso o modo é SingleShotTime (cada medição é uma única operação de milissegundos a segundos).
+ * O tamanho da massa é mantido constante: o save é desfeito e o delete é reposto fora da medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryWriteBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path workDir;
+    private JsonTaskRepository repository;
+    private List<Task> tasks;
+    private int sequence;
+    private Task pending; // Tarefa envolvida na operação atual (inserida ou a remover).
+    private Task target;  // Tarefa existente alterada pelo update.
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        tasks = TaskDatasets.generate(size);
+        workDir = TaskDatasets.createWorkDir();
+        Path file = workDir.resolve("tasks.json");
+        TaskDatasets.writeJson(file, tasks);
+        repository = new JsonTaskRepository(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        TaskDatasets.deleteWorkDir(workDir);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInvocation() {
+        pending = TaskDatasets.newTask(sequence++);
+        target = repository.findById(tasks.get(sequence % tasks.size()).getId()).orElseThrow();
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(pending);
+    }
+
+    @TearDown(Level.Invocation)
+    public void undoSave(BenchmarkParams params) {
+        // Só o benchmark 'save' deixa uma tarefa extra para trás.
+        if (params.getBenchmark().endsWith(".save")) {
+            repository.delete(pending.getId());
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        target.setPriority(target.getPriority() == Priority.ALTA ? Priority.BAIXA : Priority.ALTA);
+        repository.update(target);
+    }
+
+    @Benchmark
+    public void delete(DeleteState state) {
+        repository.delete(state.victim.getId());
+    }
+
+    /**
+     * Antes de cada delete, insere a tarefa que será removida (fora da medição),
+     * para que a massa continue com o mesmo tamanho.
+     */
+    @State(Scope.Thread)
+    public static class DeleteState {
+        Task victim;
+
+        @Setup(Level.Invocation)
+        public void insertVictim(RepositoryWriteBenchmark benchmark) {
+            victim = TaskDatasets.newTask(benchmark.sequence++);
+            benchmark.repository.save(victim);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.jcoremanager.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Gson de uma lista de tarefas (o conteúdo do 'tasks.json'), nas configurações possíveis:
+ *
+ * - localDateTimeAdapter: Task por Reflection + adaptador de datas em árvore (JsonSerializer/JsonDeserializer,
+ *   configuração original do projeto, reproduzida em TreeLocalDateTimeAdapter);
+ * - reflection: Task e LocalDateTime por Reflection, sem adaptador (exige --add-opens para java.time);
+ * - streamingAdapters: Task por Reflection + LocalDateTimeAdapter e PriorityTypeAdapter em streaming
+ *   (o caso das classes sem adapter próprio, como os registros do log e as requisições da API);
+ * - taskTypeAdapter: TaskTypeAdapter em streaming (configuração atual dos repositories).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "--add-opens", "java.base/java.time=ALL-UNNAMED"})
+public class SerializationBenchmark {
+
+    private static final Type TASK_LIST = new TypeToken<List<Task>>() {}.getType();
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"localDateTimeAdapter", "reflection", "streamingAdapters", "taskTypeAdapter"})
+    public String gsonConfig;
+
+    private Gson gson;
+    private List<Task> tasks;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        GsonBuilder builder = new GsonBuilder();
+        switch (gsonConfig) {
+            case "localDateTimeAdapter" -> builder.registerTypeAdapter(LocalDateTime.class, new TreeLocalDateTimeAdapter());
+            case "reflection" -> { }
+            case "streamingAdapters" -> builder
+                    .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                    .registerTypeAdapter(Priority.class, new PriorityTypeAdapter());
+            case "taskTypeAdapter" -> builder
+                    .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                    .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                    .registerTypeAdapter(Task.class, new TaskTypeAdapter());
+            default -> throw new IllegalArgumentException("Configuração desconhecida: " + gsonConfig);
+        }
+        gson = builder.create();
+        tasks = TaskDatasets.generate(size);
+        json = gson.toJson(tasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(tasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public List<Task> deserialize() {
+        return gson.fromJson(json, TASK_LIST);
+    }
+
+    // O LocalDateTimeAdapter original, baseado na API de árvore (um JsonPrimitive por data).
+    private static final class TreeLocalDateTimeAdapter
+            implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+
+        private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        @Override
+        public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(formatter.format(src));
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+            return LocalDateTime.parse(json.getAsString(), formatter);
+        }
+    }
+}
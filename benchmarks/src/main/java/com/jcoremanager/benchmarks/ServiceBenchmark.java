@@ -0,0 +1,73 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.JsonTaskRepository;
+import com.jcoremanager.repository.TaskPage;
+import com.jcoremanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos de leitura do TaskService usados pelo menu: primeira página da listagem,
+ * busca textual e consulta por índice secundário (tarefas em aberto de uma prioridade).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path workDir;
+    private TaskService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = TaskDatasets.createWorkDir();
+        Path file = workDir.resolve("tasks.json");
+        TaskDatasets.writeJson(file, TaskDatasets.generate(size));
+        service = new TaskService(new JsonTaskRepository(file));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        TaskDatasets.deleteWorkDir(workDir);
+    }
+
+    @Benchmark
+    public TaskPage listFirstPage() {
+        return service.listTasks(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> searchTasks() {
+        return service.searchTasks("relatorio vendas");
+    }
+
+    @Benchmark
+    public List<Task> listPendingHighPriority() {
+        return service.listPendingTasks(Priority.ALTA);
+    }
+}
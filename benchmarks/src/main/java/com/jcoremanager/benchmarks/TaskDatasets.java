@@ -0,0 +1,102 @@
+package com.jcoremanager.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gerador de massas de dados para os benchmarks.
+ * A mesma semente gera sempre as mesmas tarefas (IDs, textos e datas), então execuções
+ * diferentes — e a linha de base versionada — medem exatamente o mesmo conjunto de dados.
+ */
+public final class TaskDatasets {
+
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String[] VERBS = {"Revisar", "Enviar", "Preparar", "Corrigir", "Atualizar", "Planejar", "Documentar", "Testar"};
+    private static final String[] SUBJECTS = {"relatório de vendas", "orçamento anual", "código do módulo", "reunião de equipe",
+            "apresentação", "contrato do cliente", "pipeline de deploy", "documentação da API"};
+    private static final String[] DETAILS = {"antes da reunião de sexta", "com os números do trimestre", "conforme o feedback do cliente",
+            "e avisar o time", "com prioridade para os itens críticos", "seguindo o checklist"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private TaskDatasets() {}
+
+    public static List<Task> generate(int size) {
+        return generate(size, DEFAULT_SEED);
+    }
+
+    /**
+     * Cerca de 30% das tarefas saem concluídas; as datas se espalham por um ano e as prioridades
+     * são uniformes. Os IDs são UUIDs canônicos, como os gerados pela aplicação.
+     */
+    public static List<Task> generate(int size, long seed) {
+        Random random = new Random(seed);
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            String title = VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)] + " #" + i;
+            String description = DETAILS[random.nextInt(DETAILS.length)];
+            LocalDateTime created = EPOCH.plusMinutes(random.nextInt(365 * 24 * 60));
+            boolean completed = random.nextInt(10) < 3;
+            LocalDateTime completedAt = completed ? created.plusHours(1 + random.nextInt(72)) : null;
+            tasks.add(new Task(id, title, description, priorities[random.nextInt(priorities.length)],
+                    completed, created, completedAt));
+        }
+        return tasks;
+    }
+
+    // Task nova (sem relação com a massa), para os benchmarks de inserção.
+    public static Task newTask(int sequence) {
+        return new Task("Nova tarefa " + sequence, "Criada pelo benchmark", Priority.MEDIA);
+    }
+
+    // Grava a massa no mesmo formato do 'tasks.json' da aplicação (o mesmo Gson do JsonTaskRepository).
+    public static void writeJson(Path file, List<Task> tasks) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            repositoryGson().toJson(tasks, writer);
+        }
+    }
+
+    public static Gson repositoryGson() {
+        return new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+    }
+
+    // Diretório temporário para os arquivos de um benchmark; removido no @TearDown.
+    public static Path createWorkDir() throws IOException {
+        return Files.createTempDirectory("jcore-bench");
+    }
+
+    public static void deleteWorkDir(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.controller.TaskRenderer;
+import com.jcoremanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem completa pelo TaskRenderer (o caminho do menu "Listar" e do modo 'list'), em cada formato.
+ * A saída é descartada: mede a formatação e o buffer, não o terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRenderBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"TABLE", "TSV", "NDJSON"})
+    private TaskRenderer.Format format;
+
+    private List<Task> tasks;
+    private TaskRenderer renderer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = TaskDatasets.generate(size);
+        renderer = new TaskRenderer(OutputStream.nullOutputStream(), format);
+    }
+
+    @Benchmark
+    public void render() {
+        renderer.header();
+        renderer.render(tasks);
+        renderer.flush();
+    }
+}
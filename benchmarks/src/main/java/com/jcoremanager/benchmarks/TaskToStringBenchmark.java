@@ -0,0 +1,43 @@
+package com.jcoremanager.benchmarks;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderização de uma linha da listagem (Task.toString), executada para cada tarefa exibida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskToStringBenchmark {
+
+    private final Task pendingTask = new Task("c0ffee00-1234-4abc-8def-0123456789ab", "Revisar relatório de vendas",
+            "Antes da reunião", Priority.ALTA, false, LocalDateTime.of(2024, 3, 1, 9, 30), null);
+    private final Task completedTask = new Task("deadbeef-1234-4abc-8def-0123456789ab", "Enviar orçamento",
+            "Para o cliente", Priority.MEDIA, true, LocalDateTime.of(2024, 3, 1, 9, 30), LocalDateTime.of(2024, 3, 2, 17, 45));
+
+    @Benchmark
+    public String pending() {
+        return pendingTask.toString();
+    }
+
+    @Benchmark
+    public String completed() {
+        return completedTask.toString();
+    }
+}
@@ -1,18 +1,122 @@
 package com.jcoremanager;
 
+import com.jcoremanager.api.LoadTestClient;
+import com.jcoremanager.api.TaskHttpServer;
 import com.jcoremanager.controller.TaskController;
+import com.jcoremanager.controller.TaskRenderer;
+import com.jcoremanager.replication.ReplicaTaskRepository;
+import com.jcoremanager.replication.ReplicatedTaskRepository;
+import com.jcoremanager.replication.ReplicationServer;
+import com.jcoremanager.repository.TaskPage;
+import com.jcoremanager.repository.TaskRepositoryFactory;
+import com.jcoremanager.service.TaskService;
+
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Classe principal (Entry Point) da aplicação JCore Manager.
- * Responsável apenas por inicializar o sistema.
+ * Responsável apenas por inicializar o sistema no modo pedido:
+ *
+ * <pre>
+ * (sem argumentos)                       Menu interativo no console
+ * server [porta]                         API REST/JSON (padrão: porta 8080)
+ * loadtest [url] [clientes] [segundos]   Teste de carga contra a API (padrão: http://localhost:8080 50 30)
+ * list [table|tsv|ndjson]                Lista todas as tarefas na saída padrão, para uso com pipes (padrão: table)
+ * primary [porta-repl] [porta]           API + replicação para réplicas (padrão: 9090 8080)
+ * replica host:porta-repl [porta]        API somente leitura replicada do primário (padrão: porta 8080)
+ * </pre>
  */
 public class Main {
-    public static void main(String[] args) {
-        // Instancia o controlador principal que gerencia o fluxo da aplicação.
-        // Isso mantém o método main limpo e delega a responsabilidade para a camada correta.
-        TaskController controller = new TaskController();
-        
-        // Inicia o loop de interação com o usuário (Menu Principal).
-        controller.start();
+
+    private static final int LIST_PAGE_SIZE = 1_000;
+    private static final String REPLICA_OFFSET_FILE = "replica.offset";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "console";
+        switch (mode) {
+            case "server" -> startServer(args);
+            case "loadtest" -> new LoadTestClient(
+                    arg(args, 1, "http://localhost:" + TaskHttpServer.DEFAULT_PORT),
+                    Integer.parseInt(arg(args, 2, "50")),
+                    Duration.ofSeconds(Long.parseLong(arg(args, 3, "30")))).run();
+            case "list" -> list(TaskRenderer.Format.parse(arg(args, 1, "table")));
+            case "primary" -> startPrimary(args);
+            case "replica" -> startReplica(args);
+            case "console" -> {
+                // Instancia o controlador principal que gerencia o fluxo da aplicação.
+                // Isso mantém o método main limpo e delega a responsabilidade para a camada correta.
+                TaskController controller = new TaskController();
+
+                // Inicia o loop de interação com o usuário (Menu Principal).
+                controller.start();
+            }
+            default -> {
+                System.err.println("Modo desconhecido: " + mode + " (use server, loadtest, list, primary, replica ou nenhum argumento).");
+                System.exit(2);
+            }
+        }
+    }
+
+    // Modo "headless": sem console; o processo roda até ser interrompido (Ctrl+C / SIGTERM).
+    private static void startServer(String[] args) throws Exception {
+        int port = Integer.parseInt(arg(args, 1, String.valueOf(TaskHttpServer.DEFAULT_PORT)));
+        TaskHttpServer server = new TaskHttpServer(new TaskService(), port);
+        // Ao encerrar, espera as requisições em andamento e grava o que estiver pendente.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+        server.start();
+        System.out.println(server.describe());
+    }
+
+    // Servidor normal que também transmite as mutações às réplicas conectadas.
+    private static void startPrimary(String[] args) throws Exception {
+        int replicationPort = Integer.parseInt(arg(args, 1, String.valueOf(ReplicationServer.DEFAULT_PORT)));
+        int port = Integer.parseInt(arg(args, 2, String.valueOf(TaskHttpServer.DEFAULT_PORT)));
+        ReplicatedTaskRepository repository = new ReplicatedTaskRepository(TaskRepositoryFactory.create());
+        ReplicationServer replication = new ReplicationServer(repository, replicationPort);
+        TaskHttpServer server = new TaskHttpServer(new TaskService(repository), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            replication.close(); // Depois de reiniciar o primário é outra época: as réplicas recebem um snapshot.
+            server.stop(2);
+        }));
+        replication.start();
+        server.start();
+        System.out.println(server.describe());
+        System.out.println(replication.describe());
+    }
+
+    // Réplica: os dados locais (no diretório atual, com o backend de 'jcore.storage') seguem o primário.
+    // Cada réplica precisa do seu próprio diretório.
+    private static void startReplica(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Informe o primário: replica host:porta [porta-http]");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(arg(args, 2, String.valueOf(TaskHttpServer.DEFAULT_PORT)));
+        ReplicaTaskRepository replica = ReplicaTaskRepository.connect(
+                TaskRepositoryFactory.create(), args[1], Paths.get(REPLICA_OFFSET_FILE));
+        TaskHttpServer server = new TaskHttpServer(new TaskService(replica), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+        server.start();
+        System.out.println(server.describe() + " - réplica somente leitura de " + replica.getPrimary());
+    }
+
+    // Percorre todas as páginas sem interação; cada página é formatada no buffer e escrita de uma vez.
+    private static void list(TaskRenderer.Format format) {
+        TaskService service = new TaskService();
+        TaskRenderer renderer = new TaskRenderer(System.out, format);
+        renderer.header();
+        String cursor = null;
+        do {
+            TaskPage page = service.listTasks(cursor, LIST_PAGE_SIZE);
+            renderer.render(page.getTasks());
+            renderer.flush();
+            cursor = page.hasNext() ? page.getNextCursor() : null;
+        } while (cursor != null);
+        service.close();
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.jcoremanager.api;
+
+import com.jcoremanager.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga local para a API (TaskHttpServer).
+ *
+ * Cadastra uma massa inicial pelo endpoint de lote e depois dispara, com N clientes simultâneos e
+ * durante o tempo pedido, uma mistura de leituras e escritas: 50% GET /tasks/{id}, 20% página,
+ * 15% busca textual e 15% criação. Cada cliente reaproveita conexões keep-alive do HttpClient.
+ * Ao final, informa requisições por segundo e a latência (p50 a p99.9 e máxima) de cada tipo de
+ * requisição, medida com o mesmo histograma das métricas internas.
+ */
+public class LoadTestClient {
+
+    private static final int SEED_TASKS = 1_000;
+    private static final String[] WORDS = {
+            "relatório", "cliente", "reunião", "deploy", "backup", "fatura", "contrato", "revisão",
+            "servidor", "orçamento", "campanha", "auditoria", "treinamento", "migração", "suporte", "pedido"
+    };
+    private static final String[] PRIORITIES = {"BAIXA", "MEDIA", "ALTA"};
+    private static final Pattern ID_FIELD = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    private enum Operation { GET, PAGE, SEARCH, CREATE }
+
+    private final URI baseUri;
+    private final int clients;
+    private final Duration duration;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder errors = new LongAdder();
+
+    public LoadTestClient(String baseUrl, int clients, Duration duration) {
+        if (clients <= 0) {
+            throw new IllegalArgumentException("A quantidade de clientes deve ser maior que zero.");
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("A duração do teste deve ser maior que zero.");
+        }
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+        this.clients = clients;
+        this.duration = duration;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Executa o teste e imprime o relatório em System.out.
+     */
+    public void run() throws IOException, InterruptedException {
+        System.out.println("Cadastrando " + SEED_TASKS + " tarefas iniciais em " + baseUri + " ...");
+        List<String> ids = seed();
+
+        System.out.println("Executando com " + clients + " clientes por " + duration.toSeconds() + "s ...");
+        ExecutorService executor = RequestExecutors.perRequest("jcore-load");
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> drive(ids, deadline));
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        report(System.nanoTime() - start);
+    }
+
+    private List<String> seed() throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_TASKS; i++) {
+            body.append(i == 0 ? "" : ",").append(taskJson());
+        }
+        body.append(']');
+        HttpResponse<String> response = send(post("/tasks/batch", body.toString()));
+        if (response.statusCode() != 201) {
+            throw new IOException("Falha ao cadastrar a massa inicial: HTTP " + response.statusCode() + " " + response.body());
+        }
+        List<String> ids = new ArrayList<>(SEED_TASKS);
+        Matcher matcher = ID_FIELD.matcher(response.body());
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    // Laço de um cliente: uma requisição por vez, até o prazo.
+    private void drive(List<String> ids, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int roll = random.nextInt(100);
+            Operation operation = roll < 50 ? Operation.GET
+                    : roll < 70 ? Operation.PAGE
+                    : roll < 85 ? Operation.SEARCH
+                    : Operation.CREATE;
+            HttpRequest request = switch (operation) {
+                case GET -> get("/tasks/" + ids.get(random.nextInt(ids.size())));
+                case PAGE -> get("/tasks?limit=20");
+                case SEARCH -> get("/tasks/search?limit=20&q="
+                        + URLEncoder.encode(WORDS[random.nextInt(WORDS.length)].substring(0, 4), StandardCharsets.UTF_8));
+                case CREATE -> post("/tasks", taskJson());
+            };
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = send(request);
+                latencies[operation.ordinal()].record(System.nanoTime() - start);
+                if (response.statusCode() >= 400) {
+                    errors.increment();
+                }
+            } catch (IOException e) {
+                errors.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        long total = 0;
+        System.out.printf("%n%-8s %10s %10s %10s %10s %10s %10s%n",
+                "Tipo", "Requisições", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "Máx(ms)");
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram.Snapshot s = latencies[operation.ordinal()].snapshot();
+            total += s.getCount();
+            System.out.printf("%-8s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", operation, s.getCount(),
+                    s.percentileNanos(50) / 1e6, s.percentileNanos(90) / 1e6, s.percentileNanos(99) / 1e6,
+                    s.percentileNanos(99.9) / 1e6, s.getMaxNanos() / 1e6);
+        }
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nTotal: %d requisições em %.1fs = %.0f req/s (%d erros)%n",
+                total, seconds, total / seconds, errors.sum());
+    }
+
+    private String taskJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        String description = "Tarefa de carga: " + WORDS[random.nextInt(WORDS.length)] + " nº " + random.nextInt(1_000_000);
+        return "{\"title\":\"" + title + "\",\"description\":\"" + description
+                + "\",\"priority\":\"" + PRIORITIES[random.nextInt(PRIORITIES.length)] + "\"}";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
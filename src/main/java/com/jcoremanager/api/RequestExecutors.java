@@ -0,0 +1,46 @@
+package com.jcoremanager.api;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escolhe o executor usado para atender (ou, no teste de carga, disparar) as requisições.
+ *
+ * Em Java 21+ cada requisição ganha sua própria thread virtual (Executors.newVirtualThreadPerTaskExecutor):
+ * bloquear em disco ou na rede custa quase nada, então não há pool para dimensionar.
+ * O projeto compila para Java 17, por isso o método é procurado via Reflection; em JVMs sem threads
+ * virtuais o fallback é um pool fixo de threads de plataforma.
+ */
+final class RequestExecutors {
+
+    private static final int FALLBACK_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+
+    private RequestExecutors() {}
+
+    static ExecutorService perRequest(String threadName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, daemonThreads(threadName));
+        }
+    }
+
+    // Descrição do executor escolhido, para a mensagem de inicialização.
+    static String describe(ExecutorService executor) {
+        return executor.getClass().getName().contains("ThreadPerTask")
+                ? "threads virtuais (uma por requisição)"
+                : "pool de " + FALLBACK_THREADS + " threads de plataforma";
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
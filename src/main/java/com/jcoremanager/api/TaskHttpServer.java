@@ -0,0 +1,420 @@
+package com.jcoremanager.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.jcoremanager.metrics.LatencyHistogram;
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.model.TaskDraft;
+import com.jcoremanager.repository.AmbiguousTaskIdException;
+import com.jcoremanager.repository.TaskPage;
+import com.jcoremanager.service.TaskNotFoundException;
+import com.jcoremanager.service.TaskService;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * API REST/JSON sobre o TaskService, usando o servidor HTTP embutido no JDK (com.sun.net.httpserver):
+ * nenhuma dependência nem serviço externo.
+ *
+ * Endpoints (IDs completos ou parciais, como no console):
+ *
+ * <pre>
+ * GET    /tasks?cursor=&amp;limit=20        Página em ordem de ID ({"tasks": [...], "nextCursor": ...})
+ * GET    /tasks?priority=ALTA&amp;status=pending   Consulta pelos índices (status: pending | completed)
+ * GET    /tasks/search?q=relat&amp;limit=20  Busca textual por relevância
+ * GET    /tasks/{id}                     Uma tarefa
+ * POST   /tasks                          Cria ({"title", "description", "priority"}) → 201
+ * PUT    /tasks/{id}                     Atualização parcial (campos ausentes são mantidos)
+ * POST   /tasks/{id}/complete            Conclui
+ * DELETE /tasks/{id}                     Remove → 204
+ * POST   /tasks/batch                    Cria um lote ([{...}, ...]) em uma única gravação → 201
+ * POST   /tasks/batch/complete           {"ids": [...]} → {"changed": n}
+ * POST   /tasks/batch/delete             {"ids": [...]} → {"removed": n}
+ * POST   /tasks/batch/priority           {"ids": [...], "priority": "ALTA"} → {"changed": n}
+ * GET    /stats                          Métricas de latência (as mesmas da opção "Estatísticas")
+ * </pre>
+ *
+ * Erros respondem {"error": "mensagem"}: 400 para entrada inválida, 404 para tarefa/rota inexistente,
+ * 405 para método não suportado (ou escrita em uma réplica somente leitura) e 409 para ID parcial ambíguo.
+ *
+ * Conexões são persistentes (keep-alive do HTTP/1.1): toda resposta informa o Content-Length e o corpo
+ * da requisição é sempre lido até o fim, então o cliente reaproveita a mesma conexão TCP.
+ * Backends que não são seguros para várias threads (isThreadSafe() == false) são acessados por uma
+ * requisição de cada vez; com o backend 'concurrent' as requisições rodam em paralelo.
+ */
+public class TaskHttpServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int BACKLOG = 1024; // Conexões aguardando accept() durante picos de carga.
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final Type DRAFT_LIST = new TypeToken<List<TaskDraft>>() {}.getType();
+
+    private static final OperationTimer REQUESTS = Metrics.timer("http.request");
+
+    static {
+        // O servidor do JDK envia cabeçalhos e corpo em escritas separadas; com o algoritmo de Nagle
+        // ligado, a segunda espera o ACK atrasado do cliente (~40 ms por resposta em keep-alive).
+        // A propriedade é lida quando o servidor é carregado, por isso é definida aqui (se não vier da linha de comando).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final TaskService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ReentrantLock serviceLock; // null quando o backend aceita chamadas simultâneas.
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+            .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+            .create();
+
+    public TaskHttpServer(TaskService service, int port) throws IOException {
+        this.service = service;
+        this.serviceLock = service.isThreadSafe() ? null : new ReentrantLock();
+        this.executor = RequestExecutors.perRequest("jcore-http");
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Porta efetivamente usada (útil quando o servidor é criado com a porta 0).
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String describe() {
+        return "JCore Manager API em http://localhost:" + getPort() + " ("
+                + RequestExecutors.describe(executor)
+                + (serviceLock != null ? ", acesso serializado ao Repository" : ", acesso concorrente ao Repository")
+                + ")";
+    }
+
+    /**
+     * Para de aceitar conexões, espera até 'graceSeconds' pelas requisições em andamento
+     * e fecha o Service (gravando o que estiver pendente).
+     */
+    public void stop(int graceSeconds) {
+        server.stop(graceSeconds);
+        executor.shutdown();
+        service.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = REQUESTS.start();
+        Reply reply;
+        try {
+            // Ler o corpo inteiro, mesmo quando não é usado, mantém a conexão reaproveitável.
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String method = exchange.getRequestMethod();
+            URI uri = exchange.getRequestURI();
+            reply = withService(() -> encode(route(method, uri, body)));
+        } catch (HttpError e) {
+            reply = error(e.status, e.getMessage());
+        } catch (TaskNotFoundException e) {
+            reply = error(404, e.getMessage());
+        } catch (AmbiguousTaskIdException e) {
+            reply = error(409, e.getMessage());
+        } catch (IllegalArgumentException | JsonParseException e) {
+            reply = error(400, e.getMessage());
+        } catch (UnsupportedOperationException e) {
+            reply = error(405, e.getMessage()); // Ex: escrita em uma réplica somente leitura.
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao atender " + exchange.getRequestURI() + ": " + e);
+            reply = error(500, "Erro interno: " + e.getMessage());
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            if (reply.body == null) {
+                exchange.sendResponseHeaders(reply.status, -1);
+            } else {
+                exchange.sendResponseHeaders(reply.status, reply.body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(reply.body);
+                }
+            }
+        } finally {
+            exchange.close();
+            REQUESTS.stop(start);
+        }
+    }
+
+    // Com um backend não thread-safe, a chamada e a serialização (que lê as tarefas) ficam sob o mesmo lock.
+    private Reply withService(Supplier<Reply> call) {
+        if (serviceLock == null) {
+            return call.get();
+        }
+        serviceLock.lock();
+        try {
+            return call.get();
+        } finally {
+            serviceLock.unlock();
+        }
+    }
+
+    private Response route(String method, URI uri, byte[] body) {
+        String[] path = segments(uri.getRawPath());
+        Map<String, String> query = query(uri.getRawQuery());
+
+        if (path.length == 1 && path[0].equals("stats")) {
+            requireMethod(method, "GET");
+            return Response.ok(stats());
+        }
+        if (path.length == 0 || !path[0].equals("tasks")) {
+            throw new HttpError(404, "Rota não encontrada: " + uri.getPath());
+        }
+
+        if (path.length == 1) {
+            if (method.equals("POST")) {
+                TaskDraft draft = parse(body, TaskDraft.class);
+                return Response.created(service.createTask(draft.title(), draft.description(), requirePriority(draft.priority())));
+            }
+            requireMethod(method, "GET");
+            return Response.ok(list(query));
+        }
+
+        String resource = path[1];
+        if (path.length == 2 && resource.equals("search")) {
+            requireMethod(method, "GET");
+            List<Task> found = service.searchTasks(query.get("q"), intParam(query, "limit", DEFAULT_PAGE_SIZE));
+            return Response.ok(Map.of("tasks", found));
+        }
+        if (resource.equals("batch")) {
+            requireMethod(method, "POST");
+            return batch(path.length == 2 ? "" : path[2], body);
+        }
+
+        if (path.length == 3 && path[2].equals("complete")) {
+            requireMethod(method, "POST");
+            service.completeTask(resource);
+            return Response.ok(service.getTask(resource));
+        }
+        if (path.length != 2) {
+            throw new HttpError(404, "Rota não encontrada: " + uri.getPath());
+        }
+        switch (method) {
+            case "GET":
+                return Response.ok(service.getTask(resource));
+            case "PUT":
+            case "PATCH":
+                TaskDraft changes = parse(body, TaskDraft.class);
+                String id = service.getTask(resource).getId();
+                service.updateTask(id, changes.title(), changes.description(), changes.priority());
+                return Response.ok(service.getTask(id));
+            case "DELETE":
+                service.removeTask(resource);
+                return Response.noContent();
+            default:
+                throw new HttpError(405, "Método " + method + " não suportado em /tasks/{id}.");
+        }
+    }
+
+    private Object list(Map<String, String> query) {
+        String status = query.get("status");
+        String priorityParam = query.get("priority");
+        if (status == null && priorityParam == null) {
+            // Um 'limit' acima do máximo vira uma página do tamanho máximo: o cliente segue pelo nextCursor.
+            int limit = Math.min(intParam(query, "limit", DEFAULT_PAGE_SIZE), TaskService.MAX_PAGE_SIZE);
+            TaskPage page = service.listTasks(query.get("cursor"), limit);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("tasks", page.getTasks());
+            result.put("nextCursor", page.getNextCursor());
+            return result;
+        }
+
+        Priority priority = priorityParam == null ? null : parsePriority(priorityParam);
+        List<Task> tasks;
+        if (status == null) {
+            tasks = service.listTasksByPriority(priority);
+        } else if (status.equals("pending")) {
+            tasks = priority == null ? service.listPendingTasks() : service.listPendingTasks(priority);
+        } else if (status.equals("completed")) {
+            tasks = priority == null ? service.listCompletedTasks() : service.listCompletedTasks(priority);
+        } else {
+            throw new IllegalArgumentException("Status inválido: '" + status + "' (use pending ou completed).");
+        }
+        return Map.of("tasks", tasks);
+    }
+
+    private Response batch(String action, byte[] body) {
+        if (action.isEmpty()) {
+            List<TaskDraft> drafts = parse(body, DRAFT_LIST);
+            drafts.forEach(d -> requirePriority(d.priority()));
+            return Response.created(Map.of("tasks", service.createTasks(drafts)));
+        }
+        IdsRequest request = parse(body, IdsRequest.class);
+        List<String> ids = request.ids() == null ? List.of() : request.ids();
+        switch (action) {
+            case "complete":
+                return Response.ok(Map.of("changed", service.completeTasks(ids)));
+            case "delete":
+                return Response.ok(Map.of("removed", service.removeTasks(ids)));
+            case "priority":
+                return Response.ok(Map.of("changed", service.changePriority(ids, request.priority())));
+            default:
+                throw new HttpError(404, "Operação em lote desconhecida: " + action);
+        }
+    }
+
+    private List<Map<String, Object>> stats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (OperationTimer timer : Metrics.timers()) {
+            LatencyHistogram.Snapshot snapshot = timer.snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", timer.getName());
+            row.put("count", snapshot.getCount());
+            row.put("meanMicros", snapshot.getMeanNanos() / 1_000.0);
+            row.put("p50Micros", snapshot.percentileNanos(50) / 1_000.0);
+            row.put("p99Micros", snapshot.percentileNanos(99) / 1_000.0);
+            row.put("p999Micros", snapshot.percentileNanos(99.9) / 1_000.0);
+            row.put("maxMicros", snapshot.getMaxNanos() / 1_000.0);
+            result.add(row);
+        }
+        return result;
+    }
+
+    // --- Auxiliares de requisição/resposta ---
+
+    private <T> T parse(byte[] body, Type type) {
+        T value = gson.fromJson(new String(body, StandardCharsets.UTF_8), type);
+        if (value == null) {
+            throw new IllegalArgumentException("O corpo da requisição (JSON) é obrigatório.");
+        }
+        return value;
+    }
+
+    private Reply encode(Response response) {
+        byte[] bytes = response.body == null ? null : gson.toJson(response.body).getBytes(StandardCharsets.UTF_8);
+        return new Reply(response.status, bytes);
+    }
+
+    private Reply error(int status, String message) {
+        return new Reply(status, gson.toJson(Map.of("error", String.valueOf(message))).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new HttpError(405, "Método " + method + " não suportado (use " + expected + ").");
+        }
+    }
+
+    private static Priority requirePriority(Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("A prioridade é obrigatória (BAIXA, MEDIA ou ALTA).");
+        }
+        return priority;
+    }
+
+    private static Priority parsePriority(String value) {
+        try {
+            return Priority.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridade inválida: '" + value + "' (use BAIXA, MEDIA ou ALTA).");
+        }
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro '" + name + "' deve ser um número: " + value);
+        }
+    }
+
+    private static String[] segments(String rawPath) {
+        List<String> parts = new ArrayList<>();
+        for (String part : rawPath.split("/")) {
+            if (!part.isEmpty()) {
+                parts.add(URLDecoder.decode(part, StandardCharsets.UTF_8));
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!value.isEmpty()) {
+                params.put(name, value);
+            }
+        }
+        return params;
+    }
+
+    // Corpo das operações em lote sobre IDs.
+    private record IdsRequest(List<String> ids, Priority priority) {}
+
+    // Resposta da rota (status + objeto a serializar); null no corpo = sem conteúdo.
+    private record Response(int status, Object body) {
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response created(Object body) {
+            return new Response(201, body);
+        }
+
+        static Response noContent() {
+            return new Response(204, null);
+        }
+    }
+
+    // Resposta já serializada, pronta para ser enviada fora do lock.
+    private record Reply(int status, byte[] body) {}
+
+    private static class HttpError extends RuntimeException {
+        private final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
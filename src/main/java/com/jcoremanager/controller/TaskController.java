@@ -1,7 +1,11 @@
 package com.jcoremanager.controller;
 
+import com.jcoremanager.metrics.LatencyHistogram;
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
 import com.jcoremanager.model.Priority;
 import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.TaskPage;
 import com.jcoremanager.service.TaskService;
 
 import java.util.List;
@@ -14,8 +18,13 @@ import java.util.Scanner;
  */
 public class TaskController {
 
+    // Quantas tarefas são exibidas por vez na listagem.
+    private static final int PAGE_SIZE = 20;
+
     private final TaskService service;
     private final Scanner scanner;
+    // Listas passam pelo renderer: formatação sem alocações por linha e um único flush por página.
+    private final TaskRenderer renderer = new TaskRenderer(System.out, TaskRenderer.Format.TABLE);
 
     public TaskController() {
         this.service = new TaskService();
@@ -28,6 +37,9 @@ public class TaskController {
     public void start() {
         boolean running = true;
         System.out.println("=== Bem-vindo ao JCore Manager ===");
+        if (service.getStartupStats().getTasks() > 0) {
+            System.out.println(service.getStartupStats());
+        }
 
         while (running) {
             showMenu();
@@ -41,8 +53,11 @@ public class TaskController {
                     case "3" -> handleUpdateTask();
                     case "4" -> handleRemoveTask();
                     case "5" -> handleCompleteTask();
-                    case "6" -> {
+                    case "6" -> handleSearchTasks();
+                    case "7" -> handleShowStats();
+                    case "8" -> {
                         running = false;
+                        service.close(); // Garante que as últimas operações cheguem ao disco.
                         System.out.println("Saindo... Até logo!");
                     }
                     default -> System.out.println("Opção inválida. Tente novamente.");
@@ -62,7 +77,9 @@ public class TaskController {
         System.out.println("3. Atualizar Tarefa");
         System.out.println("4. Remover Tarefa");
         System.out.println("5. Concluir Tarefa");
-        System.out.println("6. Sair");
+        System.out.println("6. Buscar Tarefas");
+        System.out.println("7. Estatísticas");
+        System.out.println("8. Sair");
         System.out.print("Escolha uma opção: ");
     }
 
@@ -78,14 +95,71 @@ public class TaskController {
         System.out.println("Tarefa criada com sucesso!");
     }
 
+    /**
+     * Exibe as tarefas uma página por vez: só a página atual é buscada e impressa,
+     * então a listagem continua rápida mesmo com muitas tarefas cadastradas.
+     */
     private void handleListTasks() {
         System.out.println("\n--- Lista de Tarefas ---");
-        List<Task> tasks = service.listAllTasks();
-        if (tasks.isEmpty()) {
+        int total = service.countTasks();
+        if (total == 0) {
             System.out.println("Nenhuma tarefa cadastrada.");
+            return;
+        }
+
+        String cursor = null;
+        int shown = 0;
+        renderer.header();
+        while (true) {
+            TaskPage page = service.listTasks(cursor, PAGE_SIZE);
+            renderer.render(page.getTasks());
+            renderer.flush(); // A página inteira chega ao console de uma vez.
+            shown += page.getTasks().size();
+
+            if (!page.hasNext()) {
+                break;
+            }
+            System.out.printf("-- %d de %d tarefas. Enter para a próxima página, 'q' para parar: ", shown, total);
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
+            }
+            cursor = page.getNextCursor();
+        }
+    }
+
+    private void handleSearchTasks() {
+        System.out.println("\n--- Buscar Tarefas ---");
+        String query = readRequiredString("Palavras (título ou descrição): ");
+        List<Task> results = service.searchTasks(query);
+        if (results.isEmpty()) {
+            System.out.println("Nenhuma tarefa encontrada.");
         } else {
-            // Method Reference para impressão limpa.
-            tasks.forEach(System.out::println);
+            // Já vêm ordenadas da mais relevante para a menos relevante.
+            renderer.header();
+            renderer.render(results);
+            renderer.flush();
+        }
+    }
+
+    /**
+     * Contagem e latências (em microssegundos) de cada operação já executada nesta sessão:
+     * métodos do Service, chamadas ao Repository e gravações em disco (io.*).
+     */
+    private void handleShowStats() {
+        System.out.println("\n--- Estatísticas ---");
+        if (!Metrics.isEnabled()) {
+            System.out.println("Métricas desligadas (-D" + Metrics.ENABLED_PROPERTY + "=false).");
+            return;
+        }
+        System.out.printf("%-36s %10s %10s %10s %10s %10s%n", "Operação", "Qtd", "Média(us)", "p50(us)", "p99(us)", "Máx(us)");
+        for (OperationTimer timer : Metrics.timers()) {
+            LatencyHistogram.Snapshot stats = timer.snapshot();
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-36s %10d %10.1f %10.1f %10.1f %10.1f%n", timer.getName(), stats.getCount(),
+                    stats.getMeanNanos() / 1_000.0, stats.percentileNanos(50) / 1_000.0,
+                    stats.percentileNanos(99) / 1_000.0, stats.getMaxNanos() / 1_000.0);
         }
     }
 
@@ -0,0 +1,254 @@
+package com.jcoremanager.controller;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Desenha listas de tarefas na saída, uma linha por tarefa.
+ *
+ * Feito para listas grandes: os formatadores de data são criados uma vez, cada linha é montada
+ * em um único StringBuilder reaproveitado (as datas são escritas direto nele, sem Strings temporárias)
+ * e tudo vai para um buffer grande, que só chega ao console em flush() — uma vez por página,
+ * e não uma vez por linha como no System.out.println.
+ *
+ * Formatos:
+ * <pre>
+ * TABLE    colunas de largura fixa, para leitura no console
+ * TSV      uma tarefa por linha, campos separados por TAB (tabulações e quebras de linha escapadas)
+ * NDJSON   um objeto JSON por linha, no mesmo formato do arquivo tasks.json
+ * </pre>
+ */
+public final class TaskRenderer implements Flushable {
+
+    public enum Format {
+        TABLE, TSV, NDJSON;
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de saída desconhecido: " + name + " (use table, tsv ou ndjson).");
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    // Larguras das colunas do formato TABLE.
+    private static final int ID_WIDTH = 8;
+    private static final int TITLE_WIDTH = 40;
+    private static final int PRIORITY_WIDTH = 10;
+    private static final int STATUS_WIDTH = 9;
+    private static final int DATE_WIDTH = 16;
+
+    private final Format format;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private final JsonWriter json; // Só no formato NDJSON.
+    private final TypeAdapter<Task> adapter = new TaskTypeAdapter();
+
+    public TaskRenderer(OutputStream out, Format format) {
+        // Mesmo charset do System.out, para os acentos saírem iguais às outras mensagens.
+        this(new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), BUFFER_SIZE), format);
+    }
+
+    public TaskRenderer(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+        if (format == Format.NDJSON) {
+            this.json = new JsonWriter(out);
+            this.json.setLenient(true); // Permite vários objetos no nível raiz, um por linha.
+        } else {
+            this.json = null;
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    // Linha de cabeçalho (TABLE e TSV); o NDJSON não tem cabeçalho.
+    public void header() {
+        line.setLength(0);
+        switch (format) {
+            case TABLE -> {
+                column(line.append("ID"), 0, ID_WIDTH + 3);
+                column(line.append("Título"), line.length() - "Título".length(), TITLE_WIDTH + 1);
+                column(line.append("Prioridade"), line.length() - "Prioridade".length(), PRIORITY_WIDTH + 1);
+                column(line.append("Status"), line.length() - "Status".length(), STATUS_WIDTH + 1);
+                column(line.append("Criado"), line.length() - "Criado".length(), DATE_WIDTH + 1);
+                line.append("Concluído");
+            }
+            case TSV -> line.append("id\ttitle\tdescription\tpriority\tcompleted\tcreationDate\tcompletionDate");
+            case NDJSON -> {
+                return;
+            }
+        }
+        writeLine();
+    }
+
+    public void render(Task task) {
+        line.setLength(0);
+        switch (format) {
+            case TABLE -> appendTable(task);
+            case TSV -> appendTsv(task);
+            case NDJSON -> {
+                try {
+                    // O JsonWriter escreve direto no buffer, sem montar a String do objeto.
+                    adapter.write(json, task);
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+        }
+        writeLine();
+    }
+
+    public void render(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            render(task);
+        }
+    }
+
+    // Uma linha de texto livre (ex: rodapé), no mesmo buffer das tarefas para não sair fora de ordem.
+    public void println(String text) {
+        line.setLength(0);
+        line.append(text);
+        writeLine();
+    }
+
+    // Entrega o que estiver no buffer ao console.
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendTable(Task task) {
+        // Apenas os primeiros 8 caracteres do UUID, como no toString() da Task.
+        line.append(task.getId(), 0, Math.min(ID_WIDTH, task.getId().length()));
+        column(line, 0, ID_WIDTH);
+        line.append(task.isCompleted() ? " X " : "   ");
+
+        int start = line.length();
+        column(appendTruncated(task.getTitle(), TITLE_WIDTH), start, TITLE_WIDTH + 1);
+        start = line.length();
+        column(line.append(task.getPriority()), start, PRIORITY_WIDTH + 1);
+        start = line.length();
+        column(line.append(task.isCompleted() ? "Concluída" : "Pendente"), start, STATUS_WIDTH + 1);
+        start = line.length();
+        appendDate(DISPLAY_DATE, task.getCreationDate());
+        if (task.isCompleted() && task.getCompletionDate() != null) {
+            column(line, start, DATE_WIDTH + 1);
+            appendDate(DISPLAY_DATE, task.getCompletionDate());
+        }
+    }
+
+    private void appendTsv(Task task) {
+        line.append(task.getId()).append('\t');
+        appendEscaped(task.getTitle()).append('\t');
+        appendEscaped(task.getDescription()).append('\t');
+        line.append(task.getPriority()).append('\t');
+        line.append(task.isCompleted()).append('\t');
+        appendIso(task.getCreationDate()).append('\t');
+        appendIso(task.getCompletionDate());
+    }
+
+    // Completa com espaços até a coluna iniciada em 'start' ter 'width' caracteres.
+    // Conta code points, não chars: um emoji (par substituto) ocupa um caractere na tela, e não dois.
+    private static void column(StringBuilder sb, int start, int width) {
+        for (int i = sb.codePointCount(start, sb.length()); i < width; i++) {
+            sb.append(' ');
+        }
+    }
+
+    /**
+     * Até 'width' caracteres do texto, com "..." no fim quando ele não cabe.
+     * O corte é por code point, para nunca separar as duas metades de um par substituto
+     * (o que deixaria um caractere inválido na saída). Tabulações, quebras de linha e outros
+     * caracteres de controle viram espaço: dentro de uma coluna eles desalinhariam a tabela.
+     */
+    private StringBuilder appendTruncated(String text, int width) {
+        if (text == null) {
+            return line;
+        }
+        int end = text.length();
+        boolean truncated = text.codePointCount(0, end) > width;
+        if (truncated) {
+            end = text.offsetByCodePoints(0, width - 3);
+        }
+        for (int i = 0; i < end; ) {
+            int codePoint = text.codePointAt(i);
+            line.appendCodePoint(Character.isISOControl(codePoint) ? ' ' : codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return truncated ? line.append("...") : line;
+    }
+
+    // Tabulações, quebras de linha e barras invertidas viram \t, \n, \r e \\ (campo TSV sempre em uma linha).
+    private StringBuilder appendEscaped(String text) {
+        if (text == null) {
+            return line;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\\' -> line.append("\\\\");
+                default -> line.append(c);
+            }
+        }
+        return line;
+    }
+
+    private StringBuilder appendDate(DateTimeFormatter formatter, LocalDateTime date) {
+        if (date != null) {
+            formatter.formatTo(date, line); // Escreve direto no StringBuilder.
+        }
+        return line;
+    }
+
+    // Mesmo formato do tasks.json (ISO), escrito à mão pelo LocalDateTimeAdapter.
+    private StringBuilder appendIso(LocalDateTime date) {
+        return date == null ? line : LocalDateTimeAdapter.appendTo(line, date);
+    }
+
+    // Copia a linha para o buffer sem criar uma String (Writer.append(CharSequence) criaria uma).
+    private void writeLine() {
+        line.append('\n');
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        try {
+            out.write(chars, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jcoremanager.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Publicação de MBeans no domínio com.jcoremanager (timers, cache, replicação), para o JConsole/VisualVM.
+ * JMX é apenas uma forma de leitura: se a publicação falhar, quem a pediu continua funcionando normalmente.
+ */
+public final class Jmx {
+
+    public static final String DOMAIN = "com.jcoremanager";
+
+    private Jmx() {}
+
+    // Publica 'mbean' como com.jcoremanager:type=<type>,name=<name>; um objeto reaberto substitui o anterior.
+    public static void register(Object mbean, String type, String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mbean, objectName);
+        } catch (JMException e) {
+            System.err.println("Aviso: " + type + " '" + name + "' não publicado via JMX: " + e.getMessage());
+        }
+    }
+}
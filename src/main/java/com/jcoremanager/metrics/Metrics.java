@@ -0,0 +1,53 @@
+package com.jcoremanager.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro central das métricas de operação.
+ *
+ * Cada classe instrumentada guarda seus timers em constantes (static final), criadas uma única vez:
+ * no caminho crítico só há System.nanoTime() e o registro no histograma, sem buscas no mapa.
+ * Cada timer também é publicado como MBean, para ser acompanhado pelo JConsole/VisualVM.
+ *
+ * As métricas ficam ligadas por padrão; -Djcore.metrics=false desliga o registro
+ * (os timers continuam existindo, mas start/stop não fazem nada).
+ */
+public final class Metrics {
+
+    public static final String ENABLED_PROPERTY = "jcore.metrics";
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final Map<String, OperationTimer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // Timer da operação com este nome (o mesmo objeto para o mesmo nome).
+    public static OperationTimer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Metrics::register);
+    }
+
+    // Todos os timers, em ordem de nome (ex: para a tela de estatísticas).
+    public static List<OperationTimer> timers() {
+        List<OperationTimer> all = new ArrayList<>(TIMERS.values());
+        all.sort(Comparator.comparing(OperationTimer::getName));
+        return all;
+    }
+
+    public static void resetAll() {
+        TIMERS.values().forEach(OperationTimer::reset);
+    }
+
+    private static OperationTimer register(String name) {
+        OperationTimer timer = new OperationTimer(name);
+        Jmx.register(timer, "Metrics", name);
+        return timer;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jcoremanager.metrics;
+
+/**
+ * Contador + histograma de latência de uma operação (ex: "service.createTask").
+ * Uso no caminho crítico, sem alocação:
+ *
+ * <pre>
+ * long start = TIMER.start();
+ * try {
+ *     ...
+ * } finally {
+ *     TIMER.stop(start);
+ * }
+ * </pre>
+ */
+public final class OperationTimer implements OperationTimerMBean {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    OperationTimer(String name) {
+        this.name = name;
+    }
+
+    // Marca o início; com as métricas desligadas nem o relógio é consultado.
+    public long start() {
+        return Metrics.ENABLED ? System.nanoTime() : 0;
+    }
+
+    public void stop(long start) {
+        if (Metrics.ENABLED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.snapshot().getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return histogram.snapshot().getMeanNanos() / 1_000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentileMicros(50);
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentileMicros(90);
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentileMicros(99);
+    }
+
+    @Override
+    public double getP999Micros() {
+        return percentileMicros(99.9);
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return histogram.snapshot().getMaxNanos() / 1_000.0;
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+
+    private double percentileMicros(double percentile) {
+        return histogram.snapshot().percentileNanos(percentile) / 1_000.0;
+    }
+}
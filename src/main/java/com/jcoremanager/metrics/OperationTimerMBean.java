@@ -0,0 +1,26 @@
+package com.jcoremanager.metrics;
+
+/**
+ * Interface de gerenciamento (JMX) de um OperationTimer, visível no JConsole/VisualVM
+ * como com.jcoremanager:type=Metrics,name=&lt;operação&gt;. Tempos em microssegundos.
+ */
+public interface OperationTimerMBean {
+
+    String getName();
+
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
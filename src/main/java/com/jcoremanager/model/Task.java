@@ -2,6 +2,9 @@ package com.jcoremanager.model;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -9,6 +12,10 @@ import java.util.UUID;
  * É um POJO (Plain Old Java Object) que encapsula os dados.
  */
 public class Task {
+
+    // Campos que podem ser alterados pelos setters (o ID e a data de criação nunca mudam).
+    public enum Field { TITLE, DESCRIPTION, PRIORITY, COMPLETED, COMPLETION_DATE }
+
     // Identificador único universal para evitar colisão de IDs, essencial em sistemas distribuídos ou persistidos.
     private String id;
     private String title;
@@ -20,6 +27,13 @@ public class Task {
     private LocalDateTime creationDate;
     private LocalDateTime completionDate; 
 
+    // Campos alterados pelos setters desde o último clearDirty(), um bit por Field.
+    // Permite ao Repository gravar só o que mudou; 'transient' para não ir parar no JSON via Reflection.
+    private transient int dirty;
+
+    // Criado uma única vez: o DateTimeFormatter é imutável e pode ser compartilhado entre threads.
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     // Construtor vazio é necessário para que o Gson consiga instanciar o objeto via Reflection ao ler o JSON.
     public Task() {}
 
@@ -34,6 +48,26 @@ public class Task {
         this.completionDate = null;
     }
 
+    // Construtor de reconstituição: recria uma tarefa já existente (ex: lida do arquivo),
+    // preservando o ID e as datas originais em vez de gerar novos.
+    public Task(String id, String title, String description, Priority priority,
+                boolean completed, LocalDateTime creationDate, LocalDateTime completionDate) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.completed = completed;
+        this.creationDate = creationDate;
+        this.completionDate = completionDate;
+    }
+
+    // Construtor de cópia: cria uma tarefa independente com os mesmos dados (e sem alterações pendentes).
+    // Usado por quem precisa entregar ou guardar uma "foto" que não muda quando a original é editada.
+    public Task(Task other) {
+        this(other.id, other.title, other.description, other.priority,
+                other.completed, other.creationDate, other.completionDate);
+    }
+
     // --- Getters e Setters (Encapsulamento) ---
 
     public String getId() {
@@ -45,7 +79,10 @@ public class Task {
     }
 
     public void setTitle(String title) {
-        this.title = title;
+        if (!Objects.equals(this.title, title)) {
+            this.title = title;
+            markDirty(Field.TITLE);
+        }
     }
 
     public String getDescription() {
@@ -53,7 +90,10 @@ public class Task {
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        if (!Objects.equals(this.description, description)) {
+            this.description = description;
+            markDirty(Field.DESCRIPTION);
+        }
     }
 
     public Priority getPriority() {
@@ -61,7 +101,10 @@ public class Task {
     }
 
     public void setPriority(Priority priority) {
-        this.priority = priority;
+        if (this.priority != priority) {
+            this.priority = priority;
+            markDirty(Field.PRIORITY);
+        }
     }
 
     public boolean isCompleted() {
@@ -69,7 +112,10 @@ public class Task {
     }
 
     public void setCompleted(boolean completed) {
-        this.completed = completed;
+        if (this.completed != completed) {
+            this.completed = completed;
+            markDirty(Field.COMPLETED);
+        }
     }
 
     public LocalDateTime getCreationDate() {
@@ -81,7 +127,40 @@ public class Task {
     }
 
     public void setCompletionDate(LocalDateTime completionDate) {
-        this.completionDate = completionDate;
+        if (!Objects.equals(this.completionDate, completionDate)) {
+            this.completionDate = completionDate;
+            markDirty(Field.COMPLETION_DATE);
+        }
+    }
+
+    // --- Rastreamento de alterações (dirty tracking) ---
+    // Os setters só marcam o campo quando o valor de fato muda.
+
+    public boolean isDirty() {
+        return dirty != 0;
+    }
+
+    public boolean isDirty(Field field) {
+        return (dirty & (1 << field.ordinal())) != 0;
+    }
+
+    public Set<Field> getDirtyFields() {
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (Field field : Field.values()) {
+            if (isDirty(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    // Chamado por quem já gravou as alterações pendentes.
+    public void clearDirty() {
+        dirty = 0;
+    }
+
+    private void markDirty(Field field) {
+        dirty |= 1 << field.ordinal();
     }
 
     /**
@@ -90,23 +169,18 @@ public class Task {
      */
     @Override
     public String toString() {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        
-        String completionInfo = "";
+        StringBuilder sb = new StringBuilder(128);
+        // Exibe apenas os primeiros 8 caracteres do UUID para não poluir visualmente o console.
+        sb.append("ID: ").append(id, 0, Math.min(8, id.length()))
+                .append(" | [").append(completed ? 'X' : ' ').append("] ").append(title)
+                .append(" - Prioridade: ").append(priority)
+                .append(" | Status: ").append(completed ? "Concluída" : "Pendente")
+                .append(" | Criado: ");
+        DISPLAY_DATE.formatTo(creationDate, sb);
         if (completed && completionDate != null) {
-            completionInfo = " | Concluído em: " + completionDate.format(fmt);
+            sb.append(" | Concluído em: ");
+            DISPLAY_DATE.formatTo(completionDate, sb);
         }
-
-        // Exibe apenas os primeiros 8 caracteres do UUID para não poluir visualmente o console.
-        return String.format(
-            "ID: %s | [%s] %s - Prioridade: %s | Status: %s | Criado: %s%s",
-            id.substring(0, 8),
-            completed ? "X" : " ",
-            title,
-            priority,
-            completed ? "Concluída" : "Pendente",
-            creationDate.format(fmt),
-            completionInfo
-        );
-    }
-}
\ No newline at end of file
+        return sb.toString();
+    }
+}
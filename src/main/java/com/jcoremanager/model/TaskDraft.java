@@ -0,0 +1,9 @@
+package com.jcoremanager.model;
+
+/**
+ * Dados de entrada para a criação de uma tarefa (ainda sem ID nem datas).
+ * Usado pelas operações em lote do TaskService, que recebem várias tarefas de uma vez.
+ * Record (Java 16+): classe imutável cujo construtor, getters, equals e hashCode são gerados pelo compilador.
+ */
+public record TaskDraft(String title, String description, Priority priority) {
+}
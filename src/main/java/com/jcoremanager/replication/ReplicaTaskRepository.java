@@ -0,0 +1,472 @@
+package com.jcoremanager.replication;
+
+import com.jcoremanager.metrics.Jmx;
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.LoadStats;
+import com.jcoremanager.repository.TaskPage;
+import com.jcoremanager.repository.TaskRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Réplica somente leitura: uma thread mantém a conexão com o primário (ReplicationServer) e aplica as
+ * mutações recebidas, em ordem, no Repository local; as consultas são respondidas por esse Repository.
+ * Qualquer escrita lança UnsupportedOperationException: as alterações são feitas no primário.
+ *
+ * A posição (época + sequência) é gravada em 'offsetFile' depois que o Repository local confirma a
+ * durabilidade (flush). Ao reiniciar, a réplica pede ao primário só o que veio depois dela; se o primário
+ * não tiver mais essas mutações (ou for outra execução dele), envia um snapshot completo.
+ * O arquivo de offset acompanha os dados locais: apagar um sem o outro deixa a réplica inconsistente.
+ */
+public final class ReplicaTaskRepository implements TaskRepository, ReplicaTaskRepositoryMBean {
+
+    private static final OperationTimer APPLY = Metrics.timer("replication.apply");
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    // Sem nenhuma mensagem do primário por este tempo (ele manda heartbeats), a conexão é refeita.
+    private static final int READ_TIMEOUT_MILLIS = 5 * (int) ReplicationServer.HEARTBEAT_MILLIS;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    // Intervalo mínimo entre duas gravações do offset (cada uma custa um flush do Repository local).
+    private static final long OFFSET_INTERVAL_MILLIS = 1_000;
+    private static final int ACK_EVERY = 1_000;
+
+    private final TaskRepository local;
+    private final String host;
+    private final int port;
+    private final Path offsetFile;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Backend seguro para várias threads: leituras em paralelo; senão, uma de cada vez, como as escritas.
+    private final Lock readLock;
+    private final Thread worker;
+
+    private String epoch;    // Época do primário a que 'appliedSeq' se refere (null = nunca sincronizou).
+    private volatile long appliedSeq;
+    private volatile long primarySeq;
+    private volatile long lagMillis;
+    private volatile boolean connected;
+    private volatile long snapshotsLoaded;
+    private volatile long reconnects;
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private long persistedSeq;
+    private long lastPersistMillis;
+
+    public ReplicaTaskRepository(TaskRepository local, String host, int port, Path offsetFile) {
+        this.local = local;
+        this.host = host;
+        this.port = port;
+        this.offsetFile = offsetFile;
+        this.readLock = local.isThreadSafe() ? lock.readLock() : lock.writeLock();
+        loadOffset();
+        this.worker = new Thread(this::run, "jcore-replica");
+        worker.setDaemon(true);
+        worker.start();
+        Jmx.register(this, "Replication", "replica");
+    }
+
+    // Formato "host:porta" (ex: localhost:9090).
+    public static ReplicaTaskRepository connect(TaskRepository local, String primary, Path offsetFile) {
+        int colon = primary.lastIndexOf(':');
+        if (colon <= 0 || colon == primary.length() - 1) {
+            throw new IllegalArgumentException("Endereço do primário inválido (use host:porta): " + primary);
+        }
+        try {
+            int port = Integer.parseInt(primary.substring(colon + 1));
+            return new ReplicaTaskRepository(local, primary.substring(0, colon), port, offsetFile);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Porta do primário inválida: " + primary, e);
+        }
+    }
+
+    // --- Escritas: só no primário ---
+
+    @Override
+    public void save(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public void update(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public void delete(String id) {
+        throw readOnly();
+    }
+
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        throw readOnly();
+    }
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        throw readOnly();
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        throw readOnly();
+    }
+
+    // --- Leituras: no Repository local ---
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return read(() -> local.findById(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return read(local::findAll);
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        return read(() -> local.findPage(afterId, limit));
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return read(() -> local.findByStatus(priority, completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> local.findCreatedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> local.findCompletedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return read(() -> local.search(query, limit));
+    }
+
+    @Override
+    public int count() {
+        return read(local::count);
+    }
+
+    // As consultas já são coordenadas com a thread de replicação pelo lock.
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return local.loadStats();
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return local.flush();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeSocket();
+        try {
+            worker.join(READ_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            persistOffset();
+            local.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- JMX ---
+
+    @Override
+    public String getPrimary() {
+        return host + ":" + port;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    @Override
+    public long getPrimarySeq() {
+        return primarySeq;
+    }
+
+    @Override
+    public long getLagEntries() {
+        return Math.max(0, primarySeq - appliedSeq);
+    }
+
+    @Override
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public long getSnapshotsLoaded() {
+        return snapshotsLoaded;
+    }
+
+    @Override
+    public long getReconnects() {
+        return reconnects;
+    }
+
+    // --- Thread de replicação ---
+
+    private void run() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (!closed) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+                s.setSoTimeout(READ_TIMEOUT_MILLIS);
+                s.setTcpNoDelay(true);
+                connected = true;
+                backoff = MIN_BACKOFF_MILLIS;
+                session(s);
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Aviso: réplica sem conexão com o primário " + getPrimary() + ": " + e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Erro ao aplicar no Repository local: tenta de novo a partir do último ponto aplicado.
+                System.err.println("Aviso: erro ao aplicar a replicação: " + e);
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (closed) {
+                return;
+            }
+            reconnects++;
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+        }
+    }
+
+    private void session(Socket s) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+        ReplicationMessage.hello(epoch, appliedSeq).writeTo(out);
+        out.flush();
+
+        int unacked = 0;
+        ReplicationMessage message;
+        while ((message = ReplicationMessage.readFrom(in)) != null) {
+            switch (message.type) {
+                case ReplicationMessage.SNAPSHOT -> {
+                    applySnapshot(message, in);
+                    ack(out);
+                    unacked = 0;
+                }
+                case ReplicationMessage.ENTRY -> {
+                    applyEntry(message);
+                    // Confirma quando não há mais nada chegando, ou a cada ACK_EVERY entradas numa rajada.
+                    if (++unacked >= ACK_EVERY || !in.ready()) {
+                        ack(out);
+                        unacked = 0;
+                    }
+                }
+                case ReplicationMessage.HEARTBEAT -> {
+                    primarySeq = Math.max(primarySeq, message.seq);
+                    if (appliedSeq >= message.seq) {
+                        lagMillis = 0;
+                    }
+                    ack(out);
+                    unacked = 0;
+                }
+                default -> throw new IOException("mensagem inesperada do primário: " + message.type);
+            }
+        }
+        throw new IOException("o primário encerrou a conexão.");
+    }
+
+    private void applyEntry(ReplicationMessage message) {
+        if (message.seq != appliedSeq + 1) {
+            throw new IllegalStateException("Replicação fora de ordem: esperada " + (appliedSeq + 1)
+                    + ", recebida " + message.seq);
+        }
+        long start = APPLY.start();
+        lock.writeLock().lock();
+        try {
+            if (!message.tasks().isEmpty()) {
+                local.saveAll(message.tasks());
+            }
+            if (!message.ids().isEmpty()) {
+                local.deleteAll(message.ids());
+            }
+            appliedSeq = message.seq;
+        } finally {
+            lock.writeLock().unlock();
+            APPLY.stop(start);
+        }
+        primarySeq = Math.max(primarySeq, message.seq);
+        lagMillis = Math.max(0, System.currentTimeMillis() - message.time);
+    }
+
+    /**
+     * Substitui o conteúdo local pelo snapshot: grava todas as tarefas recebidas e remove as que não vieram.
+     * As consultas ficam bloqueadas durante a troca, para nunca verem um estado misturado.
+     */
+    private void applySnapshot(ReplicationMessage header, BufferedReader in) throws IOException {
+        List<Task> tasks = new ArrayList<>(header.count);
+        while (tasks.size() < header.count) {
+            ReplicationMessage chunk = ReplicationMessage.readFrom(in);
+            if (chunk == null || !ReplicationMessage.CHUNK.equals(chunk.type)) {
+                throw new IOException("snapshot incompleto: " + tasks.size() + " de " + header.count + " tarefas.");
+            }
+            tasks.addAll(chunk.tasks());
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<String> received = new HashSet<>(tasks.size() * 2);
+            tasks.forEach(t -> received.add(t.getId()));
+            List<String> stale = new ArrayList<>();
+            for (Task task : local.findAll()) {
+                if (!received.contains(task.getId())) {
+                    stale.add(task.getId());
+                }
+            }
+            if (!tasks.isEmpty()) {
+                local.saveAll(tasks);
+            }
+            if (!stale.isEmpty()) {
+                local.deleteAll(stale);
+            }
+            epoch = header.epoch;
+            appliedSeq = header.seq;
+            primarySeq = Math.max(primarySeq, header.seq);
+            persistedSeq = -1; // Época nova: o offset precisa ser regravado.
+        } finally {
+            lock.writeLock().unlock();
+        }
+        snapshotsLoaded++;
+        System.err.println("Réplica sincronizada com snapshot do primário: " + tasks.size()
+                + " tarefas até a mutação " + header.seq + ".");
+    }
+
+    private void ack(BufferedWriter out) throws IOException {
+        ReplicationMessage.ack(appliedSeq).writeTo(out);
+        out.flush();
+        if (System.currentTimeMillis() - lastPersistMillis >= OFFSET_INTERVAL_MILLIS) {
+            persistOffset();
+        }
+    }
+
+    // --- Offset ---
+
+    private void loadOffset() {
+        if (!Files.exists(offsetFile)) {
+            return;
+        }
+        try {
+            String[] parts = Files.readString(offsetFile, StandardCharsets.UTF_8).trim().split("\\s+");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Arquivo de offset da réplica corrompido: " + offsetFile);
+            }
+            epoch = parts[0];
+            appliedSeq = Long.parseLong(parts[1]);
+            persistedSeq = appliedSeq;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Arquivo de offset da réplica corrompido: " + offsetFile, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o offset da réplica: " + e.getMessage(), e);
+        }
+    }
+
+    // Só depois do flush local: o offset nunca aponta para além do que está durável.
+    private void persistOffset() {
+        lastPersistMillis = System.currentTimeMillis();
+        String currentEpoch = epoch;
+        long seq = appliedSeq;
+        if (currentEpoch == null || seq == persistedSeq) {
+            return;
+        }
+        read(() -> local.flush()).join(); // Como uma consulta: não pode concorrer com um backend não thread-safe.
+        Path tmp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(tmp, currentEpoch + " " + seq + "\n", StandardCharsets.UTF_8);
+            Files.move(tmp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            persistedSeq = seq;
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível gravar o offset da réplica: " + e.getMessage());
+        }
+    }
+
+    private void closeSocket() {
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close(); // Acorda a thread de replicação bloqueada na leitura.
+            } catch (IOException e) {
+                // Já estava fechado.
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Réplica somente leitura: as alterações são feitas no primário.");
+    }
+}
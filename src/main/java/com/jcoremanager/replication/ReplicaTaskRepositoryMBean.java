@@ -0,0 +1,28 @@
+package com.jcoremanager.replication;
+
+/**
+ * Interface de gerenciamento (JMX) da réplica, visível no JConsole/VisualVM
+ * como com.jcoremanager:type=Replication,name=replica.
+ */
+public interface ReplicaTaskRepositoryMBean {
+
+    String getPrimary();
+
+    boolean isConnected();
+
+    // Última mutação aplicada localmente.
+    long getAppliedSeq();
+
+    // Última mutação que o primário anunciou (entradas e heartbeats).
+    long getPrimarySeq();
+
+    long getLagEntries();
+
+    // Há quanto tempo o primário gravou a última mutação aplicada, se ainda há atraso (0 = em dia).
+    // Compara o relógio do primário com o local: só é preciso com os dois na mesma máquina ou com NTP.
+    long getLagMillis();
+
+    long getSnapshotsLoaded();
+
+    long getReconnects();
+}
@@ -0,0 +1,270 @@
+package com.jcoremanager.replication;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.repository.LoadStats;
+import com.jcoremanager.repository.TaskPage;
+import com.jcoremanager.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Decorator do primário: delega tudo ao backend real e, a cada mutação, acrescenta uma entrada
+ * ao ReplicationLog, que o ReplicationServer transmite às réplicas.
+ *
+ * As mutações são serializadas por um lock, para que a ordem do log seja exatamente a ordem em que
+ * foram aplicadas no backend. As entradas levam cópias das tarefas (estado completo, não só os campos
+ * alterados): reaplicar uma entrada duas vezes dá o mesmo resultado, o que permite à réplica retomar
+ * de um offset antigo sem se preocupar com duplicatas.
+ *
+ * Toda escrita precisa passar por aqui: mudanças feitas direto no backend (ou por outro processo que
+ * compartilha o arquivo) não chegam às réplicas.
+ */
+public final class ReplicatedTaskRepository implements TaskRepository {
+
+    public static final String BUFFER_PROPERTY = "jcore.replication.buffer";
+
+    private static final int DEFAULT_BUFFER = 100_000;
+
+    // Estado completo do primário até a mutação 'seq' (cópias, fora do lock).
+    static final class Snapshot {
+        final String epoch;
+        final long seq;
+        final List<Task> tasks;
+
+        Snapshot(String epoch, long seq, List<Task> tasks) {
+            this.epoch = epoch;
+            this.seq = seq;
+            this.tasks = tasks;
+        }
+    }
+
+    private final TaskRepository delegate;
+    private final ReplicationLog log;
+    // Identifica esta execução do primário: o log só existe em memória, então as sequências
+    // de uma execução não valem para a seguinte, e a réplica de outra época recebe um snapshot.
+    private final String epoch = UUID.randomUUID().toString();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ReplicatedTaskRepository(TaskRepository delegate) {
+        this(delegate, Integer.getInteger(BUFFER_PROPERTY, DEFAULT_BUFFER));
+    }
+
+    public ReplicatedTaskRepository(TaskRepository delegate, int bufferEntries) {
+        this.delegate = delegate;
+        this.log = new ReplicationLog(bufferEntries);
+    }
+
+    // --- Mutações: backend e log sob o mesmo lock ---
+
+    @Override
+    public void save(Task task) {
+        writeLock.lock();
+        try {
+            delegate.save(task);
+            log.append(List.of(new Task(task)), List.of());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        writeLock.lock();
+        try {
+            delegate.update(task);
+            log.append(List.of(new Task(task)), List.of());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        writeLock.lock();
+        try {
+            delegate.delete(id);
+            log.append(List.of(), List.of(id));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        writeLock.lock();
+        try {
+            boolean[] changed = new boolean[1];
+            Optional<Task> task = delegate.modify(id, t -> changed[0] = mutation.test(t));
+            if (changed[0] && task.isPresent()) {
+                log.append(List.of(new Task(task.get())), List.of());
+            }
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            delegate.saveAll(tasks);
+            log.append(copies(tasks), List.of());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        writeLock.lock();
+        try {
+            List<Task> changed = new ArrayList<>();
+            int count = delegate.modifyAll(ids, t -> {
+                boolean result = mutation.test(t);
+                if (result) {
+                    changed.add(t);
+                }
+                return result;
+            });
+            if (!changed.isEmpty()) {
+                log.append(copies(changed), List.of()); // Copiadas só agora, já com o estado gravado.
+            }
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        writeLock.lock();
+        try {
+            List<String> removed = delegate.deleteAll(ids);
+            if (!removed.isEmpty()) {
+                log.append(List.of(), List.copyOf(removed));
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- Leituras: direto no backend ---
+    // Com um backend que não é seguro para várias threads, as leituras também passam pelo lock:
+    // o ReplicationServer lê o estado completo (snapshot) na sua própria thread.
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return read(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return read(delegate::findAll);
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        return read(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return read(() -> delegate.findByStatus(priority, completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> delegate.findCreatedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> delegate.findCompletedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return read(() -> delegate.search(query, limit));
+    }
+
+    @Override
+    public int count() {
+        return read(delegate::count);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return delegate.isThreadSafe();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return delegate.loadStats();
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+        delegate.close();
+    }
+
+    // --- Para o ReplicationServer ---
+
+    String epoch() {
+        return epoch;
+    }
+
+    ReplicationLog log() {
+        return log;
+    }
+
+    // Cópia consistente do estado: nenhuma mutação acontece entre a leitura das tarefas e a da sequência.
+    Snapshot snapshot() {
+        writeLock.lock();
+        try {
+            return new Snapshot(epoch, log.head(), copies(delegate.findAll()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        if (delegate.isThreadSafe()) {
+            return query.get();
+        }
+        writeLock.lock();
+        try {
+            return query.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static List<Task> copies(Collection<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(new Task(task));
+        }
+        return copies;
+    }
+}
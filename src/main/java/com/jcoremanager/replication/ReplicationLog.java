@@ -0,0 +1,90 @@
+package com.jcoremanager.replication;
+
+import com.jcoremanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log ordenado das mutações do primário, guardado em memória num buffer circular.
+ * Cada mutação recebe um número de sequência (1, 2, 3, ...) dentro da época do primário.
+ * Só as últimas 'capacity' entradas ficam retidas: uma réplica que ficou para trás mais do que isso
+ * (ou que se conecta pela primeira vez) é ressincronizada com um snapshot.
+ *
+ * O append nunca espera por réplicas: o caminho de escrita do primário custa o mesmo com zero ou com dez réplicas.
+ */
+final class ReplicationLog {
+
+    // Uma mutação: tarefas gravadas (estado completo, já copiadas) ou IDs removidos.
+    static final class Entry {
+        final long seq;
+        final long time; // Relógio do primário (epoch millis), para o atraso em tempo nas réplicas.
+        final List<Task> puts;
+        final List<String> deletes;
+
+        Entry(long seq, long time, List<Task> puts, List<String> deletes) {
+            this.seq = seq;
+            this.time = time;
+            this.puts = puts;
+            this.deletes = deletes;
+        }
+    }
+
+    private final Entry[] ring;
+    private long head; // Sequência da última entrada (0 = nenhuma).
+    private boolean closed;
+
+    ReplicationLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A capacidade do log de replicação deve ser positiva.");
+        }
+        this.ring = new Entry[capacity];
+    }
+
+    synchronized long append(List<Task> puts, List<String> deletes) {
+        long seq = ++head;
+        ring[(int) (seq % ring.length)] = new Entry(seq, System.currentTimeMillis(), puts, deletes);
+        notifyAll();
+        return seq;
+    }
+
+    synchronized long head() {
+        return head;
+    }
+
+    // Menor sequência ainda retida.
+    synchronized long oldest() {
+        return Math.max(1, head - ring.length + 1);
+    }
+
+    /**
+     * Até 'max' entradas depois de 'seq', esperando no máximo 'timeoutMillis' se não houver nenhuma
+     * (lista vazia = nada novo). Retorna null se a entrada seguinte a 'seq' já saiu do buffer:
+     * a réplica precisa de um snapshot.
+     */
+    synchronized List<Entry> after(long seq, int max, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (head <= seq && !closed) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return List.of();
+            }
+            wait(remaining);
+        }
+        if (seq + 1 < oldest()) {
+            return null;
+        }
+        long last = Math.min(head, seq + max);
+        List<Entry> entries = new ArrayList<>((int) Math.max(0, last - seq));
+        for (long s = seq + 1; s <= last; s++) {
+            entries.add(ring[(int) (s % ring.length)]);
+        }
+        return entries;
+    }
+
+    // Acorda quem está esperando em after().
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+}
@@ -0,0 +1,128 @@
+package com.jcoremanager.replication;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Formato das mensagens trocadas entre primário e réplica: um objeto JSON compacto por linha,
+ * no mesmo estilo do log de mutações. Apenas os campos de cada tipo são preenchidos.
+ *
+ * <pre>
+ * réplica  → primário   HELLO     (epoch, seq)          Onde a réplica parou (epoch null = nunca sincronizou).
+ * primário → réplica    SNAPSHOT  (epoch, seq, count)   Estado completo até 'seq'; seguem 'count' tarefas em CHUNKs.
+ * primário → réplica    CHUNK     (tasks)               Parte do snapshot.
+ * primário → réplica    ENTRY     (seq, time, tasks | ids)  Uma mutação: tarefas gravadas ou IDs removidos.
+ * primário → réplica    HEARTBEAT (seq, time)           Conexão ociosa; 'seq' é a última mutação do primário.
+ * réplica  → primário   ACK       (seq)                 Tudo até 'seq' já foi aplicado na réplica.
+ * </pre>
+ */
+final class ReplicationMessage {
+
+    static final String HELLO = "HELLO";
+    static final String SNAPSHOT = "SNAPSHOT";
+    static final String CHUNK = "CHUNK";
+    static final String ENTRY = "ENTRY";
+    static final String HEARTBEAT = "HEARTBEAT";
+    static final String ACK = "ACK";
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+            .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+            .create();
+
+    String type;
+    String epoch;
+    long seq;
+    long time;   // Relógio do primário (epoch millis) no momento da mutação ou do heartbeat.
+    int count;
+    List<Task> tasks;
+    List<String> ids;
+
+    static ReplicationMessage hello(String epoch, long seq) {
+        ReplicationMessage message = of(HELLO, seq);
+        message.epoch = epoch;
+        return message;
+    }
+
+    static ReplicationMessage snapshot(String epoch, long seq, int count) {
+        ReplicationMessage message = of(SNAPSHOT, seq);
+        message.epoch = epoch;
+        message.count = count;
+        return message;
+    }
+
+    static ReplicationMessage chunk(List<Task> tasks) {
+        ReplicationMessage message = of(CHUNK, 0);
+        message.tasks = tasks;
+        return message;
+    }
+
+    static ReplicationMessage entry(ReplicationLog.Entry entry) {
+        ReplicationMessage message = of(ENTRY, entry.seq);
+        message.time = entry.time;
+        message.tasks = entry.puts.isEmpty() ? null : entry.puts;
+        message.ids = entry.deletes.isEmpty() ? null : entry.deletes;
+        return message;
+    }
+
+    static ReplicationMessage heartbeat(long seq) {
+        ReplicationMessage message = of(HEARTBEAT, seq);
+        message.time = System.currentTimeMillis();
+        return message;
+    }
+
+    static ReplicationMessage ack(long seq) {
+        return of(ACK, seq);
+    }
+
+    private static ReplicationMessage of(String type, long seq) {
+        ReplicationMessage message = new ReplicationMessage();
+        message.type = type;
+        message.seq = seq;
+        return message;
+    }
+
+    // Escreve a mensagem como uma linha; quem chama decide quando dar flush.
+    void writeTo(Writer writer) throws IOException {
+        GSON.toJson(this, writer);
+        writer.write('\n');
+    }
+
+    // Lê a próxima mensagem, ou null no fim da conexão.
+    static ReplicationMessage readFrom(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            ReplicationMessage message = GSON.fromJson(line, ReplicationMessage.class);
+            if (message == null || message.type == null) {
+                throw new IOException("Mensagem de replicação sem tipo.");
+            }
+            return message;
+        } catch (JsonParseException e) {
+            throw new IOException("Mensagem de replicação inválida: " + e.getMessage(), e);
+        }
+    }
+
+    List<Task> tasks() {
+        return tasks == null ? List.of() : tasks;
+    }
+
+    List<String> ids() {
+        return ids == null ? List.of() : ids;
+    }
+}
@@ -0,0 +1,296 @@
+package com.jcoremanager.replication;
+
+import com.jcoremanager.metrics.Jmx;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lado do primário: aceita conexões TCP de réplicas e transmite a cada uma o ReplicationLog,
+ * em ordem, a partir de onde ela parou.
+ *
+ * Cada réplica tem a sua thread de envio (e uma de leitura dos ACKs), então uma réplica lenta só atrasa
+ * a si mesma. O controle de fluxo tem duas camadas:
+ * <ul>
+ *   <li>Janela: no máximo 'jcore.replication.window' mutações enviadas e ainda não confirmadas (ACK);
+ *       depois disso a thread da réplica espera, em vez de encher os buffers do socket.</li>
+ *   <li>Buffer: o log retém as últimas 'jcore.replication.buffer' mutações. Uma réplica que fica
+ *       mais atrasada do que isso recebe um snapshot novo, em vez de segurar memória no primário.</li>
+ * </ul>
+ * Em nenhum caso o caminho de escrita do primário espera pelas réplicas.
+ */
+public final class ReplicationServer implements ReplicationServerMBean, AutoCloseable {
+
+    public static final int DEFAULT_PORT = 9090;
+    public static final String WINDOW_PROPERTY = "jcore.replication.window";
+
+    private static final int DEFAULT_WINDOW = 10_000;
+    static final long HEARTBEAT_MILLIS = 1_000;
+    private static final int HELLO_TIMEOUT_MILLIS = 10_000;
+    private static final int MAX_ENTRIES_PER_READ = 512;
+    private static final int SNAPSHOT_CHUNK = 1_000;
+    private static final int SOCKET_BUFFER = 64 * 1024;
+
+    private final ReplicatedTaskRepository repository;
+    private final ReplicationLog log;
+    private final ServerSocket serverSocket;
+    private final int window;
+    private final Set<Follower> followers = new CopyOnWriteArraySet<>();
+    private final AtomicLong snapshotsSent = new AtomicLong();
+    private volatile boolean closed;
+
+    public ReplicationServer(ReplicatedTaskRepository repository, int port) {
+        this.repository = repository;
+        this.log = repository.log();
+        this.window = Integer.getInteger(WINDOW_PROPERTY, DEFAULT_WINDOW);
+        if (window <= 0) {
+            throw new IllegalArgumentException("A janela de replicação deve ser positiva.");
+        }
+        try {
+            this.serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir a porta de replicação " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void start() {
+        Thread acceptor = new Thread(this::accept, "jcore-repl-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        // Publica os contadores via JMX; sem JMX, a replicação continua funcionando normalmente.
+        Jmx.register(this, "Replication", "primary");
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public String describe() {
+        return "Replicação (primário) na porta " + getPort() + " (época " + repository.epoch()
+                + ", janela de " + window + " mutações)";
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível fechar a porta de replicação: " + e.getMessage());
+        }
+        followers.forEach(Follower::close);
+    }
+
+    // --- JMX ---
+
+    @Override
+    public int getFollowers() {
+        return followers.size();
+    }
+
+    @Override
+    public long getHeadSeq() {
+        return log.head();
+    }
+
+    @Override
+    public long getOldestSeq() {
+        return log.oldest();
+    }
+
+    @Override
+    public long getMaxLagEntries() {
+        long head = log.head();
+        long max = 0;
+        for (Follower follower : followers) {
+            max = Math.max(max, head - follower.acked);
+        }
+        return max;
+    }
+
+    @Override
+    public long getSnapshotsSent() {
+        return snapshotsSent.get();
+    }
+
+    @Override
+    public String[] getFollowerStatus() {
+        long head = log.head();
+        return followers.stream()
+                .map(f -> f.address + " enviado=" + f.sent + " confirmado=" + f.acked + " atraso=" + (head - f.acked))
+                .toArray(String[]::new);
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                Follower follower = new Follower(socket);
+                followers.add(follower);
+                Thread sender = new Thread(follower::send, "jcore-repl-" + follower.address);
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Aviso: erro ao aceitar réplica: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Uma réplica conectada: a thread de envio roda send(), a de leitura roda readAcks().
+    private final class Follower {
+
+        private final Socket socket;
+        private final String address;
+        private volatile long sent;   // Última sequência enviada.
+        private volatile long acked;  // Última sequência que a réplica confirmou ter aplicado.
+
+        Follower(Socket socket) {
+            this.socket = socket;
+            this.address = socket.getRemoteSocketAddress().toString();
+        }
+
+        void send() {
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setKeepAlive(true);
+                socket.setSoTimeout(HELLO_TIMEOUT_MILLIS);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), SOCKET_BUFFER);
+
+                ReplicationMessage hello = ReplicationMessage.readFrom(in);
+                if (hello == null || !ReplicationMessage.HELLO.equals(hello.type)) {
+                    throw new IOException("a réplica não se apresentou (HELLO).");
+                }
+                if (canResume(hello)) {
+                    sent = hello.seq;
+                    acked = hello.seq;
+                } else {
+                    sent = sendSnapshot(out);
+                }
+
+                // Depois do HELLO a réplica pode ficar calada por muito tempo (ex: aplicando um snapshot grande);
+                // uma réplica que caiu é detectada pelo erro de escrita dos heartbeats.
+                socket.setSoTimeout(0);
+                Thread reader = new Thread(() -> readAcks(in), "jcore-repl-ack-" + address);
+                reader.setDaemon(true);
+                reader.start();
+
+                stream(out);
+            } catch (IOException e) {
+                if (!closed && !socket.isClosed()) { // Socket já fechado: a réplica saiu (ver readAcks).
+                    System.err.println("Aviso: réplica " + address + " desconectada: " + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        // Mesma época e a próxima entrada ainda está no buffer: basta continuar de onde a réplica parou.
+        private boolean canResume(ReplicationMessage hello) {
+            return repository.epoch().equals(hello.epoch)
+                    && hello.seq >= log.oldest() - 1
+                    && hello.seq <= log.head();
+        }
+
+        private void stream(BufferedWriter out) throws IOException, InterruptedException {
+            while (!closed && !socket.isClosed()) {
+                int credit = (int) Math.min(MAX_ENTRIES_PER_READ, window - (sent - acked));
+                if (credit <= 0) {
+                    // Janela cheia: espera os ACKs (readAcks acorda esta thread); sem eles, só heartbeats.
+                    synchronized (this) {
+                        if (window - (sent - acked) <= 0) {
+                            wait(HEARTBEAT_MILLIS);
+                        }
+                    }
+                    if (window - (sent - acked) <= 0) {
+                        heartbeat(out);
+                    }
+                    continue;
+                }
+
+                List<ReplicationLog.Entry> entries = log.after(sent, credit, HEARTBEAT_MILLIS);
+                if (entries == null) {
+                    System.err.println("Aviso: réplica " + address + " ficou para trás do buffer de replicação;"
+                            + " reenviando o snapshot.");
+                    sent = sendSnapshot(out);
+                } else if (entries.isEmpty()) {
+                    heartbeat(out);
+                } else {
+                    // Um flush por leitura do log: várias entradas seguem no mesmo segmento TCP.
+                    for (ReplicationLog.Entry entry : entries) {
+                        ReplicationMessage.entry(entry).writeTo(out);
+                    }
+                    out.flush();
+                    sent = entries.get(entries.size() - 1).seq;
+                }
+            }
+        }
+
+        private long sendSnapshot(BufferedWriter out) throws IOException {
+            ReplicatedTaskRepository.Snapshot snapshot = repository.snapshot();
+            ReplicationMessage.snapshot(snapshot.epoch, snapshot.seq, snapshot.tasks.size()).writeTo(out);
+            for (int from = 0; from < snapshot.tasks.size(); from += SNAPSHOT_CHUNK) {
+                int to = Math.min(snapshot.tasks.size(), from + SNAPSHOT_CHUNK);
+                ReplicationMessage.chunk(snapshot.tasks.subList(from, to)).writeTo(out);
+            }
+            out.flush();
+            snapshotsSent.incrementAndGet();
+            return snapshot.seq;
+        }
+
+        private void heartbeat(BufferedWriter out) throws IOException {
+            ReplicationMessage.heartbeat(log.head()).writeTo(out);
+            out.flush();
+        }
+
+        private void readAcks(BufferedReader in) {
+            try {
+                ReplicationMessage message;
+                while ((message = ReplicationMessage.readFrom(in)) != null) {
+                    if (ReplicationMessage.ACK.equals(message.type)) {
+                        synchronized (this) {
+                            acked = Math.max(acked, message.seq);
+                            notifyAll();
+                        }
+                    }
+                }
+            } catch (SocketException e) {
+                // Conexão fechada (por close() ou pela réplica).
+            } catch (IOException e) {
+                System.err.println("Aviso: erro ao ler a réplica " + address + ": " + e.getMessage());
+            } finally {
+                close(); // Acorda a thread de envio com erro de escrita.
+            }
+        }
+
+        void close() {
+            followers.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Já estava fechado.
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jcoremanager.replication;
+
+/**
+ * Interface de gerenciamento (JMX) do ReplicationServer, visível no JConsole/VisualVM
+ * como com.jcoremanager:type=Replication,name=primary. Atrasos em número de mutações.
+ */
+public interface ReplicationServerMBean {
+
+    int getFollowers();
+
+    long getHeadSeq();
+
+    long getOldestSeq();
+
+    // Maior atraso entre as réplicas conectadas: última mutação do primário menos a última confirmada (ACK).
+    long getMaxLagEntries();
+
+    long getSnapshotsSent();
+
+    // Uma linha por réplica: endereço, última sequência enviada e confirmada.
+    String[] getFollowerStatus();
+}
@@ -0,0 +1,29 @@
+package com.jcoremanager.repository;
+
+import java.util.List;
+
+/**
+ * Lançada quando um ID parcial (prefixo) corresponde a mais de uma tarefa.
+ * Estende IllegalArgumentException para ser tratada como qualquer outra entrada inválida do usuário.
+ */
+public class AmbiguousTaskIdException extends IllegalArgumentException {
+
+    private final String prefix;
+    private final List<String> matches;
+
+    public AmbiguousTaskIdException(String prefix, List<String> matches) {
+        super("O ID '" + prefix + "' é ambíguo e corresponde a mais de uma tarefa: "
+                + String.join(", ", matches) + ". Digite mais caracteres do ID.");
+        this.prefix = prefix;
+        this.matches = List.copyOf(matches);
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    // IDs completos de algumas das tarefas encontradas (amostra limitada, não a lista total).
+    public List<String> getMatches() {
+        return matches;
+    }
+}
@@ -0,0 +1,294 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Task;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot do arquivo JSON gravado em segundo plano, com checksum e troca atômica.
+ *
+ * Quem chama entrega uma "foto" das tarefas (cópias tiradas naquele instante) e segue trabalhando;
+ * uma thread dedicada grava a foto em 'tasks.json.tmp', força o fsync e só então troca os arquivos:
+ *
+ * <pre>
+ * tasks.json      + tasks.json.sum        snapshot atual e seu resumo (CRC32, tamanho, geração)
+ * tasks.json.prev + tasks.json.prev.sum   snapshot anterior, mantido como reserva
+ * </pre>
+ *
+ * A ordem das trocas garante que, em qualquer ponto de uma queda, exista um par arquivo + resumo
+ * íntegro. Na carga, um snapshot cujo CRC não confere (ou que sumiu no meio da troca) é descartado
+ * e o anterior é usado. A "geração" é o primeiro diário de mutações que o snapshot não contém:
+ * quem usa o snapshotter reaplica os diários a partir dela.
+ * Um 'tasks.json' sem resumo (gravado por versões antigas) é aceito como está, com geração 0.
+ *
+ * Vários processos podem compartilhar os arquivos: a carga e a gravação (do '.tmp' até a última troca)
+ * acontecem sob o lock 'tasks.json.snapshot.lock', e um snapshot cuja geração não é mais nova que a do
+ * snapshot já instalado (por outro processo) é descartado em vez de substituí-lo.
+ */
+final class BackgroundSnapshotter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final OperationTimer WRITE_TIMER = Metrics.timer("io.json.write");
+
+    // Snapshot lido na carga, a geração do primeiro diário a reaplicar sobre ele e se o 'tasks.json'
+    // atual foi descartado (corrompido) em favor do anterior.
+    record Loaded(LoadStats stats, long generation, boolean fromPrevious) {}
+
+    private final Path file;
+    private final Path summary;
+    private final Path previous;
+    private final Path previousSummary;
+    private final Gson gson;
+    private final FileMutex mutex;
+    private final ExecutorService executor;
+    private volatile CompletableFuture<Void> running = CompletableFuture.completedFuture(null);
+    // Falso quando a carga descartou o 'tasks.json' atual: ele não pode virar a reserva.
+    private volatile boolean currentValid = true;
+
+    BackgroundSnapshotter(Path file, Gson gson) {
+        this.file = file;
+        this.summary = sibling(file, ".sum");
+        this.previous = sibling(file, ".prev");
+        this.previousSummary = sibling(file, ".prev.sum");
+        this.gson = gson;
+        this.mutex = new FileMutex(sibling(file, ".snapshot.lock"));
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jcore-snapshot-" + file.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Carrega o snapshot atual (ou, se ele estiver corrompido ou incompleto, o anterior)
+     * entregando cada tarefa ao sink. O checksum é conferido antes de qualquer tarefa ser entregue.
+     */
+    Loaded load(Consumer<Task> sink) throws IOException {
+        try (FileMutex.Held held = mutex.lock()) {
+            return loadLocked(sink);
+        }
+    }
+
+    private Loaded loadLocked(Consumer<Task> sink) throws IOException {
+        Loaded loaded = read(file, sink);
+        // O 'tasks.json' descartado na carga não pode virar a reserva no próximo snapshot.
+        currentValid = !loaded.fromPrevious();
+        return loaded;
+    }
+
+    /**
+     * Só leitura: a mesma escolha entre o snapshot atual e o anterior, sem o lock e sem estado.
+     * Usado para importar os dados do JsonTaskRepository em outro backend sem alterar os arquivos dele.
+     */
+    static Loaded read(Path file, Consumer<Task> sink) throws IOException {
+        Path previous = sibling(file, ".prev");
+        Summary current = validate(file, sibling(file, ".sum"));
+        if (current != null) {
+            return read(file, current, false, sink);
+        }
+        Summary fallback = validate(previous, sibling(file, ".prev.sum"));
+        if (fallback != null) {
+            boolean discarded = Files.exists(file);
+            if (discarded) {
+                System.err.println("Aviso: " + file + " está corrompido; usando o snapshot anterior (" + previous + ").");
+            }
+            return read(previous, fallback, discarded, sink);
+        }
+        if (Files.exists(file) || Files.exists(previous)) {
+            throw new IllegalStateException("Snapshot de tarefas corrompido e sem cópia anterior válida: " + file);
+        }
+        return new Loaded(LoadStats.EMPTY, 0, false); // Primeira execução.
+    }
+
+    // Se ainda há um snapshot sendo gravado (quem chama não deve pedir outro até ele terminar).
+    boolean isBusy() {
+        return !running.isDone();
+    }
+
+    /**
+     * Grava a foto em segundo plano. 'generation' é o primeiro diário que ela não contém.
+     * O future completa depois da troca dos arquivos (ou com o erro da gravação).
+     */
+    CompletableFuture<Void> submit(List<Task> image, long generation) {
+        if (isBusy()) {
+            throw new IllegalStateException("Já existe um snapshot sendo gravado.");
+        }
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                write(image, generation);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        }, executor);
+        running = future;
+        return future;
+    }
+
+    // Espera o snapshot em andamento (se houver) e encerra a thread.
+    @Override
+    public void close() {
+        running.exceptionally(e -> null).join();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        mutex.close();
+    }
+
+    private void write(List<Task> image, long generation) throws IOException {
+        try (FileMutex.Held held = mutex.lock()) {
+            Summary installed = Files.exists(summary)
+                    ? Summary.parse(Files.readString(summary, StandardCharsets.UTF_8)) : null;
+            if (currentValid && installed != null && installed.generation >= generation) {
+                return; // Outro processo já instalou um snapshot igual ou mais novo.
+            }
+            writeLocked(image, generation);
+        }
+    }
+
+    private void writeLocked(List<Task> image, long generation) throws IOException {
+        long start = WRITE_TIMER.start();
+        Path tmp = sibling(file, ".tmp");
+        Path summaryTmp = sibling(file, ".sum.tmp");
+        CRC32 crc = new CRC32();
+        long length;
+        try {
+            TypeAdapter<Task> adapter = gson.getAdapter(Task.class);
+            try (FileOutputStream out = new FileOutputStream(tmp.toFile());
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(
+                         new CheckedOutputStream(out, crc), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                JsonWriter json = gson.newJsonWriter(writer);
+                json.beginArray();
+                for (Task task : image) {
+                    adapter.write(json, task);
+                }
+                json.endArray();
+                json.flush();
+                length = out.getChannel().position();
+                out.getFD().sync();
+            }
+            try (FileOutputStream out = new FileOutputStream(summaryTmp.toFile())) {
+                out.write(new Summary(crc.getValue(), length, generation).format().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+        } finally {
+            WRITE_TIMER.stop(start); // Mede a gravação + fsync; as trocas de nome são imediatas.
+        }
+
+        // 1) O atual vira o anterior (resumo primeiro). 2) Resumo novo. 3) Snapshot novo.
+        // Queda no meio de 1: o atual fica sem resumo e é aceito como está (geração 0: todos os diários
+        // são reaplicados, o que não altera o resultado). Entre 1 e 3: não há 'tasks.json' e a carga usa o anterior.
+        if (!currentValid) {
+            // O atual está corrompido: a reserva continua sendo o anterior, que foi usado na carga.
+            // Apaga o arquivo antes do resumo, para nunca sobrar um arquivo corrompido aceito como "sem resumo".
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(summary);
+        } else if (Files.exists(file)) {
+            if (Files.exists(summary)) {
+                move(summary, previousSummary);
+            } else {
+                Files.deleteIfExists(previousSummary); // Arquivo de versão antiga, sem resumo.
+            }
+            move(file, previous);
+        }
+        move(summaryTmp, summary);
+        move(tmp, file);
+        currentValid = true;
+    }
+
+    // Resumo conferido do arquivo, ou null se ele não existe ou não confere.
+    private static Summary validate(Path snapshot, Path summaryPath) throws IOException {
+        if (!Files.exists(snapshot)) {
+            return null;
+        }
+        if (!Files.exists(summaryPath)) {
+            return Summary.LEGACY;
+        }
+        Summary expected = Summary.parse(Files.readString(summaryPath, StandardCharsets.UTF_8));
+        if (expected == null || Files.size(snapshot) != expected.length) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(Files.newInputStream(snapshot), crc)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (in.read(buffer) >= 0) {
+                // Só percorre o arquivo; o CheckedInputStream acumula o CRC.
+            }
+        }
+        return crc.getValue() == expected.crc ? expected : null;
+    }
+
+    private static Loaded read(Path snapshot, Summary summary, boolean fromPrevious, Consumer<Task> sink)
+            throws IOException {
+        return new Loaded(TaskJsonFiles.load(snapshot, sink), summary.generation, fromPrevious);
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    // Conteúdo do arquivo '.sum': uma linha "crc32=<hex> length=<bytes> generation=<n>".
+    private record Summary(long crc, long length, long generation) {
+
+        static final Summary LEGACY = new Summary(0, 0, 0);
+
+        String format() {
+            return String.format("crc32=%08x length=%d generation=%d%n", crc, length, generation);
+        }
+
+        static Summary parse(String text) {
+            long crc = -1;
+            long length = -1;
+            long generation = -1;
+            for (String part : text.trim().split(" ")) {
+                int eq = part.indexOf('=');
+                if (eq < 0) {
+                    return null;
+                }
+                String value = part.substring(eq + 1);
+                try {
+                    switch (part.substring(0, eq)) {
+                        case "crc32" -> crc = Long.parseLong(value, 16);
+                        case "length" -> length = Long.parseLong(value);
+                        case "generation" -> generation = Long.parseLong(value);
+                        default -> { } // Campos desconhecidos são ignorados.
+                    }
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return crc < 0 || length < 0 || generation < 0 ? null : new Summary(crc, length, generation);
+        }
+    }
+}
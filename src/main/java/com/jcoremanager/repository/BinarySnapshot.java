@@ -0,0 +1,385 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.UuidCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot binário, versionado e compacto das tarefas, lido via MappedByteBuffer.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * [Cabeçalho - 64 bytes]
+ *   magic "JCTB" | versão | nº de registros | tamanho do registro | nº de strings | reservado
+ *   offset dos registros | offset do índice de strings | offset dos dados das strings | tamanho do arquivo
+ * [Registros - tamanho fixo, ordenados pelo ID]
+ *   id (msb, lsb) | criação (epoch s, nanos) | conclusão (epoch s, nanos) | título | descrição | prioridade | flags
+ * [Índice de strings] (offset, tamanho) de cada string
+ * [Dados das strings] UTF-8, cada texto distinto gravado uma única vez
+ * </pre>
+ * Abrir o arquivo custa apenas o mapeamento e a validação do cabeçalho: os registros são
+ * decodificados sob demanda. Como têm tamanho fixo e estão ordenados, o registro i fica em
+ * offset + i * RECORD_SIZE e a busca por ID é uma busca binária direto sobre os bytes mapeados.
+ */
+public final class BinarySnapshot {
+
+    static final int MAGIC = 0x4A435442; // "JCTB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 56;
+
+    // Offsets dos campos dentro de um registro.
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int CREATED_SECONDS = 16;
+    private static final int CREATED_NANOS = 24;
+    private static final int COMPLETED_SECONDS = 28;
+    private static final int COMPLETED_NANOS = 36;
+    private static final int TITLE = 40;
+    private static final int DESCRIPTION = 44;
+    private static final int PRIORITY = 48;
+    private static final int FLAGS = 49;
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_STRING = -1;
+    private static final byte NO_PRIORITY = -1;
+    private static final byte FLAG_COMPLETED = 1;
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final OperationTimer WRITE_TIMER = Metrics.timer("io.binary.write");
+    private static final byte[] RECORD_PADDING = new byte[RECORD_SIZE - FLAGS - 1];
+
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int stringCount;
+    private final int recordsOffset;
+    private final int stringIndexOffset;
+    private final int stringDataOffset;
+    private String[] strings; // Cache das strings já decodificadas (criado no primeiro acesso).
+
+    private BinarySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Arquivo não é um snapshot binário de tarefas.");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalStateException("Versão de snapshot não suportada: " + version);
+        }
+        if (buffer.getInt(12) != RECORD_SIZE) {
+            throw new IllegalStateException("Tamanho de registro inesperado no snapshot: " + buffer.getInt(12));
+        }
+
+        this.recordCount = buffer.getInt(8);
+        this.stringCount = buffer.getInt(16);
+        this.recordsOffset = (int) buffer.getLong(24);
+        this.stringIndexOffset = (int) buffer.getLong(32);
+        this.stringDataOffset = (int) buffer.getLong(40);
+
+        long expectedLength = buffer.getLong(48);
+        if (expectedLength != buffer.capacity()
+                || stringIndexOffset != recordsOffset + (long) recordCount * RECORD_SIZE
+                || stringDataOffset != stringIndexOffset + (long) stringCount * 8) {
+            throw new IllegalStateException("Snapshot binário truncado ou inconsistente.");
+        }
+    }
+
+    /**
+     * Mapeia o arquivo em memória. Custa O(1): nenhum registro é lido neste momento.
+     */
+    public static BinarySnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot maior que 2 GB não é suportado por um único mapeamento.");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new BinarySnapshot(mapped);
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public String idAt(int index) {
+        int base = recordOffset(index);
+        return UuidCodec.format(buffer.getLong(base + ID_MSB), buffer.getLong(base + ID_LSB));
+    }
+
+    /**
+     * Decodifica o registro i em uma nova Task (decodificação preguiçosa, sob demanda).
+     */
+    public Task get(int index) {
+        int base = recordOffset(index);
+        byte priority = buffer.get(base + PRIORITY);
+        return new Task(
+                UuidCodec.format(buffer.getLong(base + ID_MSB), buffer.getLong(base + ID_LSB)),
+                string(buffer.getInt(base + TITLE)),
+                string(buffer.getInt(base + DESCRIPTION)),
+                priority == NO_PRIORITY ? null : PRIORITIES[priority],
+                (buffer.get(base + FLAGS) & FLAG_COMPLETED) != 0,
+                date(buffer.getLong(base + CREATED_SECONDS), buffer.getInt(base + CREATED_NANOS)),
+                date(buffer.getLong(base + COMPLETED_SECONDS), buffer.getInt(base + COMPLETED_NANOS)));
+    }
+
+    /**
+     * Indexa o registro i nos índices secundários lendo apenas os campos de tamanho fixo
+     * (prioridade, status e datas), sem decodificar título e descrição.
+     */
+    void indexInto(int index, String id, TaskQueryIndex target) {
+        int base = recordOffset(index);
+        byte priority = buffer.get(base + PRIORITY);
+        target.put(id,
+                priority == NO_PRIORITY ? null : PRIORITIES[priority],
+                (buffer.get(base + FLAGS) & FLAG_COMPLETED) != 0,
+                date(buffer.getLong(base + CREATED_SECONDS), buffer.getInt(base + CREATED_NANOS)),
+                date(buffer.getLong(base + COMPLETED_SECONDS), buffer.getInt(base + COMPLETED_NANOS)));
+    }
+
+    /**
+     * Posição do ID exato, ou -1. Busca binária sobre os longs mapeados, sem decodificar registros.
+     */
+    public int indexOf(String id) {
+        long[] range = UuidCodec.prefixRange(id);
+        if (range == null || id.length() != 36) {
+            return -1;
+        }
+        int index = lowerBound(range[0], range[1]);
+        if (index < recordCount && msbAt(index) == range[0] && lsbAt(index) == range[1]) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Intervalo [início, fim) dos registros cujo ID começa com o prefixo, em O(log n).
+     */
+    public int[] prefixRange(String prefix) {
+        long[] range = UuidCodec.prefixRange(prefix);
+        if (range == null) {
+            return new int[] {0, 0};
+        }
+        int from = lowerBound(range[0], range[1]);
+        int to = upperBound(range[2], range[3]);
+        return new int[] {from, Math.max(from, to)};
+    }
+
+    /**
+     * Posição do primeiro registro com ID maior que o informado (null = 0), usada pela paginação por cursor.
+     */
+    public int firstAfter(String id) {
+        if (id == null) {
+            return 0;
+        }
+        long[] range = UuidCodec.prefixRange(id);
+        if (range == null) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + id);
+        }
+        // Para um ID incompleto, todos os IDs que começam com ele já são maiores que ele.
+        return id.length() == 36 ? upperBound(range[0], range[1]) : lowerBound(range[0], range[1]);
+    }
+
+    // Primeiro registro com ID >= (msb, lsb).
+    private int lowerBound(long msb, long lsb) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (UuidCodec.compare(msbAt(mid), lsbAt(mid), msb, lsb) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Primeiro registro com ID > (msb, lsb).
+    private int upperBound(long msb, long lsb) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (UuidCodec.compare(msbAt(mid), lsbAt(mid), msb, lsb) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long msbAt(int index) {
+        return buffer.getLong(recordOffset(index) + ID_MSB);
+    }
+
+    private long lsbAt(int index) {
+        return buffer.getLong(recordOffset(index) + ID_LSB);
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Registro inexistente no snapshot: " + index);
+        }
+        return recordsOffset + index * RECORD_SIZE;
+    }
+
+    private String string(int index) {
+        if (index == NO_STRING) {
+            return null;
+        }
+        if (strings == null) {
+            strings = new String[stringCount];
+        }
+        String value = strings[index];
+        if (value == null) {
+            int entry = stringIndexOffset + index * 8;
+            int offset = buffer.getInt(entry);
+            int length = buffer.getInt(entry + 4);
+            byte[] bytes = new byte[length];
+            buffer.get(stringDataOffset + offset, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    private static LocalDateTime date(long seconds, int nanos) {
+        return seconds == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Grava as tarefas em um novo snapshot binário.
+     * Os registros são ordenados pelo ID e os textos repetidos são gravados uma única vez.
+     * A escrita vai para um arquivo temporário que só substitui o destino depois do fsync.
+     */
+    public static void write(Path path, Collection<Task> tasks) throws IOException {
+        long start = WRITE_TIMER.start();
+        try {
+            writeFile(path, tasks);
+        } finally {
+            WRITE_TIMER.stop(start);
+        }
+    }
+
+    private static void writeFile(Path path, Collection<Task> tasks) throws IOException {
+        List<long[]> order = new ArrayList<>(tasks.size()); // {msb, lsb, posição na lista}
+        List<Task> list = new ArrayList<>(tasks);
+        for (int i = 0; i < list.size(); i++) {
+            UUID uuid = UuidCodec.parse(list.get(i).getId());
+            order.add(new long[] {uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), i});
+        }
+        order.sort((a, b) -> UuidCodec.compare(a[0], a[1], b[0], b[1]));
+
+        // Tabela de strings: cada texto distinto recebe um índice.
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> stringBytes = new ArrayList<>();
+        long stringDataSize = 0;
+        for (Task task : list) {
+            for (String text : new String[] {task.getTitle(), task.getDescription()}) {
+                if (text != null && !stringIds.containsKey(text)) {
+                    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                    stringIds.put(text, stringBytes.size());
+                    stringBytes.add(bytes);
+                    stringDataSize += bytes.length;
+                }
+            }
+        }
+
+        long recordsOffset = HEADER_SIZE;
+        long stringIndexOffset = recordsOffset + (long) list.size() * RECORD_SIZE;
+        long stringDataOffset = stringIndexOffset + (long) stringBytes.size() * 8;
+        long fileLength = stringDataOffset + stringDataSize;
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot excederia 2 GB.");
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocate(1 << 16);
+
+            out.putInt(MAGIC).putInt(VERSION).putInt(list.size()).putInt(RECORD_SIZE)
+                    .putInt(stringBytes.size()).putInt(0)
+                    .putLong(recordsOffset).putLong(stringIndexOffset).putLong(stringDataOffset)
+                    .putLong(fileLength).putLong(0);
+
+            for (long[] entry : order) {
+                Task task = list.get((int) entry[2]);
+                ensureRoom(channel, out, RECORD_SIZE);
+                out.putLong(entry[0]).putLong(entry[1]);
+                putDate(out, task.getCreationDate());
+                putDate(out, task.getCompletionDate());
+                out.putInt(task.getTitle() == null ? NO_STRING : stringIds.get(task.getTitle()));
+                out.putInt(task.getDescription() == null ? NO_STRING : stringIds.get(task.getDescription()));
+                out.put(task.getPriority() == null ? NO_PRIORITY : (byte) task.getPriority().ordinal());
+                out.put(task.isCompleted() ? FLAG_COMPLETED : 0);
+                out.put(RECORD_PADDING); // Reservado para campos futuros.
+            }
+
+            int offset = 0;
+            for (byte[] bytes : stringBytes) {
+                ensureRoom(channel, out, 8);
+                out.putInt(offset).putInt(bytes.length);
+                offset += bytes.length;
+            }
+
+            for (byte[] bytes : stringBytes) {
+                int written = 0;
+                while (written < bytes.length) {
+                    ensureRoom(channel, out, 1);
+                    int chunk = Math.min(out.remaining(), bytes.length - written);
+                    out.put(bytes, written, chunk);
+                    written += chunk;
+                }
+            }
+
+            drain(channel, out);
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putDate(ByteBuffer out, LocalDateTime date) {
+        if (date == null) {
+            out.putLong(NO_DATE).putInt(0);
+        } else {
+            out.putLong(date.toEpochSecond(ZoneOffset.UTC)).putInt(date.getNano());
+        }
+    }
+
+    private static void ensureRoom(FileChannel channel, ByteBuffer out, int bytes) throws IOException {
+        if (out.remaining() < bytes) {
+            drain(channel, out);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
@@ -0,0 +1,423 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Repository sobre o snapshot binário mapeado em memória ('tasks.bin').
+ * A inicialização apenas mapeia o arquivo: as tarefas do snapshot são decodificadas
+ * sob demanda. Alterações feitas depois do snapshot ficam em uma camada em memória
+ * ("overlay") e são registradas no log 'tasks.bin.log'; quando o log cresce, tudo é
+ * compactado em um novo snapshot binário.
+ */
+public class BinaryTaskRepository implements TaskRepository {
+
+    private static final String SNAPSHOT_PATH = "tasks.bin";
+    private static final String LOG_PATH = "tasks.bin.log";
+    private static final String LEGACY_PATH = "tasks.json";
+
+    private static final long MIN_COMPACTION_RECORDS = 1_000;
+    // O overlay fica em memória: compactamos bem antes de ele se aproximar do tamanho do snapshot.
+    private static final int COMPACTION_RATIO = 4;
+
+    private final Path snapshotPath;
+    private final TaskLog log;
+    private BinarySnapshot base; // null enquanto não existir snapshot.
+
+    private final Map<String, Task> overlay = new HashMap<>();   // Tarefas novas ou alteradas desde o snapshot.
+    private final TaskIdIndex overlayIndex = new TaskIdIndex();
+    private final Set<String> deleted = new HashSet<>();         // IDs do snapshot que foram removidos.
+    // Índices secundários: montados na primeira consulta (para não pesar na abertura do snapshot)
+    // e, a partir daí, mantidos a cada mutação.
+    private TaskQueryIndex queryIndex;
+    private TaskSearchIndex searchIndex; // Idem; exige decodificar os textos, então também só na primeira busca.
+    private int size;
+    private LoadStats loadStats = LoadStats.EMPTY;
+
+    public BinaryTaskRepository() {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), DurabilityPolicy.sync());
+    }
+
+    public BinaryTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), policy);
+    }
+
+    public BinaryTaskRepository(Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+        this.snapshotPath = snapshotPath;
+        this.log = new TaskLog(logPath, gson, policy);
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        Path legacy = snapshotPath.resolveSibling(LEGACY_PATH);
+        try {
+            // Primeira execução com este backend: converte os dados do JsonTaskRepository (snapshot + diários).
+            if (!Files.exists(snapshotPath) && !Files.exists(logPath) && LegacyJsonStore.exists(legacy)) {
+                Map<String, Task> tasks = new LinkedHashMap<>();
+                LegacyJsonStore.load(legacy, new TaskLog.Visitor() {
+                    @Override
+                    public void put(Task task) {
+                        tasks.put(task.getId(), task);
+                    }
+
+                    @Override
+                    public void delete(String id) {
+                        tasks.remove(id);
+                    }
+
+                    @Override
+                    public void patch(TaskPatch patch) {
+                        Task task = tasks.get(patch.getId());
+                        if (task != null) {
+                            patch.applyTo(task);
+                        }
+                    }
+                });
+                BinarySnapshot.write(snapshotPath, tasks.values());
+            }
+            if (Files.exists(snapshotPath)) {
+                base = BinarySnapshot.open(snapshotPath);
+                size = base.size();
+                bytes = Files.size(snapshotPath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir snapshot binário: " + e.getMessage(), e);
+        }
+
+        log.replay(new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                BinaryTaskRepository.this.put(task);
+            }
+
+            @Override
+            public void delete(String id) {
+                remove(id);
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                if (exists(patch.getId())) {
+                    findById(patch.getId()).ifPresent(task -> {
+                        patch.applyTo(task);
+                        BinaryTaskRepository.this.put(task);
+                    });
+                }
+            }
+        });
+        this.loadStats = new LoadStats(size, bytes, System.nanoTime() - start);
+    }
+
+    @Override
+    public void save(Task task) {
+        log.commit(log.appendPut(task));
+        put(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void update(Task task) {
+        log.commit(log.appendUpdate(task)); // Só os campos alterados, se a tarefa souber quais foram.
+        put(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void delete(String id) {
+        if (exists(id)) {
+            log.commit(log.appendDelete(id));
+            remove(id);
+            compactIfNeeded();
+        }
+    }
+
+    // --- Lotes: cada lote vira um único registro BATCH no log (atômico no replay). ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        log.commit(log.appendBatch(newTasks, List.of()));
+        newTasks.forEach(this::put);
+        compactIfNeeded();
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        for (String id : ids) {
+            Optional<Task> task = exists(id) ? findById(id) : Optional.empty();
+            if (task.isPresent() && mutation.test(task.get())) {
+                changed.add(task.get());
+            }
+        }
+        if (!changed.isEmpty()) {
+            log.commit(log.appendUpdates(changed));
+            changed.forEach(this::put);
+            compactIfNeeded();
+        }
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        List<String> existing = new ArrayList<>();
+        for (String id : ids) {
+            if (exists(id)) {
+                existing.add(id);
+            }
+        }
+        if (!existing.isEmpty()) {
+            log.commit(log.appendBatch(List.of(), existing));
+            existing.forEach(this::remove);
+            compactIfNeeded();
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Task exact = overlay.get(id);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        if (base != null && !deleted.contains(id)) {
+            int index = base.indexOf(id);
+            if (index >= 0) {
+                return Optional.of(base.get(index));
+            }
+        }
+
+        // Prefixo: junta os candidatos do overlay e do snapshot antes de decidir se há ambiguidade.
+        Map<String, Task> matches = new LinkedHashMap<>();
+        for (Task task : overlayIndex.findAllByPrefix(id, TaskIdIndex.MAX_REPORTED_MATCHES)) {
+            matches.put(task.getId(), task);
+        }
+        if (base != null) {
+            int[] range = base.prefixRange(id);
+            for (int i = range[0]; i < range[1] && matches.size() < TaskIdIndex.MAX_REPORTED_MATCHES; i++) {
+                String candidate = base.idAt(i);
+                if (!deleted.contains(candidate) && !overlay.containsKey(candidate)) {
+                    matches.put(candidate, null); // Decodificado apenas se for a única correspondência.
+                }
+            }
+        }
+
+        if (matches.size() > 1) {
+            throw new AmbiguousTaskIdException(id, new ArrayList<>(matches.keySet()));
+        }
+        if (matches.isEmpty()) {
+            return Optional.empty();
+        }
+        Map.Entry<String, Task> only = matches.entrySet().iterator().next();
+        return Optional.of(only.getValue() != null ? only.getValue() : base.get(base.indexOf(only.getKey())));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> result = new ArrayList<>(size);
+        if (base != null) {
+            for (int i = 0; i < base.size(); i++) {
+                String id = base.idAt(i);
+                if (!deleted.contains(id) && !overlay.containsKey(id)) {
+                    result.add(base.get(i));
+                }
+            }
+        }
+        result.addAll(overlay.values());
+        return result;
+    }
+
+    /**
+     * Junta, em ordem de ID, os registros do snapshot (já ordenado no arquivo) com os do overlay,
+     * pulando os removidos e os que foram substituídos no overlay. Só a página é decodificada.
+     */
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        List<Task> fetched = new ArrayList<>();
+        List<Task> fromOverlay = overlayIndex.after(afterId, TaskPage.fetchSize(limit));
+        int o = 0;
+        int b = base != null ? base.firstAfter(afterId) : 0;
+        int baseEnd = base != null ? base.size() : 0;
+        while (fetched.size() <= limit && (o < fromOverlay.size() || b < baseEnd)) {
+            String baseId = null;
+            if (b < baseEnd) {
+                baseId = base.idAt(b);
+                if (deleted.contains(baseId) || overlay.containsKey(baseId)) {
+                    b++;
+                    continue;
+                }
+            }
+            if (baseId == null || (o < fromOverlay.size() && fromOverlay.get(o).getId().compareTo(baseId) < 0)) {
+                fetched.add(fromOverlay.get(o++));
+            } else {
+                fetched.add(base.get(b++));
+            }
+        }
+        return TaskPage.of(fetched, limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return resolve(queryIndex().findByStatus(priority, completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex().findCreatedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex().findCompletedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        if (searchIndex == null) {
+            TaskSearchIndex built = new TaskSearchIndex();
+            findAll().forEach(built::put);
+            searchIndex = built;
+        }
+        return resolve(searchIndex.search(query, limit));
+    }
+
+    @Override
+    public int count() {
+        return size;
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return log.sync();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    /**
+     * Regrava o snapshot binário com o estado atual e zera o log e o overlay.
+     */
+    public void compact() {
+        try {
+            BinarySnapshot.write(snapshotPath, findAll());
+            base = BinarySnapshot.open(snapshotPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao compactar snapshot binário: " + e.getMessage(), e);
+        }
+        overlay.clear();
+        overlayIndex.clear();
+        deleted.clear();
+        size = base.size();
+        log.reset();
+    }
+
+    private void compactIfNeeded() {
+        long records = log.recordCount();
+        if (records >= MIN_COMPACTION_RECORDS && records * COMPACTION_RATIO > size) {
+            compact();
+        }
+    }
+
+    private TaskQueryIndex queryIndex() {
+        if (queryIndex == null) {
+            TaskQueryIndex built = new TaskQueryIndex();
+            if (base != null) {
+                for (int i = 0; i < base.size(); i++) {
+                    String id = base.idAt(i);
+                    if (!deleted.contains(id) && !overlay.containsKey(id)) {
+                        base.indexInto(i, id, built);
+                    }
+                }
+            }
+            overlay.values().forEach(built::put);
+            queryIndex = built;
+        }
+        return queryIndex;
+    }
+
+    // Só o necessário é decodificado: as tarefas do resultado.
+    private List<Task> resolve(List<String> ids) {
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = overlay.get(id);
+            result.add(task != null ? task : base.get(base.indexOf(id)));
+        }
+        return result;
+    }
+
+    private boolean exists(String id) {
+        return overlay.containsKey(id)
+                || (base != null && !deleted.contains(id) && base.indexOf(id) >= 0);
+    }
+
+    private void put(Task task) {
+        String id = task.getId();
+        if (!exists(id)) {
+            size++;
+        }
+        deleted.remove(id);
+        overlay.put(id, task);
+        overlayIndex.put(task);
+        if (queryIndex != null) {
+            queryIndex.put(task);
+        }
+        if (searchIndex != null) {
+            searchIndex.put(task);
+        }
+    }
+
+    private void remove(String id) {
+        if (!exists(id)) {
+            return;
+        }
+        if (overlay.remove(id) != null) {
+            overlayIndex.remove(id);
+        }
+        if (base != null && base.indexOf(id) >= 0) {
+            deleted.add(id);
+        }
+        if (queryIndex != null) {
+            queryIndex.remove(id);
+        }
+        if (searchIndex != null) {
+            searchIndex.remove(id);
+        }
+        size--;
+    }
+}
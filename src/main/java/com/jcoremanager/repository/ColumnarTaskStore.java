@@ -0,0 +1,39 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Operações comuns aos armazenamentos em colunas (CompactTaskStore no heap, OffHeapTaskStore fora dele)
+ * usadas pelo CompactTaskRepository. As tarefas devolvidas são sempre vistas montadas na hora:
+ * alterá-las não altera o armazenamento.
+ */
+interface ColumnarTaskStore extends Iterable<Task> {
+
+    int size();
+
+    void beginBulkLoad();
+
+    void endBulkLoad();
+
+    boolean contains(String id);
+
+    Task get(String id);
+
+    void put(Task task);
+
+    boolean remove(String id);
+
+    List<Task> findByPrefix(String prefix, int max);
+
+    List<Task> after(String afterId, int limit);
+
+    List<Task> findByStatus(Priority priority, Boolean completed);
+
+    List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,319 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Repository de memória compacta, para manter milhões de tarefas residentes em um heap modesto.
+ *
+ * As tarefas ficam nas colunas primitivas do CompactTaskStore (ID em dois longs, datas em longs,
+ * prioridade e status em um byte, textos repetidos deduplicados) e cada leitura devolve uma
+ * Task montada na hora: as tarefas devolvidas são cópias, e alterações só valem depois de update().
+ * Prioridade, status e datas são respondidos varrendo as colunas, sem índices secundários em objetos;
+ * o índice de busca textual só é montado na primeira busca.
+ *
+ * A persistência usa o mesmo log + snapshot do LogTaskRepository (os arquivos são compatíveis).
+ * O OffHeapTaskRepository é este mesmo repositório com as colunas fora do heap (OffHeapTaskStore).
+ * Exige IDs no formato UUID canônico (os gerados pela aplicação).
+ */
+public class CompactTaskRepository implements TaskRepository {
+
+    static final String SNAPSHOT_PATH = "tasks.snapshot.json";
+    static final String LOG_PATH = "tasks.log";
+    private static final String LEGACY_PATH = "tasks.json";
+
+    private static final long MIN_COMPACTION_RECORDS = 1_000;
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Gson gson;
+    private final TaskLog log;
+    private final ColumnarTaskStore store;
+    private TaskSearchIndex searchIndex; // Montado na primeira busca e, a partir daí, mantido a cada mutação.
+    private LoadStats loadStats = LoadStats.EMPTY;
+
+    public CompactTaskRepository() {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), DurabilityPolicy.sync());
+    }
+
+    public CompactTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), policy);
+    }
+
+    public CompactTaskRepository(Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        this(new CompactTaskStore(), snapshotPath, logPath, policy);
+    }
+
+    // Para o OffHeapTaskRepository: mesmo repositório, com as colunas em outro armazenamento.
+    CompactTaskRepository(ColumnarTaskStore store, Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        this.store = store;
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+        this.snapshotPath = snapshotPath;
+        this.logPath = logPath;
+        this.log = new TaskLog(logPath, gson, policy);
+
+        load();
+    }
+
+    @Override
+    public void save(Task task) {
+        // Valida o formato (ID e datas) antes de registrar no log.
+        store.put(task);
+        log.commit(log.appendPut(task));
+        indexText(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void update(Task task) {
+        store.put(task);
+        log.commit(log.appendUpdate(task)); // Só os campos alterados, se a tarefa souber quais foram.
+        indexText(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void delete(String id) {
+        if (store.contains(id)) {
+            log.commit(log.appendDelete(id));
+            remove(id);
+            compactIfNeeded();
+        }
+    }
+
+    // --- Lotes: cada lote vira um único registro BATCH no log (atômico no replay). ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        newTasks.forEach(CompactTaskStore::checkStorable); // Tudo ou nada: valida o lote inteiro antes de gravar.
+        newTasks.forEach(store::put);
+        log.commit(log.appendBatch(newTasks, List.of()));
+        newTasks.forEach(this::indexText);
+        compactIfNeeded();
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        // Cada get devolve uma vista nova: um ID repetido não pode ser alterado (e contado) duas vezes.
+        for (String id : new LinkedHashSet<>(ids)) {
+            Task task = store.get(id);
+            if (task != null && mutation.test(task)) {
+                changed.add(task);
+            }
+        }
+        if (!changed.isEmpty()) {
+            changed.forEach(CompactTaskStore::checkStorable);
+            changed.forEach(store::put); // As vistas são cópias: as alterações só valem depois do put.
+            log.commit(log.appendUpdates(changed));
+            changed.forEach(this::indexText);
+            compactIfNeeded();
+        }
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        List<String> existing = new ArrayList<>();
+        for (String id : ids) {
+            if (store.contains(id)) {
+                existing.add(id);
+            }
+        }
+        if (!existing.isEmpty()) {
+            log.commit(log.appendBatch(List.of(), existing));
+            existing.forEach(this::remove);
+            compactIfNeeded();
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Task exact = store.get(id);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        List<Task> matches = store.findByPrefix(id, TaskIdIndex.MAX_REPORTED_MATCHES);
+        if (matches.size() > 1) {
+            throw new AmbiguousTaskIdException(id, matches.stream().map(Task::getId).collect(Collectors.toList()));
+        }
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> result = new ArrayList<>(store.size());
+        store.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        return TaskPage.of(store.after(afterId, TaskPage.fetchSize(limit)), limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return store.findByStatus(priority, completed);
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return store.findCreatedBetween(from, to);
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return store.findCompletedBetween(from, to);
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        if (searchIndex == null) {
+            TaskSearchIndex built = new TaskSearchIndex();
+            store.forEach(built::put);
+            searchIndex = built;
+        }
+        List<Task> result = new ArrayList<>();
+        for (String id : searchIndex.search(query, limit)) {
+            result.add(store.get(id));
+        }
+        return result;
+    }
+
+    @Override
+    public int count() {
+        return store.size();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return log.sync();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    /**
+     * Reescreve o snapshot com o estado atual e zera o log.
+     * As tarefas são montadas uma a uma durante a escrita: o snapshot não exige uma cópia do dataset em memória.
+     */
+    public void compact() {
+        try {
+            TaskJsonFiles.writeAtomically(snapshotPath, store, gson);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+        }
+        log.reset();
+    }
+
+    private void compactIfNeeded() {
+        long records = log.recordCount();
+        if (records >= MIN_COMPACTION_RECORDS && records > store.size()) {
+            compact();
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        long bytes = 0;
+        Path legacy = snapshotPath.resolveSibling(LEGACY_PATH);
+        store.beginBulkLoad();
+        // Reaplica os registros do log (e, na primeira execução, os do JsonTaskRepository) sobre a memória.
+        TaskLog.Visitor replay = new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                store.put(task);
+            }
+
+            @Override
+            public void delete(String id) {
+                store.remove(id);
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                Task task = store.get(patch.getId());
+                if (task != null) {
+                    patch.applyTo(task);
+                    store.put(task);
+                }
+            }
+        };
+        if (Files.exists(snapshotPath)) {
+            try {
+                bytes = TaskJsonFiles.load(snapshotPath, store::put).getBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao carregar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        } else if (!Files.exists(logPath) && LegacyJsonStore.exists(legacy)) {
+            // Primeira execução com este backend: importa os dados do JsonTaskRepository (snapshot + diários).
+            bytes = LegacyJsonStore.load(legacy, replay);
+            // Persiste a importação (também para o OffHeapTaskRepository) antes de o replay criar o log;
+            // caso contrário a próxima execução veria o log sem snapshot e abriria vazia.
+            try {
+                TaskJsonFiles.writeAtomically(snapshotPath, store, gson);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        }
+
+        log.replay(replay);
+        store.endBulkLoad();
+
+        try {
+            bytes += Files.size(logPath);
+        } catch (IOException e) {
+            // Apenas métrica: o tamanho do log não é essencial.
+        }
+        this.loadStats = new LoadStats(store.size(), bytes, System.nanoTime() - start);
+    }
+
+    private void indexText(Task task) {
+        if (searchIndex != null) {
+            searchIndex.put(task);
+        }
+    }
+
+    private void remove(String id) {
+        store.remove(id);
+        if (searchIndex != null) {
+            searchIndex.remove(id);
+        }
+    }
+}
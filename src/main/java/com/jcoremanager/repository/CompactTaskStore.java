@@ -0,0 +1,378 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.UuidCodec;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Armazenamento compacto das tarefas em colunas de tipos primitivos (uma posição, ou "slot", por tarefa):
+ *
+ * <pre>
+ * msb, lsb       long  ID (UUID) em dois longs, em vez de uma String de 36 caracteres
+ * created, done  long  datas em nanossegundos desde a época (UTC), em vez de LocalDateTime/LocalDate/LocalTime
+ * title, desc    int   referência ao StringPool: textos repetidos são guardados uma única vez
+ * flags          byte  prioridade (2 bits) + concluída (1 bit) + ocupado (1 bit)
+ * </pre>
+ *
+ * São ~50 bytes por tarefa (colunas + índices), contra algumas centenas de um objeto Task com
+ * seus objetos internos. Nenhuma Task fica guardada: cada leitura monta uma "vista" nova a partir
+ * das colunas, então alterar a vista não altera o armazenamento (é preciso gravar com put).
+ * Os índices por ID (hash e ordem) ficam no SlotIdIndex, também em arrays de int.
+ *
+ * Não é seguro para várias threads (o CompactTaskRepository é usado por uma thread de cada vez).
+ */
+final class CompactTaskStore implements ColumnarTaskStore, SlotIdIndex.Slots {
+
+    static final byte PRIORITY_MASK = 0b0011; // 0 = sem prioridade; 1..3 = ordinal + 1.
+    static final byte COMPLETED = 0b0100;
+    static final byte LIVE = 0b1000;
+    static final long NO_DATE = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final StringPool strings = new StringPool();
+    private final SlotIdIndex index = new SlotIdIndex(this, this::pushFree);
+
+    // --- Colunas ---
+    private long[] msb;
+    private long[] lsb;
+    private long[] created;
+    private long[] done;
+    private int[] title;
+    private int[] description;
+    private byte[] flags;
+    private int highWater; // Slots em [0, highWater) já foram usados alguma vez.
+
+    // Slots devolvidos pelo índice, prontos para reuso.
+    private int[] free = new int[16];
+    private int freeCount;
+
+    CompactTaskStore() {
+        this(1_024);
+    }
+
+    CompactTaskStore(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        created = new long[capacity];
+        done = new long[capacity];
+        title = new int[capacity];
+        description = new int[capacity];
+        flags = new byte[capacity];
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    int distinctStrings() {
+        return strings.distinct();
+    }
+
+    /**
+     * Carga em massa (snapshot + log na inicialização): o índice ordenado não é mantido
+     * a cada inserção e é montado de uma só vez, com uma única ordenação, em endBulkLoad().
+     */
+    @Override
+    public void beginBulkLoad() {
+        index.beginBulkLoad();
+    }
+
+    @Override
+    public void endBulkLoad() {
+        index.endBulkLoad(highWater);
+        // O crescimento por dobra pode deixar até metade das colunas vazia: após a carga, sobra só uma folga de 1/8.
+        resizeColumns(Math.max(16, highWater + (highWater >>> 3)));
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return index.slotOf(id) >= 0;
+    }
+
+    // Vista da tarefa com o ID exato, ou null.
+    @Override
+    public Task get(String id) {
+        int slot = index.slotOf(id);
+        return slot < 0 ? null : view(slot);
+    }
+
+    // Falha (IllegalArgumentException) se a tarefa não puder ser representada nas colunas; não altera nada.
+    static void checkStorable(Task task) {
+        UuidCodec.parse(task.getId());
+        toNanos(task.getCreationDate());
+        toNanos(task.getCompletionDate());
+    }
+
+    /**
+     * Insere ou substitui a tarefa (pelo ID). O ID precisa ser um UUID canônico e as datas
+     * precisam caber em nanossegundos desde 1970 em um long (anos 1677 a 2262).
+     */
+    @Override
+    public void put(Task task) {
+        UUID uuid = UuidCodec.parse(task.getId());
+        long hi = uuid.getMostSignificantBits();
+        long lo = uuid.getLeastSignificantBits();
+        long createdNanos = toNanos(task.getCreationDate());
+        long doneNanos = toNanos(task.getCompletionDate());
+
+        int slot = index.slotOf(hi, lo);
+        boolean isNew = slot < 0;
+        if (isNew) {
+            slot = allocate();
+            msb[slot] = hi;
+            lsb[slot] = lo;
+        } else {
+            strings.release(title[slot]);
+            strings.release(description[slot]);
+        }
+        created[slot] = createdNanos;
+        done[slot] = doneNanos;
+        title[slot] = strings.acquire(task.getTitle());
+        description[slot] = strings.acquire(task.getDescription());
+        flags[slot] = packFlags(task);
+
+        // Só depois de o slot estar marcado como ocupado: a intercalação do índice descarta slots livres.
+        if (isNew) {
+            index.add(slot);
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        int slot = index.slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        strings.release(title[slot]);
+        strings.release(description[slot]);
+        title[slot] = StringPool.NONE;
+        description[slot] = StringPool.NONE;
+        flags[slot] = 0; // O ID continua nas colunas até o índice devolver o slot (pushFree).
+        index.remove(slot);
+        return true;
+    }
+
+    // --- Consultas em ordem de ID ---
+
+    // Até 'max' tarefas cujo ID começa com o prefixo, em ordem de ID.
+    @Override
+    public List<Task> findByPrefix(String prefix, int max) {
+        return views(index.withPrefix(prefix, max));
+    }
+
+    // Até 'limit' tarefas com ID maior que 'afterId' (null = desde o início), em ordem de ID.
+    @Override
+    public List<Task> after(String afterId, int limit) {
+        return views(index.after(afterId, limit));
+    }
+
+    // --- Consultas por varredura das colunas ---
+    // Laços simples sobre arrays primitivos contíguos: sem ponteiros a seguir, o processador
+    // (e o JIT) percorrem milhões de slots por milissegundo, e nada fica guardado para mantê-las.
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        int wantedMask = statusMask(priority, completed);
+        int wanted = statusValue(priority, completed);
+        List<Task> result = new ArrayList<>();
+        for (int slot = 0; slot < highWater; slot++) {
+            if ((flags[slot] & wantedMask) == wanted) {
+                result.add(view(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(created, from, to);
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(done, from, to);
+    }
+
+    // Vistas de todas as tarefas, em ordem de slot, criadas uma a uma durante a iteração.
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < highWater;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = view(slot);
+                slot = advance(slot + 1);
+                return task;
+            }
+
+            private int advance(int from) {
+                while (from < highWater && (flags[from] & LIVE) == 0) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    // --- Colunas vistas pelo SlotIdIndex ---
+
+    @Override
+    public long msb(int slot) {
+        return msb[slot];
+    }
+
+    @Override
+    public long lsb(int slot) {
+        return lsb[slot];
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return (flags[slot] & LIVE) != 0;
+    }
+
+    private List<Task> findBetween(long[] column, LocalDateTime from, LocalDateTime to) {
+        long low = clampToNanos(from);
+        long high = clampToNanos(to);
+        int[] matches = new int[16];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            long value = column[slot];
+            // Datas ausentes (NO_DATE) e slots livres nunca caem no intervalo: NO_DATE é o menor long.
+            if (value >= low && value < high && (flags[slot] & LIVE) != 0 && value != NO_DATE) {
+                if (n == matches.length) {
+                    matches = Arrays.copyOf(matches, n * 2);
+                }
+                matches[n++] = slot;
+            }
+        }
+        SlotIdIndex.sort(matches, n, (a, b) -> {
+            int cmp = Long.compare(column[a], column[b]);
+            return cmp != 0 ? cmp : index.compareIds(a, b);
+        });
+        return views(Arrays.copyOf(matches, n));
+    }
+
+    private List<Task> views(int[] slots) {
+        List<Task> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(view(slot));
+        }
+        return result;
+    }
+
+    private Task view(int slot) {
+        int bits = flags[slot];
+        return new Task(UuidCodec.format(msb[slot], lsb[slot]),
+                strings.get(title[slot]),
+                strings.get(description[slot]),
+                priorityOf(bits),
+                (bits & COMPLETED) != 0,
+                fromNanos(created[slot]),
+                fromNanos(done[slot]));
+    }
+
+    // --- Slots livres e crescimento das colunas ---
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (highWater == flags.length) {
+            resizeColumns(flags.length * 2);
+        }
+        return highWater++;
+    }
+
+    private void resizeColumns(int capacity) {
+        if (capacity == flags.length) {
+            return;
+        }
+        msb = Arrays.copyOf(msb, capacity);
+        lsb = Arrays.copyOf(lsb, capacity);
+        created = Arrays.copyOf(created, capacity);
+        done = Arrays.copyOf(done, capacity);
+        title = Arrays.copyOf(title, capacity);
+        description = Arrays.copyOf(description, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    private void pushFree(int slot) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    // --- Codificação das colunas (compartilhada com o OffHeapTaskStore) ---
+
+    static byte packFlags(Task task) {
+        return (byte) (LIVE
+                | (task.getPriority() == null ? 0 : task.getPriority().ordinal() + 1)
+                | (task.isCompleted() ? COMPLETED : 0));
+    }
+
+    static Priority priorityOf(int flags) {
+        int priority = flags & PRIORITY_MASK;
+        return priority == 0 ? null : PRIORITIES[priority - 1];
+    }
+
+    // Bits do byte de flags que o filtro examina (sempre inclui LIVE) e o valor que eles devem ter.
+    static int statusMask(Priority priority, Boolean completed) {
+        return LIVE | (priority != null ? PRIORITY_MASK : 0) | (completed != null ? COMPLETED : 0);
+    }
+
+    static int statusValue(Priority priority, Boolean completed) {
+        return LIVE | (priority != null ? priority.ordinal() + 1 : 0)
+                | (completed != null && completed ? COMPLETED : 0);
+    }
+
+    static long toNanos(LocalDateTime date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(date.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), date.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Data fora do intervalo do armazenamento compacto (1677 a 2262): " + date);
+        }
+    }
+
+    // Limite de consulta: datas fora do intervalo representável viram o extremo correspondente.
+    static long clampToNanos(LocalDateTime date) {
+        try {
+            return toNanos(date);
+        } catch (IllegalArgumentException e) {
+            return date.getYear() < 1970 ? NO_DATE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    static LocalDateTime fromNanos(long nanos) {
+        if (nanos == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
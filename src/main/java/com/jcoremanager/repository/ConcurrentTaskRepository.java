@@ -0,0 +1,431 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Repository seguro para uso por várias threads ao mesmo tempo.
+ *
+ * - Armazenamento por ID em um ConcurrentHashMap e índice de prefixos em um ConcurrentSkipListMap:
+ *   leituras não usam locks.
+ * - Escritas usam locks "listrados" (striped): cada ID cai em uma de N listras, então alterações
+ *   em tarefas diferentes quase nunca disputam o mesmo lock e escalam entre os núcleos.
+ * - As tarefas guardadas nunca são alteradas no lugar: cada escrita substitui o objeto inteiro
+ *   por uma cópia nova, e cada leitura devolve uma cópia. Assim nenhum leitor enxerga uma Task
+ *   "pela metade" e ninguém de fora consegue alterar o estado interno sem passar pelo Repository.
+ *
+ * A persistência usa o mesmo log + snapshot do LogTaskRepository (os arquivos são compatíveis).
+ */
+public class ConcurrentTaskRepository implements TaskRepository {
+
+    private static final String SNAPSHOT_PATH = "tasks.snapshot.json";
+    private static final String LOG_PATH = "tasks.log";
+    private static final String LEGACY_PATH = "tasks.json";
+
+    private static final int STRIPES = 64; // Potência de 2: a listra é escolhida com uma máscara.
+    private static final long MIN_COMPACTION_RECORDS = 1_000;
+
+    private final Path snapshotPath;
+    private final Gson gson;
+    private final TaskLog log;
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final TaskIdIndex idIndex = new TaskIdIndex(new ConcurrentSkipListMap<>());
+    private final TaskQueryIndex queryIndex = TaskQueryIndex.concurrent();
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(); // Já é seguro para várias threads.
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    // Mutações compartilham o lock de leitura; a compactação pega o de escrita para
+    // gravar uma imagem consistente enquanto nenhuma mutação está em andamento.
+    private final ReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    private final LoadStats loadStats;
+
+    public ConcurrentTaskRepository() {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), DurabilityPolicy.sync());
+    }
+
+    public ConcurrentTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), policy);
+    }
+
+    public ConcurrentTaskRepository(Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+        this.snapshotPath = snapshotPath;
+        this.log = new TaskLog(logPath, gson, policy);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        Path legacy = snapshotPath.resolveSibling(LEGACY_PATH);
+        // Reaplica os registros do log (e, na primeira execução, os do JsonTaskRepository) sobre a memória.
+        TaskLog.Visitor replay = new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                ConcurrentTaskRepository.this.put(task);
+            }
+
+            @Override
+            public void delete(String id) {
+                remove(id);
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                Task current = tasks.get(patch.getId());
+                if (current != null) {
+                    Task changed = new Task(current);
+                    patch.applyTo(changed);
+                    ConcurrentTaskRepository.this.put(changed);
+                }
+            }
+        };
+        if (Files.exists(snapshotPath)) {
+            try {
+                bytes = TaskJsonFiles.load(snapshotPath, this::put).getBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao carregar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        } else if (!Files.exists(logPath) && LegacyJsonStore.exists(legacy)) {
+            // Primeira execução com este backend: importa os dados do JsonTaskRepository (snapshot + diários).
+            bytes = LegacyJsonStore.load(legacy, replay);
+            // A importação vira o snapshot já aqui, antes do replay criar o log: com só o log no disco,
+            // a próxima inicialização não importaria de novo e começaria vazia.
+            try {
+                TaskJsonFiles.writeAtomically(snapshotPath, tasks.values(), gson);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        }
+        log.replay(replay);
+        this.loadStats = new LoadStats(tasks.size(), bytes, System.nanoTime() - start);
+    }
+
+    @Override
+    public void save(Task task) {
+        write(task.getId(), () -> {
+            Task stored = new Task(task); // Cópia: quem chamou continua dono do objeto original.
+            log.commit(log.appendPut(stored));
+            put(stored);
+        });
+    }
+
+    @Override
+    public void update(Task task) {
+        save(task);
+    }
+
+    @Override
+    public void delete(String id) {
+        write(id, () -> {
+            if (tasks.containsKey(id)) {
+                log.commit(log.appendDelete(id));
+                remove(id);
+            }
+        });
+    }
+
+    /**
+     * Ler-modificar-gravar atômico: a mutação roda sobre uma cópia, sob o lock da listra do ID,
+     * e a cópia alterada substitui a anterior de uma só vez.
+     */
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        Task[] result = new Task[1];
+        write(id, () -> {
+            Task current = tasks.get(id);
+            if (current == null) {
+                return;
+            }
+            Task changed = new Task(current);
+            if (mutation.test(changed)) {
+                log.commit(log.appendUpdate(changed)); // A cópia registra só os campos que a mutação alterou.
+                put(changed);
+            }
+            result[0] = new Task(changed);
+        });
+        return Optional.ofNullable(result[0]);
+    }
+
+    // --- Lotes: os locks de todas as listras envolvidas são adquiridos (em ordem crescente,
+    // para evitar deadlock) e o lote vira um único registro BATCH no log. ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        List<Task> stored = new ArrayList<>(newTasks.size());
+        List<String> ids = new ArrayList<>(newTasks.size());
+        for (Task task : newTasks) {
+            stored.add(new Task(task));
+            ids.add(task.getId());
+        }
+        writeAll(ids, () -> {
+            log.commit(log.appendBatch(stored, List.of()));
+            stored.forEach(this::put);
+        });
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        writeAll(ids, () -> {
+            for (String id : ids) {
+                Task current = tasks.get(id);
+                if (current != null) {
+                    Task copy = new Task(current);
+                    if (mutation.test(copy)) {
+                        changed.add(copy);
+                    }
+                }
+            }
+            if (!changed.isEmpty()) {
+                log.commit(log.appendUpdates(changed));
+                changed.forEach(this::put);
+            }
+        });
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        List<String> existing = new ArrayList<>();
+        writeAll(ids, () -> {
+            for (String id : ids) {
+                if (tasks.containsKey(id)) {
+                    existing.add(id);
+                }
+            }
+            if (!existing.isEmpty()) {
+                log.commit(log.appendBatch(List.of(), existing));
+                existing.forEach(this::remove);
+            }
+        });
+        return existing;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Task exact = tasks.get(id);
+        if (exact != null) {
+            return Optional.of(new Task(exact));
+        }
+        return idIndex.findByPrefix(id).map(Task::new);
+    }
+
+    /**
+     * Cada tarefa da lista é uma cópia consistente; a lista reflete as alterações
+     * concluídas até o momento da iteração (o mapa não é congelado durante a leitura).
+     */
+    @Override
+    public List<Task> findAll() {
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks.values()) {
+            result.add(new Task(task));
+        }
+        return result;
+    }
+
+    // Assim como findAll, cada tarefa da página é uma cópia.
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        List<Task> fetched = idIndex.after(afterId, TaskPage.fetchSize(limit));
+        fetched.replaceAll(Task::new);
+        return TaskPage.of(fetched, limit);
+    }
+
+    // Os índices são atualizados sob o lock da listra de cada ID, como o mapa principal.
+    // Uma tarefa alterada ou removida entre a consulta ao índice e a leitura é revalidada ou ignorada.
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return resolve(queryIndex.findByStatus(priority, completed),
+                t -> (priority == null || t.getPriority() == priority)
+                        && (completed == null || t.isCompleted() == completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCreatedBetween(from, to),
+                t -> t.getCreationDate() != null && !t.getCreationDate().isBefore(from) && t.getCreationDate().isBefore(to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCompletedBetween(from, to),
+                t -> t.getCompletionDate() != null && !t.getCompletionDate().isBefore(from) && t.getCompletionDate().isBefore(to));
+    }
+
+    // Tarefas removidas entre a busca no índice e a leitura são ignoradas.
+    @Override
+    public List<Task> search(String query, int limit) {
+        return resolve(searchIndex.search(query, limit), t -> true);
+    }
+
+    @Override
+    public int count() {
+        return tasks.size();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return log.sync();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    /**
+     * Grava o snapshot com o estado atual e zera o log.
+     * Segura o lock de escrita da compactação: as mutações esperam até o fim da gravação.
+     */
+    public void compact() {
+        compactionLock.writeLock().lock();
+        try {
+            writeSnapshot();
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    private void write(String id, Runnable mutation) {
+        ReentrantLock stripe = stripes[stripeOf(id)];
+        compactionLock.readLock().lock();
+        try {
+            stripe.lock();
+            try {
+                // O registro entra no log sob o lock da listra: para um mesmo ID,
+                // a ordem no log é a mesma ordem em que as alterações foram aplicadas.
+                mutation.run();
+            } finally {
+                stripe.unlock();
+            }
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    private void writeAll(Collection<String> ids, Runnable mutation) {
+        BitSet involved = new BitSet(STRIPES);
+        ids.forEach(id -> involved.set(stripeOf(id)));
+
+        compactionLock.readLock().lock();
+        try {
+            // BitSet percorrido em ordem crescente: todas as threads adquirem as listras na mesma ordem.
+            for (int i = involved.nextSetBit(0); i >= 0; i = involved.nextSetBit(i + 1)) {
+                stripes[i].lock();
+            }
+            try {
+                mutation.run();
+            } finally {
+                for (int i = involved.nextSetBit(0); i >= 0; i = involved.nextSetBit(i + 1)) {
+                    stripes[i].unlock();
+                }
+            }
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    private static int stripeOf(String id) {
+        return (id.hashCode() & 0x7fffffff) & (STRIPES - 1);
+    }
+
+    private void compactIfNeeded() {
+        if (!needsCompaction()) {
+            return;
+        }
+        compactionLock.writeLock().lock();
+        try {
+            // Outra thread pode ter compactado enquanto esperávamos o lock.
+            if (needsCompaction()) {
+                writeSnapshot();
+            }
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    private boolean needsCompaction() {
+        long records = log.recordCount();
+        return records >= MIN_COMPACTION_RECORDS && records > tasks.size();
+    }
+
+    private void writeSnapshot() {
+        try {
+            TaskJsonFiles.writeAtomically(snapshotPath, tasks.values(), gson);
+            log.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+        }
+    }
+
+    private void put(Task task) {
+        tasks.put(task.getId(), task);
+        idIndex.put(task);
+        queryIndex.put(task);
+        searchIndex.put(task);
+    }
+
+    private void remove(String id) {
+        tasks.remove(id);
+        idIndex.remove(id);
+        queryIndex.remove(id);
+        searchIndex.remove(id);
+    }
+
+    private List<Task> resolve(List<String> ids, Predicate<Task> stillMatches) {
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = tasks.get(id);
+            if (task != null && stillMatches.test(task)) {
+                result.add(new Task(task));
+            }
+        }
+        return result;
+    }
+}
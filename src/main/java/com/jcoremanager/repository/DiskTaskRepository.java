@@ -0,0 +1,309 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Repository com as tarefas no disco ('tasks.dat') e só um índice na memória.
+ *
+ * O JsonTaskRepository (e os demais backends) mantém todas as tarefas no heap, então o conjunto
+ * de dados nunca pode ser maior que a memória. Aqui a memória guarda ~50 bytes por tarefa
+ * (ID, posição no arquivo, datas e flags, no DiskTaskStore) e as tarefas são lidas sob demanda,
+ * passando por um cache LRU limitado em bytes (TaskCache, -Djcore.cache.bytes): as tarefas usadas
+ * com frequência saem da memória na velocidade de um mapa, e o resto fica no disco.
+ *
+ * Consultas por status e por data varrem as colunas em memória e só leem do disco as tarefas
+ * do resultado. findAll() e a montagem do índice de busca leem o arquivo inteiro, mas sem passar
+ * pelo cache, para que uma varredura completa não expulse as tarefas mais usadas.
+ *
+ * Durabilidade: no modo SYNC cada mutação faz fsync antes de retornar; nos demais, o fsync
+ * acontece em flush() e close() (o registro já está no cache do sistema operacional).
+ */
+public class DiskTaskRepository implements TaskRepository {
+
+    private static final String DATA_PATH = "tasks.dat";
+    private static final String LEGACY_PATH = "tasks.json";
+    private static final String CACHE_NAME = "disk";
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+
+    private final DiskTaskStore store;
+    private final TaskCache cache;
+    private final boolean syncEachWrite;
+    private TaskSearchIndex searchIndex; // Montado na primeira busca e mantido a cada mutação.
+    private final LoadStats loadStats;
+
+    public DiskTaskRepository() {
+        this(Paths.get(DATA_PATH), DurabilityPolicy.sync(), TaskCache.fromSystemProperties());
+    }
+
+    public DiskTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(DATA_PATH), policy, TaskCache.fromSystemProperties());
+    }
+
+    public DiskTaskRepository(Path dataPath, DurabilityPolicy policy, long cacheBytes) {
+        this(dataPath, policy, new TaskCache(cacheBytes));
+    }
+
+    private DiskTaskRepository(Path dataPath, DurabilityPolicy policy, TaskCache cache) {
+        long start = System.nanoTime();
+        this.cache = cache;
+        this.syncEachWrite = policy.getMode() == DurabilityPolicy.Mode.SYNC;
+        Path legacy = dataPath.resolveSibling(LEGACY_PATH);
+        try {
+            if (!Files.exists(dataPath) && LegacyJsonStore.exists(legacy)) {
+                importJson(legacy, dataPath);
+            }
+            this.store = DiskTaskStore.open(dataPath, syncEachWrite);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir " + dataPath + ": " + e.getMessage(), e);
+        }
+        cache.register(CACHE_NAME);
+        this.loadStats = new LoadStats(store.size(), store.fileSize(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void save(Task task) {
+        write(List.of(task), List.of());
+    }
+
+    @Override
+    public void update(Task task) {
+        write(List.of(task), List.of()); // O registro é sempre a tarefa completa.
+    }
+
+    @Override
+    public void delete(String id) {
+        if (store.slotOf(id) >= 0) {
+            write(List.of(), List.of(id));
+        }
+    }
+
+    // --- Lotes: cada lote é uma sequência de registros contígua, aplicada inteira ou descartada na abertura. ---
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        write(tasks, List.of());
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        for (String id : ids) {
+            int slot = store.slotOf(id);
+            if (slot >= 0) {
+                Task task = task(slot, id);
+                if (mutation.test(task)) {
+                    changed.add(task);
+                }
+            }
+        }
+        write(changed, List.of());
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        Set<String> existing = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (store.slotOf(id) >= 0) {
+                existing.add(id);
+            }
+        }
+        write(List.of(), existing);
+        return List.copyOf(existing);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        int slot = store.slotOf(id);
+        if (slot >= 0) {
+            return Optional.of(task(slot, id));
+        }
+        int[] matches = store.withPrefix(id, TaskIdIndex.MAX_REPORTED_MATCHES);
+        if (matches.length > 1) {
+            List<String> ids = new ArrayList<>(matches.length);
+            for (int match : matches) {
+                ids.add(store.idAt(match));
+            }
+            throw new AmbiguousTaskIdException(id, ids);
+        }
+        return matches.length == 0 ? Optional.empty() : Optional.of(task(matches[0]));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        int[] slots = store.liveSlotsInFileOrder();
+        List<Task> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(store.read(slot));
+        }
+        return result;
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        return TaskPage.of(tasks(store.after(afterId, TaskPage.fetchSize(limit))), limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return tasks(store.withStatus(CompactTaskStore.statusMask(priority, completed),
+                CompactTaskStore.statusValue(priority, completed)));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return tasks(store.createdBetween(CompactTaskStore.clampToNanos(from), CompactTaskStore.clampToNanos(to)));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return tasks(store.completedBetween(CompactTaskStore.clampToNanos(from), CompactTaskStore.clampToNanos(to)));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        if (searchIndex == null) {
+            TaskSearchIndex built = new TaskSearchIndex();
+            for (int slot : store.liveSlotsInFileOrder()) {
+                built.put(store.read(slot));
+            }
+            searchIndex = built;
+        }
+        List<String> ids = searchIndex.search(query, limit);
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(task(store.slotOf(id), id));
+        }
+        return result;
+    }
+
+    @Override
+    public int count() {
+        return store.size();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        if (!syncEachWrite) {
+            store.force();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    // Contadores do cache (acertos, faltas, remoções), também publicados via JMX.
+    public TaskCacheMBean cacheStats() {
+        return cache;
+    }
+
+    // Regrava o arquivo de dados só com os registros vivos.
+    public void compact() {
+        store.compact();
+    }
+
+    // Grava no arquivo e, só depois, atualiza o cache e o índice de busca.
+    private void write(Collection<Task> puts, Collection<String> deletes) {
+        if (puts.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+        boolean compact = store.write(puts, deletes);
+        for (Task task : puts) {
+            task.clearDirty();
+            cache.put(task);
+            if (searchIndex != null) {
+                searchIndex.put(task);
+            }
+        }
+        for (String id : deletes) {
+            cache.remove(id);
+            if (searchIndex != null) {
+                searchIndex.remove(id);
+            }
+        }
+        if (compact) {
+            store.compact();
+        }
+    }
+
+    private Task task(int slot) {
+        return task(slot, store.idAt(slot));
+    }
+
+    // Tarefa do slot: do cache, se estiver lá; senão lida do disco e guardada no cache.
+    private Task task(int slot, String id) {
+        Task task = cache.get(id);
+        if (task == null) {
+            task = store.read(slot);
+            cache.put(task);
+        }
+        return task;
+    }
+
+    private List<Task> tasks(int[] slots) {
+        List<Task> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(task(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Primeira execução com este backend: copia os dados do JsonTaskRepository (snapshot + diários)
+     * em streaming, com no máximo um lote em memória, então a base importada pode ser maior que o heap.
+     * A cópia é feita em 'tasks.dat.import' e só vira o 'tasks.dat' (move atômico) depois de completa:
+     * uma importação interrompida (erro, kill, falta de memória) é refeita do zero na próxima execução,
+     * em vez de o arquivo parcial ser tomado pela base inteira.
+     */
+    private static void importJson(Path legacy, Path dataPath) throws IOException {
+        Path temp = dataPath.resolveSibling(dataPath.getFileName() + ".import");
+        Files.deleteIfExists(temp); // Resto de uma importação interrompida.
+        try (DiskTaskStore target = DiskTaskStore.open(temp, false)) {
+            LegacyJsonStore.load(legacy, IMPORT_BATCH_SIZE, new LegacyJsonStore.Target() {
+                @Override
+                public Task find(String id) {
+                    int slot = target.slotOf(id);
+                    return slot >= 0 ? target.read(slot) : null;
+                }
+
+                @Override
+                public void write(List<Task> tasks) {
+                    target.write(tasks, List.of());
+                }
+
+                @Override
+                public void delete(String id) {
+                    if (target.slotOf(id) >= 0) {
+                        target.write(List.of(), List.of(id));
+                    }
+                }
+            });
+        } // close() faz o fsync antes do move.
+        Files.move(temp, dataPath, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,664 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.UuidCodec;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo de dados das tarefas ('tasks.dat') com apenas um índice em memória.
+ *
+ * O arquivo é append-only: cada gravação acrescenta o registro completo da tarefa no fim e
+ * a memória guarda só a posição dele, junto com as colunas que as consultas varrem:
+ *
+ * <pre>
+ * msb, lsb       long  ID (UUID)
+ * offset         long  posição do registro no arquivo
+ * length         int   tamanho do registro (para contabilizar o espaço morto)
+ * created, done  long  datas em nanossegundos (como no CompactTaskStore)
+ * flags          byte  prioridade + concluída + ocupado (CompactTaskStore.packFlags)
+ * </pre>
+ *
+ * São ~50 bytes por tarefa, independentemente do tamanho dos textos: título e descrição
+ * só existem no disco e são lidos (read posicional) quando a tarefa é pedida.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * [Cabeçalho - 8 bytes] magic "JCTD" | versão
+ * [Registros]           tamanho do payload (int) | CRC32 do payload (int) | payload
+ * payload:              op (PUT/DELETE, + bit MORE) | msb | lsb
+ *                       [PUT] flags | criação (ns) | conclusão (ns) | título | descrição
+ *                       (textos em UTF-8 precedidos do tamanho em bytes; -1 = null)
+ * </pre>
+ * Um lote é uma sequência de registros em que todos, menos o último, têm o bit MORE: na leitura,
+ * um lote sem o registro final (queda no meio da gravação) é descartado inteiro, assim como um
+ * registro truncado ou com CRC inválido no fim do arquivo.
+ *
+ * Versões substituídas e remoções deixam espaço morto; quando ele passa do espaço útil,
+ * compact() regrava só os registros vivos em um arquivo novo e troca os dois atomicamente.
+ *
+ * Não é seguro para várias threads (o DiskTaskRepository é usado por uma thread de cada vez).
+ */
+final class DiskTaskStore implements SlotIdIndex.Slots, Closeable {
+
+    static final int MAGIC = 0x4A435444; // "JCTD"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte MORE = (byte) 0x80; // O lote continua no próximo registro.
+    private static final int MAX_PAYLOAD = 64 * 1024 * 1024;
+
+    // Compacta quando o espaço morto passa do útil, mas não por poucos megabytes.
+    private static final long MIN_COMPACTION_GARBAGE = 4L * 1024 * 1024;
+
+    private static final OperationTimer READ_TIMER = Metrics.timer("io.disk.read");
+    private static final OperationTimer WRITE_TIMER = Metrics.timer("io.disk.write");
+
+    private final Path path;
+    private final boolean syncEachWrite;
+    private final SlotIdIndex index = new SlotIdIndex(this, this::pushFree);
+    private FileChannel channel;
+    private long end;     // Fim do arquivo: onde o próximo registro será escrito.
+    private long garbage; // Bytes de registros substituídos ou removidos.
+
+    // --- Colunas ---
+    private long[] msb;
+    private long[] lsb;
+    private long[] offset;
+    private int[] length;
+    private long[] created;
+    private long[] done;
+    private byte[] flags;
+    private int highWater;
+
+    private int[] free = new int[16];
+    private int freeCount;
+
+    // Buffers reaproveitados entre leituras e gravações.
+    private ByteBuffer readBuffer = ByteBuffer.allocate(1_024);
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(8 * 1_024);
+    private final CRC32 crc = new CRC32();
+
+    private DiskTaskStore(Path path, boolean syncEachWrite) {
+        this.path = path;
+        this.syncEachWrite = syncEachWrite;
+        int capacity = 1_024;
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        offset = new long[capacity];
+        length = new int[capacity];
+        created = new long[capacity];
+        done = new long[capacity];
+        flags = new byte[capacity];
+    }
+
+    /**
+     * Abre (ou cria) o arquivo e monta o índice com uma leitura sequencial dos registros,
+     * sem decodificar os textos. Um fim de arquivo incompleto é cortado.
+     */
+    static DiskTaskStore open(Path path, boolean syncEachWrite) throws IOException {
+        DiskTaskStore store = new DiskTaskStore(path, syncEachWrite);
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            writeFileHeader(path);
+        }
+        store.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = store.scan();
+        if (valid < store.channel.size()) {
+            System.err.println("Aviso: " + (store.channel.size() - valid) + " bytes incompletos no fim de "
+                    + path + " descartados.");
+            store.channel.truncate(valid);
+            store.channel.force(false);
+        }
+        store.end = valid;
+        return store;
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    long fileSize() {
+        return end;
+    }
+
+    // --- Consultas ao índice ---
+
+    int slotOf(String id) {
+        return index.slotOf(id);
+    }
+
+    int[] withPrefix(String prefix, int max) {
+        return index.withPrefix(prefix, max);
+    }
+
+    int[] after(String afterId, int limit) {
+        return index.after(afterId, limit);
+    }
+
+    String idAt(int slot) {
+        return UuidCodec.format(msb[slot], lsb[slot]);
+    }
+
+    // Slots com a prioridade e o status pedidos, varrendo só a coluna de flags.
+    int[] withStatus(int wantedMask, int wanted) {
+        int[] matches = new int[16];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if ((flags[slot] & wantedMask) == wanted) {
+                if (n == matches.length) {
+                    matches = Arrays.copyOf(matches, n * 2);
+                }
+                matches[n++] = slot;
+            }
+        }
+        return Arrays.copyOf(matches, n);
+    }
+
+    int[] createdBetween(long low, long high) {
+        return between(created, low, high);
+    }
+
+    int[] completedBetween(long low, long high) {
+        return between(done, low, high);
+    }
+
+    // Todos os slots ocupados, em ordem de posição no arquivo (leitura quase sequencial).
+    int[] liveSlotsInFileOrder() {
+        int[] slots = new int[index.size()];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if ((flags[slot] & CompactTaskStore.LIVE) != 0) {
+                slots[n++] = slot;
+            }
+        }
+        SlotIdIndex.sort(slots, n, (a, b) -> Long.compare(offset[a], offset[b]));
+        return slots;
+    }
+
+    // --- Leitura de um registro ---
+
+    // Lê e decodifica a tarefa do slot (uma leitura posicional no arquivo).
+    Task read(int slot) {
+        long start = READ_TIMER.start();
+        try {
+            ByteBuffer payload = readPayload(offset[slot], length[slot] - RECORD_HEADER_SIZE);
+            byte op = payload.get();
+            long hi = payload.getLong();
+            long lo = payload.getLong();
+            if ((op & ~MORE) != PUT || hi != msb[slot] || lo != lsb[slot]) {
+                throw new IllegalStateException("Registro inesperado em " + path + " (posição " + offset[slot] + ").");
+            }
+            int bits = payload.get();
+            long createdNanos = payload.getLong();
+            long doneNanos = payload.getLong();
+            String title = getString(payload);
+            String description = getString(payload);
+            return new Task(UuidCodec.format(hi, lo), title, description,
+                    CompactTaskStore.priorityOf(bits), (bits & CompactTaskStore.COMPLETED) != 0,
+                    CompactTaskStore.fromNanos(createdNanos), CompactTaskStore.fromNanos(doneNanos));
+        } finally {
+            READ_TIMER.stop(start);
+        }
+    }
+
+    // --- Gravação ---
+
+    /**
+     * Grava um lote (inclusões/substituições e remoções) como uma sequência de registros contígua,
+     * em uma única escrita, e só depois atualiza o índice. Os IDs de 'deletes' precisam existir.
+     * Retorna true se o espaço morto justifica uma compactação.
+     */
+    boolean write(Collection<Task> puts, Collection<String> deletes) {
+        int total = puts.size() + deletes.size();
+        if (total == 0) {
+            return false;
+        }
+        for (Task task : puts) {
+            CompactTaskStore.checkStorable(task); // Valida tudo antes de escrever qualquer byte.
+        }
+
+        long start = WRITE_TIMER.start();
+        try {
+            writeBuffer.clear();
+            int remaining = total;
+            int[] lengths = new int[total];
+            int i = 0;
+            for (Task task : puts) {
+                lengths[i++] = encodePut(task, --remaining > 0);
+            }
+            for (String id : deletes) {
+                lengths[i++] = encodeDelete(UuidCodec.parse(id), --remaining > 0);
+            }
+            writeBuffer.flip();
+            long position = end;
+            while (writeBuffer.hasRemaining()) {
+                position += channel.write(writeBuffer, position);
+            }
+            if (syncEachWrite) {
+                channel.force(false);
+            }
+
+            long recordOffset = end;
+            end = position;
+            i = 0;
+            for (Task task : puts) {
+                indexPut(task, recordOffset, lengths[i]);
+                recordOffset += lengths[i++];
+            }
+            for (String id : deletes) {
+                indexRemove(index.slotOf(id));
+                garbage += lengths[i++]; // O próprio registro de remoção só importa até a compactação.
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar em " + path + ": " + e.getMessage(), e);
+        } finally {
+            WRITE_TIMER.stop(start);
+        }
+        return garbage >= MIN_COMPACTION_GARBAGE && garbage > end - garbage;
+    }
+
+    // Força os registros já escritos para o disco físico (fsync).
+    void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao sincronizar " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Regrava os registros vivos, em ordem de posição, em um arquivo temporário e o coloca
+     * no lugar do atual com um move atômico. Os registros são copiados sem decodificar os textos
+     * (apenas o bit MORE é limpo: cada tarefa vira um lote de um registro).
+     */
+    void compact() {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] slots = liveSlotsInFileOrder();
+        long[] newOffsets = new long[slots.length];
+        try {
+            writeFileHeader(temp);
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                long position = FILE_HEADER_SIZE;
+                for (int i = 0; i < slots.length; i++) {
+                    int slot = slots[i];
+                    ByteBuffer payload = readPayload(offset[slot], length[slot] - RECORD_HEADER_SIZE);
+                    payload.put(0, (byte) (payload.get(0) & ~MORE));
+                    crc.reset();
+                    crc.update(payload.array(), 0, payload.limit());
+                    header.clear();
+                    header.putInt(payload.limit()).putInt((int) crc.getValue()).flip();
+                    writeFully(out, header);
+                    writeFully(out, payload);
+                    newOffsets[i] = position;
+                    position += length[slot];
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            end = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao compactar " + path + ": " + e.getMessage(), e);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            offset[slots[i]] = newOffsets[i];
+        }
+        garbage = 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao fechar " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    // --- Colunas vistas pelo SlotIdIndex ---
+
+    @Override
+    public long msb(int slot) {
+        return msb[slot];
+    }
+
+    @Override
+    public long lsb(int slot) {
+        return lsb[slot];
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return (flags[slot] & CompactTaskStore.LIVE) != 0;
+    }
+
+    int compareIds(int a, int b) {
+        return index.compareIds(a, b);
+    }
+
+    long created(int slot) {
+        return created[slot];
+    }
+
+    long done(int slot) {
+        return done[slot];
+    }
+
+    // --- Abertura ---
+
+    private static void writeFileHeader(Path target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        Files.write(target, header.array());
+    }
+
+    /**
+     * Lê o arquivo do início ao fim aplicando os lotes completos ao índice.
+     * Retorna a posição logo após o último lote válido.
+     */
+    private long scan() throws IOException {
+        index.beginBulkLoad();
+        long valid = FILE_HEADER_SIZE;
+        try (InputStream raw = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Arquivo de dados inválido: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Versão de arquivo de dados não suportada: " + version);
+            }
+
+            List<long[]> batch = new ArrayList<>(); // Registros do lote corrente, aplicados só no final dele.
+            byte[] payload = new byte[256];
+            long position = FILE_HEADER_SIZE;
+            while (true) {
+                int size;
+                int checksum;
+                try {
+                    size = in.readInt();
+                    checksum = in.readInt();
+                    if (size < 17 || size > MAX_PAYLOAD) {
+                        break;
+                    }
+                    if (payload.length < size) {
+                        payload = new byte[Math.max(size, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, size);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, size);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                ByteBuffer record = ByteBuffer.wrap(payload, 0, size);
+                byte op = record.get();
+                int kind = op & ~MORE;
+                long hi = record.getLong();
+                long lo = record.getLong();
+                if (kind == PUT) {
+                    // Só as colunas do índice: os textos ficam para quando a tarefa for lida.
+                    batch.add(new long[] {kind, hi, lo, position, RECORD_HEADER_SIZE + size,
+                            record.get(), record.getLong(), record.getLong()});
+                } else if (kind == DELETE) {
+                    batch.add(new long[] {kind, hi, lo, position, RECORD_HEADER_SIZE + size});
+                } else {
+                    break;
+                }
+                position += RECORD_HEADER_SIZE + size;
+                if ((op & MORE) == 0) {
+                    batch.forEach(this::apply);
+                    batch.clear();
+                    valid = position;
+                }
+            }
+        } finally {
+            index.endBulkLoad(highWater);
+        }
+        return valid;
+    }
+
+    // Aplica um registro lido na abertura: {op, msb, lsb, offset, tamanho, [flags, criação, conclusão]}.
+    private void apply(long[] entry) {
+        int slot = index.slotOf(entry[1], entry[2]);
+        if (entry[0] == DELETE) {
+            if (slot >= 0) {
+                indexRemove(slot);
+            }
+            garbage += entry[4];
+            return;
+        }
+        boolean isNew = slot < 0;
+        if (isNew) {
+            slot = allocate();
+            msb[slot] = entry[1];
+            lsb[slot] = entry[2];
+        } else {
+            garbage += length[slot];
+        }
+        offset[slot] = entry[3];
+        length[slot] = (int) entry[4];
+        flags[slot] = (byte) entry[5];
+        created[slot] = entry[6];
+        done[slot] = entry[7];
+        if (isNew) {
+            index.add(slot);
+        }
+    }
+
+    // --- Manutenção do índice ---
+
+    private void indexPut(Task task, long recordOffset, int recordLength) {
+        UUID uuid = UuidCodec.parse(task.getId());
+        long hi = uuid.getMostSignificantBits();
+        long lo = uuid.getLeastSignificantBits();
+        int slot = index.slotOf(hi, lo);
+        boolean isNew = slot < 0;
+        if (isNew) {
+            slot = allocate();
+            msb[slot] = hi;
+            lsb[slot] = lo;
+        } else {
+            garbage += length[slot];
+        }
+        offset[slot] = recordOffset;
+        length[slot] = recordLength;
+        created[slot] = CompactTaskStore.toNanos(task.getCreationDate());
+        done[slot] = CompactTaskStore.toNanos(task.getCompletionDate());
+        flags[slot] = CompactTaskStore.packFlags(task);
+        if (isNew) {
+            index.add(slot);
+        }
+    }
+
+    private void indexRemove(int slot) {
+        garbage += length[slot];
+        flags[slot] = 0; // O ID continua nas colunas até o índice devolver o slot (pushFree).
+        index.remove(slot);
+    }
+
+    private int[] between(long[] column, long low, long high) {
+        int[] matches = new int[16];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            long value = column[slot];
+            if (value >= low && value < high && (flags[slot] & CompactTaskStore.LIVE) != 0
+                    && value != CompactTaskStore.NO_DATE) {
+                if (n == matches.length) {
+                    matches = Arrays.copyOf(matches, n * 2);
+                }
+                matches[n++] = slot;
+            }
+        }
+        SlotIdIndex.sort(matches, n, (a, b) -> {
+            int cmp = Long.compare(column[a], column[b]);
+            return cmp != 0 ? cmp : index.compareIds(a, b);
+        });
+        return Arrays.copyOf(matches, n);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (highWater == flags.length) {
+            int capacity = flags.length * 2;
+            msb = Arrays.copyOf(msb, capacity);
+            lsb = Arrays.copyOf(lsb, capacity);
+            offset = Arrays.copyOf(offset, capacity);
+            length = Arrays.copyOf(length, capacity);
+            created = Arrays.copyOf(created, capacity);
+            done = Arrays.copyOf(done, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        return highWater++;
+    }
+
+    private void pushFree(int slot) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    // --- Codificação ---
+
+    // Escreve cabeçalho + payload do PUT no buffer de gravação; retorna o tamanho do registro.
+    private int encodePut(Task task, boolean more) {
+        byte[] title = utf8(task.getTitle());
+        byte[] description = utf8(task.getDescription());
+        int size = 1 + 16 + 1 + 16 + 4 + (title != null ? title.length : 0) + 4 + (description != null ? description.length : 0);
+        UUID uuid = UuidCodec.parse(task.getId());
+        int start = reserve(size);
+        writeBuffer.put((byte) (PUT | (more ? MORE : 0)))
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .put(CompactTaskStore.packFlags(task))
+                .putLong(CompactTaskStore.toNanos(task.getCreationDate()))
+                .putLong(CompactTaskStore.toNanos(task.getCompletionDate()));
+        putString(title);
+        putString(description);
+        return finishRecord(start, size);
+    }
+
+    private int encodeDelete(UUID uuid, boolean more) {
+        int size = 1 + 16;
+        int start = reserve(size);
+        writeBuffer.put((byte) (DELETE | (more ? MORE : 0)))
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+        return finishRecord(start, size);
+    }
+
+    // Garante espaço para o registro e pula o cabeçalho (preenchido em finishRecord).
+    private int reserve(int payloadSize) {
+        int needed = RECORD_HEADER_SIZE + payloadSize;
+        if (writeBuffer.remaining() < needed) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + needed));
+            writeBuffer.flip();
+            grown.put(writeBuffer);
+            writeBuffer = grown;
+        }
+        int start = writeBuffer.position();
+        writeBuffer.position(start + RECORD_HEADER_SIZE);
+        return start;
+    }
+
+    private int finishRecord(int start, int payloadSize) {
+        crc.reset();
+        crc.update(writeBuffer.array(), start + RECORD_HEADER_SIZE, payloadSize);
+        writeBuffer.putInt(start, payloadSize).putInt(start + 4, (int) crc.getValue());
+        return RECORD_HEADER_SIZE + payloadSize;
+    }
+
+    private void putString(byte[] bytes) {
+        if (bytes == null) {
+            writeBuffer.putInt(-1);
+        } else {
+            writeBuffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        String text = new String(buffer.array(), buffer.position(), size, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + size);
+        return text;
+    }
+
+    // Lê o registro inteiro da posição, confere o CRC e devolve o payload (position 0, limit = tamanho).
+    private ByteBuffer readPayload(long recordOffset, int size) {
+        int total = RECORD_HEADER_SIZE + size;
+        if (readBuffer.capacity() < total) {
+            readBuffer = ByteBuffer.allocate(Math.max(total, readBuffer.capacity() * 2));
+        }
+        readBuffer.clear().limit(total);
+        try {
+            long position = recordOffset;
+            while (readBuffer.hasRemaining()) {
+                int read = channel.read(readBuffer, position);
+                if (read < 0) {
+                    throw new IllegalStateException("Registro truncado em " + path + " (posição " + recordOffset + ").");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + path + ": " + e.getMessage(), e);
+        }
+        int storedSize = readBuffer.getInt(0);
+        int checksum = readBuffer.getInt(4);
+        crc.reset();
+        crc.update(readBuffer.array(), RECORD_HEADER_SIZE, size);
+        if (storedSize != size || (int) crc.getValue() != checksum) {
+            throw new IllegalStateException("Registro corrompido em " + path + " (posição " + recordOffset + ").");
+        }
+        // O payload é copiado para o início do buffer, para que as posições do array coincidam com as do buffer.
+        System.arraycopy(readBuffer.array(), RECORD_HEADER_SIZE, readBuffer.array(), 0, size);
+        readBuffer.clear().limit(size);
+        return readBuffer;
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.jcoremanager.repository;
+
+/**
+ * Política de durabilidade do log de mutações: define quando os dados escritos
+ * são forçados (fsync) para o disco físico.
+ */
+public final class DurabilityPolicy {
+
+    public static final String MODE_PROPERTY = "jcore.durability";
+    public static final String INTERVAL_PROPERTY = "jcore.durability.interval";
+
+    private static final long DEFAULT_INTERVAL_MS = 100;
+
+    public enum Mode {
+        SYNC,      // fsync a cada lote gravado: nenhuma operação confirmada é perdida.
+        PERIODIC,  // fsync no máximo a cada N ms: perde no máximo N ms de operações em uma queda.
+        BUFFERED   // Sem fsync: o sistema operacional decide quando gravar (mais rápido, menos seguro).
+    }
+
+    private final Mode mode;
+    private final long intervalMs;
+
+    private DurabilityPolicy(Mode mode, long intervalMs) {
+        this.mode = mode;
+        this.intervalMs = intervalMs;
+    }
+
+    public static DurabilityPolicy sync() {
+        return new DurabilityPolicy(Mode.SYNC, 0);
+    }
+
+    public static DurabilityPolicy periodic(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("O intervalo de fsync deve ser positivo.");
+        }
+        return new DurabilityPolicy(Mode.PERIODIC, intervalMs);
+    }
+
+    public static DurabilityPolicy buffered() {
+        return new DurabilityPolicy(Mode.BUFFERED, 0);
+    }
+
+    /**
+     * Lê a política das System Properties (ex: -Djcore.durability=periodic -Djcore.durability.interval=50).
+     */
+    public static DurabilityPolicy fromSystemProperties() {
+        String mode = System.getProperty(MODE_PROPERTY, "sync");
+        return switch (mode) {
+            case "sync" -> sync();
+            case "periodic" -> periodic(Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MS));
+            case "buffered" -> buffered();
+            default -> throw new IllegalArgumentException("Modo de durabilidade desconhecido: " + mode);
+        };
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.PERIODIC ? mode + "(" + intervalMs + "ms)" : mode.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.jcoremanager.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusão mútua entre processos sobre um arquivo de lock (ex: 'tasks.json.lock').
+ *
+ * O FileLock do sistema operacional é cooperativo e vale por JVM: dentro de uma mesma JVM, um segundo
+ * lock no mesmo arquivo lança OverlappingFileLockException em vez de esperar. Por isso há também um
+ * ReentrantLock por arquivo, compartilhado por todas as instâncias da JVM: ele ordena as threads (e os
+ * Repositories) locais, e só quem o obtém pede o FileLock, que ordena os processos.
+ * É reentrante: chamadas aninhadas na mesma thread reaproveitam o lock já obtido.
+ */
+final class FileMutex implements Closeable {
+
+    // Um lock local por arquivo (caminho absoluto), para todas as instâncias desta JVM.
+    private static final Map<Path, ReentrantLock> LOCAL = new ConcurrentHashMap<>();
+
+    // Devolvido por lock(): libera no close() (para uso em try-with-resources).
+    interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ReentrantLock local;
+    private FileLock fileLock; // Só acessado por quem segura o lock local.
+
+    FileMutex(Path path) {
+        this.path = path;
+        this.local = LOCAL.computeIfAbsent(path.toAbsolutePath().normalize(), p -> new ReentrantLock());
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o arquivo de lock " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Espera até obter o lock (da JVM e do arquivo).
+    Held lock() {
+        local.lock();
+        if (local.getHoldCount() == 1) {
+            try {
+                fileLock = channel.lock();
+            } catch (IOException e) {
+                local.unlock();
+                throw new UncheckedIOException("Erro ao obter o lock " + path + ": " + e.getMessage(), e);
+            }
+        }
+        return this::unlock;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close(); // Também libera um FileLock que ainda estivesse ativo.
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível fechar " + path + ": " + e.getMessage());
+        }
+    }
+
+    private void unlock() {
+        try {
+            if (local.getHoldCount() == 1 && fileLock != null) {
+                fileLock.release();
+                fileLock = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível liberar o lock " + path + ": " + e.getMessage());
+        } finally {
+            local.unlock();
+        }
+    }
+}
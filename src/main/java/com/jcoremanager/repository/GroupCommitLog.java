@@ -0,0 +1,298 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline assíncrono de escrita com "group commit".
+ * Quem grava apenas enfileira os bytes e recebe um CompletableFuture; uma thread dedicada
+ * drena a fila e junta todos os registros pendentes em uma única escrita + um único fsync.
+ * Em rajadas (ex: importação em massa) o custo do fsync é dividido entre muitos registros.
+ */
+final class GroupCommitLog implements Closeable {
+
+    // Limite da fila: quando o disco não acompanha, quem produz registros espera (backpressure).
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int MAX_BATCH = 4_096;
+
+    // Métricas de disco: cada escrita agrupada e cada fsync.
+    private static final OperationTimer WRITE_TIMER = Metrics.timer("io.log.write");
+    private static final OperationTimer FSYNC_TIMER = Metrics.timer("io.log.fsync");
+
+    private enum Kind { APPEND, SYNC, TRUNCATE, CLOSE }
+
+    private static final class Entry {
+        final Kind kind;
+        final byte[] data;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Entry(Kind kind, byte[] data) {
+            this.kind = kind;
+            this.data = data;
+        }
+    }
+
+    private final DurabilityPolicy policy;
+    private final FileChannel channel;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    // Estado usado apenas pela thread de escrita.
+    private final List<Entry> unsynced = new ArrayList<>();
+    private long lastSyncNanos = System.nanoTime();
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    GroupCommitLog(Path path, DurabilityPolicy policy) {
+        this.policy = policy;
+        try {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o log de tarefas: " + e.getMessage(), e);
+        }
+
+        this.writer = new Thread(this::runWriter, "jcore-group-commit-" + path.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        // Garante que o que já foi enfileirado chegue ao disco mesmo se ninguém chamar close().
+        this.shutdownHook = new Thread(this::close);
+        try {
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Aberto por um shutdown hook (ex: o snapshot final do close()): quem abriu também fecha.
+        }
+    }
+
+    /**
+     * Enfileira bytes para serem acrescentados ao arquivo.
+     * O future completa quando o registro estiver gravado conforme a política de durabilidade.
+     */
+    CompletableFuture<Void> append(byte[] data) {
+        return enqueue(new Entry(Kind.APPEND, data));
+    }
+
+    /**
+     * Barreira: completa quando tudo o que foi enfileirado antes estiver em disco (com fsync),
+     * independente da política configurada.
+     */
+    CompletableFuture<Void> sync() {
+        return enqueue(new Entry(Kind.SYNC, null));
+    }
+
+    /**
+     * Esvazia o arquivo depois que todos os registros enfileirados antes forem gravados.
+     * Usado após a compactação, quando o snapshot já contém o efeito desses registros.
+     */
+    CompletableFuture<Void> truncate() {
+        return enqueue(new Entry(Kind.TRUNCATE, null));
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        Entry entry = new Entry(Kind.CLOSE, null);
+        enqueue(entry);
+        closed = true;
+        entry.done.exceptionally(e -> null).join();
+        if (failure != null) {
+            // A thread de escrita parou de gravar após o erro: fecha o arquivo por aqui.
+            writer.interrupt();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o log de tarefas: " + e.getMessage());
+            }
+        }
+
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // A JVM já está finalizando; o hook será executado (e não fará nada).
+            }
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Entry entry) {
+        if (closed) {
+            throw new IllegalStateException("O log de tarefas já foi fechado.");
+        }
+        if (failure != null) {
+            if (entry.kind == Kind.CLOSE) {
+                entry.done.completeExceptionally(failure); // Fechar continua possível (ver close()).
+                return entry.done;
+            }
+            // Depois de um erro o log não grava mais nada: quem grava recebe o erro na hora,
+            // antes de aplicar a mutação na memória, em vez de um future que ninguém confere.
+            throw new UncheckedIOException("O log de tarefas parou após um erro de gravação: "
+                    + failure.getMessage(), failure);
+        }
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entry.done.completeExceptionally(e);
+        }
+        return entry.done;
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            try {
+                Entry first = nextEntry();
+                if (first == null) {
+                    forceAndComplete(); // Prazo do fsync periódico venceu sem novos registros.
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                running = process(batch);
+            } catch (IOException e) {
+                fail(e, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            batch.clear();
+        }
+
+        // Registros que chegaram depois do fechamento nunca serão gravados.
+        List<Entry> late = new ArrayList<>();
+        queue.drainTo(late);
+        late.forEach(entry -> entry.done.completeExceptionally(
+                new IllegalStateException("O log de tarefas já foi fechado.")));
+    }
+
+    // No modo periódico a espera é limitada pelo prazo do próximo fsync.
+    private Entry nextEntry() throws InterruptedException {
+        if (policy.getMode() == DurabilityPolicy.Mode.PERIODIC && !unsynced.isEmpty()) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastSyncNanos);
+            long waitMs = Math.max(0, policy.getIntervalMs() - elapsedMs);
+            return queue.poll(waitMs, TimeUnit.MILLISECONDS);
+        }
+        return queue.take();
+    }
+
+    /**
+     * Grava um lote inteiro. Registros consecutivos viram uma única escrita "gather";
+     * marcadores (SYNC/TRUNCATE/CLOSE) são tratados na ordem em que chegaram.
+     * Retorna false quando o log foi fechado.
+     */
+    private boolean process(List<Entry> batch) throws IOException {
+        List<ByteBuffer> pending = new ArrayList<>();
+        for (Entry entry : batch) {
+            if (entry.kind == Kind.APPEND) {
+                pending.add(ByteBuffer.wrap(entry.data));
+                unsynced.add(entry);
+                continue;
+            }
+
+            write(pending);
+            force();
+            lastSyncNanos = System.nanoTime();
+            completeUnsynced();
+            if (entry.kind == Kind.TRUNCATE) {
+                channel.truncate(0);
+                channel.force(true);
+            } else if (entry.kind == Kind.CLOSE) {
+                channel.close();
+                entry.done.complete(null);
+                return false;
+            }
+            entry.done.complete(null);
+        }
+        write(pending);
+
+        switch (policy.getMode()) {
+            case SYNC -> forceAndComplete();
+            case PERIODIC -> {
+                if (System.nanoTime() - lastSyncNanos >= TimeUnit.MILLISECONDS.toNanos(policy.getIntervalMs())) {
+                    forceAndComplete();
+                }
+            }
+            case BUFFERED -> completeUnsynced(); // Já está com o sistema operacional; sem fsync.
+        }
+        return true;
+    }
+
+    private void write(List<ByteBuffer> buffers) throws IOException {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        long start = WRITE_TIMER.start();
+        try {
+            while (remaining > 0) {
+                remaining -= channel.write(array);
+            }
+        } finally {
+            WRITE_TIMER.stop(start);
+        }
+        buffers.clear();
+    }
+
+    private void force() throws IOException {
+        long start = FSYNC_TIMER.start();
+        try {
+            channel.force(false);
+        } finally {
+            FSYNC_TIMER.stop(start);
+        }
+    }
+
+    private void forceAndComplete() throws IOException {
+        if (!unsynced.isEmpty()) {
+            force();
+            lastSyncNanos = System.nanoTime();
+            completeUnsynced();
+        }
+    }
+
+    private void completeUnsynced() {
+        for (Entry entry : unsynced) {
+            entry.done.complete(null);
+        }
+        unsynced.clear();
+    }
+
+    /**
+     * Depois de um erro de I/O não é possível garantir a ordem do log:
+     * todas as operações pendentes (e as futuras) falham.
+     */
+    private void fail(IOException e, List<Entry> batch) {
+        System.err.println("Erro crítico ao gravar no log de tarefas: " + e.getMessage());
+        failure = e;
+        unsynced.forEach(entry -> entry.done.completeExceptionally(e));
+        unsynced.clear();
+        batch.forEach(entry -> entry.done.completeExceptionally(e));
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(entry -> entry.done.completeExceptionally(e));
+    }
+}
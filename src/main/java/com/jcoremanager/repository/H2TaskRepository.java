@@ -0,0 +1,522 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Repository sobre o banco H2 embutido (no mesmo processo, arquivo local 'tasks.mv.db').
+ *
+ * Em vez de regravar arquivos, cada operação é uma transação do banco:
+ * <ul>
+ *   <li>todos os comandos são PreparedStatements, preparados uma vez e reaproveitados (statement());</li>
+ *   <li>lotes (saveAll, modifyAll, deleteAll) usam addBatch/executeBatch em uma única transação;</li>
+ *   <li>a tabela tem índices de verdade: chave primária no ID (que também atende os prefixos com LIKE),
+ *       (prioridade, concluída), concluída, data de criação e data de conclusão;</li>
+ *   <li>update() com dirty tracking grava só as colunas alteradas.</li>
+ * </ul>
+ *
+ * O banco vem de -Djcore.jdbc.url (padrão jdbc:h2:./tasks). Na primeira execução, os dados do
+ * JsonTaskRepository (snapshot + diários) são importados em lotes; a tabela jcore_migrations registra
+ * que isso já aconteceu, então uma tabela que ficou vazia depois não é preenchida de novo. A busca textual usa o mesmo índice
+ * invertido em memória dos demais backends (TaskSearchIndex), montado na primeira busca.
+ *
+ * Durabilidade (DurabilityPolicy): SYNC grava cada commit no arquivo antes de retornar
+ * (WRITE_DELAY 0); PERIODIC atrasa a gravação em até N ms; BUFFERED deixa o atraso padrão do H2.
+ * flush() força um CHECKPOINT SYNC.
+ */
+public class H2TaskRepository implements TaskRepository {
+
+    public static final String URL_PROPERTY = "jcore.jdbc.url";
+    private static final String DEFAULT_URL = "jdbc:h2:./tasks";
+    private static final String LEGACY_PATH = "tasks.json";
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+    private static final String LEGACY_MIGRATION = "legacy-json";
+
+    private static final String COLUMNS = "id, title, description, priority, completed, creation_date, completion_date";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tasks";
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS tasks ("
+                    + "id VARCHAR(64) PRIMARY KEY, "
+                    + "title VARCHAR, "
+                    + "description VARCHAR, "
+                    + "priority VARCHAR(8), "
+                    + "completed BOOLEAN NOT NULL, "
+                    + "creation_date TIMESTAMP(9), "
+                    + "completion_date TIMESTAMP(9))",
+            "CREATE INDEX IF NOT EXISTS tasks_priority_status ON tasks(priority, completed)",
+            "CREATE INDEX IF NOT EXISTS tasks_status ON tasks(completed)",
+            "CREATE INDEX IF NOT EXISTS tasks_created ON tasks(creation_date)",
+            "CREATE INDEX IF NOT EXISTS tasks_completed_at ON tasks(completion_date)",
+            "CREATE TABLE IF NOT EXISTS jcore_migrations (name VARCHAR(64) PRIMARY KEY)"
+    };
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private TaskSearchIndex searchIndex; // Montado na primeira busca e mantido a cada mutação.
+    private final LoadStats loadStats;
+
+    public H2TaskRepository() {
+        this(System.getProperty(URL_PROPERTY, DEFAULT_URL), Paths.get(LEGACY_PATH), DurabilityPolicy.sync());
+    }
+
+    public H2TaskRepository(DurabilityPolicy policy) {
+        this(System.getProperty(URL_PROPERTY, DEFAULT_URL), Paths.get(LEGACY_PATH), policy);
+    }
+
+    public H2TaskRepository(String url, Path legacyPath, DurabilityPolicy policy) {
+        long start = System.nanoTime();
+        try {
+            this.connection = DriverManager.getConnection(url);
+            connection.setAutoCommit(false);
+            try (Statement ddl = connection.createStatement()) {
+                for (String command : SCHEMA) {
+                    ddl.execute(command);
+                }
+                ddl.execute("SET WRITE_DELAY " + writeDelay(policy));
+            }
+            connection.commit();
+            migrateLegacy(legacyPath);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao abrir o banco " + url + ": " + e.getMessage(), e);
+        }
+        this.loadStats = new LoadStats(count(), 0, System.nanoTime() - start);
+    }
+
+    @Override
+    public void save(Task task) {
+        transaction(() -> bind(statement("MERGE INTO tasks (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)"), task)
+                .executeUpdate());
+        written(task);
+    }
+
+    /**
+     * Se a tarefa sabe quais campos mudaram, o UPDATE só toca essas colunas;
+     * senão (ou se a linha não existir mais), grava a tarefa inteira.
+     */
+    @Override
+    public void update(Task task) {
+        if (!task.isDirty()) {
+            save(task);
+            return;
+        }
+        int updated = transaction(() -> updateDirty(task));
+        if (updated == 0) {
+            save(task);
+            return;
+        }
+        written(task);
+    }
+
+    @Override
+    public void delete(String id) {
+        int removed = transaction(() -> {
+            PreparedStatement delete = statement("DELETE FROM tasks WHERE id = ?");
+            delete.setString(1, id);
+            return delete.executeUpdate();
+        });
+        if (removed > 0) {
+            removed(id);
+        }
+    }
+
+    // --- Lotes: um executeBatch e um commit por chamada. ---
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        transaction(() -> mergeBatch(tasks));
+        tasks.forEach(this::written);
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        for (String id : ids) {
+            Optional<Task> task = findExact(id);
+            if (task.isPresent() && mutation.test(task.get())) {
+                changed.add(task.get());
+            }
+        }
+        if (!changed.isEmpty()) {
+            transaction(() -> mergeBatch(changed));
+            changed.forEach(this::written);
+        }
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        Set<String> unique = new LinkedHashSet<>(ids);
+        if (unique.isEmpty()) {
+            return List.of();
+        }
+        int[] counts = transaction(() -> {
+            PreparedStatement delete = statement("DELETE FROM tasks WHERE id = ?");
+            for (String id : unique) {
+                delete.setString(1, id);
+                delete.addBatch();
+            }
+            return delete.executeBatch();
+        });
+        List<String> removed = new ArrayList<>();
+        int i = 0;
+        for (String id : unique) {
+            if (counts[i++] > 0) {
+                removed(id);
+                removed.add(id);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Optional<Task> exact = findExact(id);
+        if (exact.isPresent()) {
+            return exact;
+        }
+        // Prefixo: LIKE 'abc%' vira uma faixa na chave primária.
+        List<Task> matches = query(SELECT + " WHERE id LIKE ? ESCAPE '\\' ORDER BY id LIMIT ?",
+                escapeLike(id) + "%", TaskIdIndex.MAX_REPORTED_MATCHES);
+        if (matches.size() > 1) {
+            List<String> ids = new ArrayList<>(matches.size());
+            matches.forEach(task -> ids.add(task.getId()));
+            throw new AmbiguousTaskIdException(id, ids);
+        }
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return query(SELECT);
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        List<Task> fetched = afterId == null
+                ? query(SELECT + " ORDER BY id LIMIT ?", TaskPage.fetchSize(limit))
+                : query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", afterId, TaskPage.fetchSize(limit));
+        return TaskPage.of(fetched, limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        if (priority != null && completed != null) {
+            return query(SELECT + " WHERE priority = ? AND completed = ?", priority.name(), completed);
+        }
+        if (priority != null) {
+            return query(SELECT + " WHERE priority = ?", priority.name());
+        }
+        if (completed != null) {
+            return query(SELECT + " WHERE completed = ?", completed);
+        }
+        return findAll();
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return query(SELECT + " WHERE creation_date >= ? AND creation_date < ? ORDER BY creation_date, id", from, to);
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return query(SELECT + " WHERE completion_date >= ? AND completion_date < ? ORDER BY completion_date, id", from, to);
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        if (searchIndex == null) {
+            TaskSearchIndex built = new TaskSearchIndex();
+            findAll().forEach(built::put);
+            searchIndex = built;
+        }
+        List<Task> result = new ArrayList<>();
+        for (String id : searchIndex.search(query, limit)) {
+            findExact(id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public int count() {
+        try (ResultSet rs = statement("SELECT COUNT(*) FROM tasks").executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        try (Statement checkpoint = connection.createStatement()) {
+            checkpoint.execute("CHECKPOINT SYNC");
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+            connection.close(); // Fecha o banco embutido (última conexão), gravando o que estiver pendente.
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    // --- SQL ---
+
+    // O mesmo PreparedStatement para o mesmo SQL: o banco só analisa e planeja cada comando uma vez.
+    private PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    // Executa e confirma; em caso de erro desfaz tudo, para que o lote seja atômico.
+    private <T> T transaction(Work<T> work) {
+        try {
+            T result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw failure(e);
+        }
+    }
+
+    private List<Task> query(String sql, Object... parameters) {
+        try {
+            PreparedStatement select = statement(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            List<Task> result = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    result.add(read(rs));
+                }
+            }
+            return result;
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    private Optional<Task> findExact(String id) {
+        List<Task> found = query(SELECT + " WHERE id = ?", id);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    private int[] mergeBatch(Collection<Task> tasks) throws SQLException {
+        PreparedStatement merge = statement("MERGE INTO tasks (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (Task task : tasks) {
+            bind(merge, task).addBatch();
+        }
+        return merge.executeBatch();
+    }
+
+    // UPDATE só das colunas marcadas como alteradas (um PreparedStatement por combinação de campos).
+    private int updateDirty(Task task) throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        List<Object> values = new ArrayList<>();
+        for (Task.Field field : task.getDirtyFields()) {
+            if (!values.isEmpty()) {
+                sql.append(", ");
+            }
+            switch (field) {
+                case TITLE -> {
+                    sql.append("title = ?");
+                    values.add(task.getTitle());
+                }
+                case DESCRIPTION -> {
+                    sql.append("description = ?");
+                    values.add(task.getDescription());
+                }
+                case PRIORITY -> {
+                    sql.append("priority = ?");
+                    values.add(task.getPriority() == null ? null : task.getPriority().name());
+                }
+                case COMPLETED -> {
+                    sql.append("completed = ?");
+                    values.add(task.isCompleted());
+                }
+                case COMPLETION_DATE -> {
+                    sql.append("completion_date = ?");
+                    values.add(task.getCompletionDate());
+                }
+            }
+        }
+        PreparedStatement update = statement(sql.append(" WHERE id = ?").toString());
+        for (int i = 0; i < values.size(); i++) {
+            update.setObject(i + 1, values.get(i));
+        }
+        update.setString(values.size() + 1, task.getId());
+        return update.executeUpdate();
+    }
+
+    private static PreparedStatement bind(PreparedStatement statement, Task task) throws SQLException {
+        statement.setString(1, task.getId());
+        statement.setString(2, task.getTitle());
+        statement.setString(3, task.getDescription());
+        if (task.getPriority() == null) {
+            statement.setNull(4, Types.VARCHAR);
+        } else {
+            statement.setString(4, task.getPriority().name());
+        }
+        statement.setBoolean(5, task.isCompleted());
+        statement.setObject(6, task.getCreationDate());
+        statement.setObject(7, task.getCompletionDate());
+        return statement;
+    }
+
+    private static Task read(ResultSet rs) throws SQLException {
+        String priority = rs.getString(4);
+        Task task = new Task(rs.getString(1), rs.getString(2), rs.getString(3),
+                priority == null ? null : Priority.valueOf(priority),
+                rs.getBoolean(5),
+                rs.getObject(6, LocalDateTime.class),
+                rs.getObject(7, LocalDateTime.class));
+        task.clearDirty(); // Acabou de sair do banco: nada pendente.
+        return task;
+    }
+
+    // --- Índice de busca ---
+
+    private void written(Task task) {
+        task.clearDirty();
+        if (searchIndex != null) {
+            searchIndex.put(task);
+        }
+    }
+
+    private void removed(String id) {
+        if (searchIndex != null) {
+            searchIndex.remove(id);
+        }
+    }
+
+    // --- Migração e configuração ---
+
+    /**
+     * Primeira execução com este backend: copia os dados do JsonTaskRepository em lotes e registra a
+     * migração, tudo em uma transação. Um banco de versões anteriores (sem o registro) que já tem
+     * tarefas só recebe o registro.
+     */
+    private void migrateLegacy(Path legacy) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT COUNT(*) FROM jcore_migrations WHERE name = ?")) {
+            query.setString(1, LEGACY_MIGRATION);
+            try (ResultSet rs = query.executeQuery()) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try {
+            if (count() == 0 && LegacyJsonStore.exists(legacy)) {
+                importJson(legacy);
+            }
+            try (PreparedStatement mark = connection.prepareStatement("INSERT INTO jcore_migrations (name) VALUES (?)")) {
+                mark.setString(1, LEGACY_MIGRATION);
+                mark.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    // Lê o JsonTaskRepository em streaming (snapshot + diários), com no máximo um lote em memória.
+    private void importJson(Path legacy) {
+        LegacyJsonStore.load(legacy, IMPORT_BATCH_SIZE, new LegacyJsonStore.Target() {
+            @Override
+            public Task find(String id) {
+                return findExact(id).orElse(null);
+            }
+
+            @Override
+            public void write(List<Task> tasks) {
+                try {
+                    mergeBatch(tasks);
+                } catch (SQLException e) {
+                    throw failure(e);
+                }
+            }
+
+            @Override
+            public void delete(String id) {
+                try {
+                    PreparedStatement delete = statement("DELETE FROM tasks WHERE id = ?");
+                    delete.setString(1, id);
+                    delete.executeUpdate();
+                } catch (SQLException e) {
+                    throw failure(e);
+                }
+            }
+        });
+    }
+
+    private static long writeDelay(DurabilityPolicy policy) {
+        return switch (policy.getMode()) {
+            case SYNC -> 0;
+            case PERIODIC -> policy.getIntervalMs();
+            case BUFFERED -> 500; // Padrão do H2.
+        };
+    }
+
+    // '%', '_' e '\' no ID não são curingas do LIKE.
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static IllegalStateException failure(SQLException e) {
+        return new IllegalStateException("Erro no banco de dados: " + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,209 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Decorator que mede cada chamada ao Repository (contagem e latência) e delega ao backend real.
+ * Fica na frente de qualquer implementação, então a instrumentação não se repete em cada backend.
+ */
+public final class InstrumentedTaskRepository implements TaskRepository {
+
+    private static final OperationTimer SAVE = Metrics.timer("repository.save");
+    private static final OperationTimer UPDATE = Metrics.timer("repository.update");
+    private static final OperationTimer DELETE = Metrics.timer("repository.delete");
+    private static final OperationTimer FIND_BY_ID = Metrics.timer("repository.findById");
+    private static final OperationTimer FIND_ALL = Metrics.timer("repository.findAll");
+    private static final OperationTimer FIND_PAGE = Metrics.timer("repository.findPage");
+    private static final OperationTimer MODIFY = Metrics.timer("repository.modify");
+    private static final OperationTimer SAVE_ALL = Metrics.timer("repository.saveAll");
+    private static final OperationTimer MODIFY_ALL = Metrics.timer("repository.modifyAll");
+    private static final OperationTimer DELETE_ALL = Metrics.timer("repository.deleteAll");
+    private static final OperationTimer FIND_BY_STATUS = Metrics.timer("repository.findByStatus");
+    private static final OperationTimer FIND_CREATED = Metrics.timer("repository.findCreatedBetween");
+    private static final OperationTimer FIND_COMPLETED = Metrics.timer("repository.findCompletedBetween");
+    private static final OperationTimer SEARCH = Metrics.timer("repository.search");
+    private static final OperationTimer FLUSH = Metrics.timer("repository.flush");
+
+    private final TaskRepository delegate;
+
+    public InstrumentedTaskRepository(TaskRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save(Task task) {
+        long start = SAVE.start();
+        try {
+            delegate.save(task);
+        } finally {
+            SAVE.stop(start);
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        long start = UPDATE.start();
+        try {
+            delegate.update(task);
+        } finally {
+            UPDATE.stop(start);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        long start = DELETE.start();
+        try {
+            delegate.delete(id);
+        } finally {
+            DELETE.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        long start = FIND_BY_ID.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            FIND_BY_ID.stop(start);
+        }
+    }
+
+    @Override
+    public List<Task> findAll() {
+        long start = FIND_ALL.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            FIND_ALL.stop(start);
+        }
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        long start = FIND_PAGE.start();
+        try {
+            return delegate.findPage(afterId, limit);
+        } finally {
+            FIND_PAGE.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        long start = MODIFY.start();
+        try {
+            return delegate.modify(id, mutation);
+        } finally {
+            MODIFY.stop(start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        long start = SAVE_ALL.start();
+        try {
+            delegate.saveAll(tasks);
+        } finally {
+            SAVE_ALL.stop(start);
+        }
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        long start = MODIFY_ALL.start();
+        try {
+            return delegate.modifyAll(ids, mutation);
+        } finally {
+            MODIFY_ALL.stop(start);
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        long start = DELETE_ALL.start();
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            DELETE_ALL.stop(start);
+        }
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        long start = FIND_BY_STATUS.start();
+        try {
+            return delegate.findByStatus(priority, completed);
+        } finally {
+            FIND_BY_STATUS.stop(start);
+        }
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        long start = FIND_CREATED.start();
+        try {
+            return delegate.findCreatedBetween(from, to);
+        } finally {
+            FIND_CREATED.stop(start);
+        }
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        long start = FIND_COMPLETED.start();
+        try {
+            return delegate.findCompletedBetween(from, to);
+        } finally {
+            FIND_COMPLETED.stop(start);
+        }
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        long start = SEARCH.start();
+        try {
+            return delegate.search(query, limit);
+        } finally {
+            SEARCH.stop(start);
+        }
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return delegate.isThreadSafe();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return delegate.loadStats();
+    }
+
+    // Mede até a durabilidade ser confirmada, não apenas a chamada (que retorna de imediato).
+    @Override
+    public CompletableFuture<Void> flush() {
+        long start = FLUSH.start();
+        return delegate.flush().whenComplete((ignored, error) -> FLUSH.stop(start));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
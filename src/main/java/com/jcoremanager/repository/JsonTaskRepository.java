@@ -2,104 +2,586 @@ package com.jcoremanager.repository;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.jcoremanager.model.Priority;
 import com.jcoremanager.model.Task;
 import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
 
-import java.io.*;
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Implementação concreta do Repository.
  * Responsável pela persistência física dos dados em um arquivo JSON local.
+ *
+ * Cada mutação acrescenta um registro pequeno ao diário 'tasks.json.journal.N' (em uma edição,
+ * só os campos alterados, rastreados pelos setters da Task) e retorna. O 'tasks.json' completo é
+ * regravado em segundo plano pelo BackgroundSnapshotter, a partir de uma cópia das tarefas, com
+ * checksum e troca atômica, quando o diário cresce demais e ao fechar o Repository.
+ *
+ * No momento da cópia o diário passa para a geração seguinte (N + 1): o snapshot contém exatamente
+ * os diários anteriores. Na carga, o snapshot é lido e os diários a partir da geração dele são
+ * reaplicados. Os diários só são apagados quando nem o snapshot anterior (a reserva usada se o atual
+ * estiver corrompido) precisa mais deles.
+ *
+ * Vários processos (CLI, workers) podem compartilhar os mesmos arquivos:
+ * <ul>
+ *   <li>cada mutação acontece sob o lock cooperativo 'tasks.json.lock' (FileMutex): antes de gravar,
+ *       o processo lê os registros que os outros acrescentaram ao diário desde a última vez, então
+ *       nenhuma gravação é feita sobre um estado desatualizado e nada é sobrescrito;</li>
+ *   <li>um WatchService (StoreWatcher) avisa quando outro processo gravou; a próxima consulta lê só
+ *       o trecho novo do diário (a partir da posição já lida), sem reler o 'tasks.json' inteiro;</li>
+ *   <li>se o diário já lido foi apagado (o processo ficou muitas gerações para trás), a carga é refeita.</li>
+ * </ul>
+ * As edições são gravadas campo a campo (PATCH): edições de campos diferentes feitas por processos
+ * diferentes na mesma tarefa se somam; no mesmo campo, vale a última gravada.
  */
 public class JsonTaskRepository implements TaskRepository {
 
     private static final String FILE_PATH = "tasks.json";
-    private final Gson gson;
-    private List<Task> tasks; // Cache em memória das tarefas para evitar ler o disco a todo momento.
+    static final String JOURNAL_INFIX = ".journal.";
+    static final String LEGACY_PATCHES_SUFFIX = ".patches"; // Diário único das versões anteriores.
+    private static final String LOCK_SUFFIX = ".lock";
+    // Um novo snapshot é gravado quando o diário passa deste número de registros e do número de tarefas.
+    private static final long MIN_SNAPSHOT_RECORDS = 1_000;
+
+    private final Path file;
+    private final Gson lineGson;
+    private final BackgroundSnapshotter snapshotter;
+    private final FileMutex lock;       // Exclusão mútua entre processos nas gravações.
+    private final StoreWatcher watcher; // Avisa quando outro processo gravou.
+    // Cache em memória das tarefas para evitar ler o disco a todo momento.
+    // LinkedHashMap: remoção por ID em O(1) mantendo a ordem de inserção para a listagem e o arquivo.
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final TaskIdIndex idIndex = new TaskIdIndex(); // Índice ordenado para buscas por prefixo.
+    private final TaskQueryIndex queryIndex = new TaskQueryIndex(); // Prioridade, status e datas.
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(); // Busca textual.
+    private final LoadStats loadStats;
+
+    private TaskLog journal; // Diário da geração atual.
+    private long journalGeneration;
+    private long journalOffset; // Bytes do diário atual já aplicados à memória (deste e dos outros processos).
+    private volatile long snapshotGeneration; // Geração do último snapshot instalado.
 
     public JsonTaskRepository() {
-        // Configura o Gson com indentação (PrettyPrinting) e o adaptador de Datas.
-        this.gson = new GsonBuilder()
+        this(Paths.get(FILE_PATH));
+    }
+
+    // Permite usar outro arquivo (ex: benchmarks e ferramentas que trabalham em um diretório temporário).
+    public JsonTaskRepository(Path file) {
+        this.file = file;
+        // Configura o Gson com indentação (PrettyPrinting), o adaptador de Datas
+        // e o adaptador em streaming da Task (sem Reflection).
+        Gson gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
                 .create();
-        
-        // Carrega os dados do arquivo ao iniciar a aplicação.
-        this.tasks = loadFromFile();
+        this.lineGson = lineGson();
+        this.snapshotter = new BackgroundSnapshotter(file, gson);
+        this.lock = new FileMutex(file.resolveSibling(file.getFileName() + LOCK_SUFFIX));
+        this.watcher = new StoreWatcher(file);
+
+        // Carrega os dados do arquivo ao iniciar a aplicação (sob o lock: outro processo pode estar gravando).
+        try (FileMutex.Held held = lock.lock()) {
+            this.loadStats = loadFromFile();
+        }
     }
 
     @Override
     public void save(Task task) {
-        tasks.add(task); // Adiciona na lista em memória.
-        saveToFile();    // Persiste no arquivo físico.
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            put(task); // Adiciona no mapa em memória e nos índices.
+            written(journal.appendPut(task));
+        }
     }
 
     @Override
     public void update(Task task) {
-        // Como 'tasks' é uma lista de objetos em memória, e Java trabalha com referências,
-        // as alterações no objeto já estão na lista. Só precisamos atualizar o arquivo.
-        saveToFile();
+        // Normalmente 'task' é o próprio objeto do mapa, alterado pelos setters: só os campos
+        // alterados vão para o diário (ou a tarefa inteira, se ela não souber quais mudaram).
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            put(task);
+            written(journal.appendUpdate(task));
+        }
     }
 
     @Override
     public void delete(String id) {
-        // Remove da lista usando lambda expression se o ID coincidir.
-        tasks.removeIf(t -> t.getId().equals(id));
-        saveToFile();
+        // Remoção direta pela chave, sem varrer a lista inteira.
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            if (remove(id)) {
+                written(journal.appendDelete(id));
+            }
+        }
+    }
+
+    // Ler-modificar-gravar sob um único lock: nenhum outro processo grava entre a leitura e a gravação.
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            return TaskRepository.super.modify(id, mutation);
+        }
+    }
+
+    // --- Lotes: todas as alterações em memória e um único registro (BATCH) no diário. ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            newTasks.forEach(this::put);
+            written(journal.appendBatch(newTasks, List.of()));
+        }
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            return modifyAllLocked(ids, mutation);
+        }
+    }
+
+    private int modifyAllLocked(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) { // Um ID repetido gera um único registro.
+            Task task = tasks.get(id);
+            if (task != null && mutation.test(task)) {
+                queryIndex.put(task);
+                searchIndex.put(task);
+                changed.add(task);
+            }
+        }
+        if (!changed.isEmpty()) {
+            written(journal.appendUpdates(changed));
+        }
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            return deleteAllLocked(ids);
+        }
+    }
+
+    private List<String> deleteAllLocked(Collection<String> ids) {
+        List<String> removed = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (remove(id)) {
+                removed.add(id);
+            }
+        }
+        if (!removed.isEmpty()) {
+            written(journal.appendBatch(List.of(), removed));
+        }
+        return removed;
     }
 
     @Override
     public Optional<Task> findById(String id) {
-        // Utiliza Java Streams para filtrar a lista.
-        // O startsWith permite que o usuário digite apenas o início do ID (mais amigável).
-        return tasks.stream()
-                .filter(t -> t.getId().startsWith(id))
-                .findFirst();
+        refresh();
+        // O índice ordenado resolve tanto o ID completo quanto o início dele (mais amigável) em O(log n).
+        return idIndex.findByPrefix(id);
     }
 
     @Override
     public List<Task> findAll() {
-        // Retorna uma cópia da lista (ArrayList novo) para evitar que
-        // classes externas modifiquem a lista original diretamente sem passar pelo Repository.
-        return new ArrayList<>(tasks); 
+        refresh();
+        // Retorna uma cópia (ArrayList novo) para evitar que
+        // classes externas modifiquem a coleção original diretamente sem passar pelo Repository.
+        return new ArrayList<>(tasks.values());
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        refresh();
+        // O índice de IDs já é ordenado: a página sai direto dele, sem copiar nem ordenar o resto.
+        return TaskPage.of(idIndex.after(afterId, TaskPage.fetchSize(limit)), limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        refresh();
+        return resolve(queryIndex.findByStatus(priority, completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        refresh();
+        return resolve(queryIndex.findCreatedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        refresh();
+        return resolve(queryIndex.findCompletedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        refresh();
+        return resolve(searchIndex.search(query, limit));
+    }
+
+    @Override
+    public int count() {
+        refresh();
+        return tasks.size();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return journal.sync();
     }
 
     /**
-     * Método auxiliar para escrever a lista atual no arquivo JSON.
-     * Utiliza Try-with-resources para garantir que o Writer seja fechado corretamente.
+     * Espera o snapshot em andamento, grava um último snapshot com o estado final (se houve
+     * mutações desde o anterior) e fecha o diário.
      */
-    private void saveToFile() {
-        try (Writer writer = new FileWriter(FILE_PATH)) {
-            gson.toJson(tasks, writer);
-        } catch (IOException e) {
-            System.err.println("Erro crítico ao salvar tarefas: " + e.getMessage());
+    @Override
+    public void close() {
+        awaitSnapshot();
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp(); // O último snapshot precisa incluir o que os outros processos gravaram.
+            if (journal.recordCount() > 0) {
+                startSnapshot();
+            }
+        }
+        awaitSnapshot();
+        journal.close();
+        snapshotter.close();
+        watcher.close();
+        lock.close();
+    }
+
+    /**
+     * Grava um snapshot agora (em segundo plano) a partir de uma cópia do estado atual.
+     * Não faz nada se já houver um snapshot sendo gravado. O future completa após a troca dos arquivos.
+     */
+    public CompletableFuture<Void> snapshot() {
+        if (snapshotter.isBusy()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try (FileMutex.Held held = lock.lock()) {
+            catchUp();
+            return startSnapshot();
+        }
+    }
+
+    private List<Task> resolve(List<String> ids) {
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(tasks.get(id));
+        }
+        return result;
+    }
+
+    // Espera o registro chegar ao sistema operacional (como a antiga reescrita do arquivo)
+    // e dispara um snapshot se o diário cresceu demais. Chamado com o lock obtido.
+    // Se a gravação falhou, o erro chega a quem chamou: a operação não pode ser dada como feita.
+    private void written(CompletableFuture<Void> record) {
+        try {
+            record.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Erro crítico ao salvar tarefas: " + io.getMessage(), io);
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        } finally {
+            // Com o lock, ninguém mais escreveu: o diário termina no registro que acabamos de gravar.
+            journalOffset = sizeOf(journalPath(journalGeneration));
+        }
+        long records = journal.recordCount();
+        if (records >= MIN_SNAPSHOT_RECORDS && records > tasks.size() && !snapshotter.isBusy()) {
+            startSnapshot();
+        }
+    }
+
+    // Aplica o que outros processos gravaram, se o watcher avisou de alguma mudança.
+    private void refresh() {
+        if (watcher.changed()) {
+            try (FileMutex.Held held = lock.lock()) {
+                catchUp();
+            }
+        }
+    }
+
+    /**
+     * Leitura incremental (com o lock obtido): os registros novos do diário atual, a partir da posição
+     * já lida, e depois os diários das gerações seguintes que outro processo tenha aberto ao tirar um
+     * snapshot. Se o diário atual foi apagado, refaz a carga a partir do snapshot.
+     */
+    private void catchUp() {
+        if (!Files.exists(journalPath(journalGeneration))) {
+            reload();
+            return;
+        }
+        journalOffset = journal.tail(journalOffset, replayVisitor);
+        while (Files.exists(journalPath(journalGeneration + 1))) {
+            journal.close();
+            journalGeneration++;
+            journal = openJournal(journalGeneration);
+            journal.replay(replayVisitor);
+            journalOffset = sizeOf(journalPath(journalGeneration));
         }
     }
 
+    private void reload() {
+        System.err.println("Aviso: diário de tarefas removido por outro processo; recarregando " + file + ".");
+        journal.close();
+        journal = null;
+        tasks.clear();
+        idIndex.clear();
+        queryIndex.clear();
+        searchIndex.clear();
+        loadFromFile();
+    }
+
+    /**
+     * Tira a foto (cópias: as tarefas do mapa continuam sendo alteradas no lugar), passa o diário
+     * para a próxima geração e entrega a foto ao snapshotter. Só a cópia roda na thread de quem chama.
+     */
+    private CompletableFuture<Void> startSnapshot() {
+        List<Task> image = new ArrayList<>(tasks.size());
+        for (Task task : tasks.values()) {
+            image.add(new Task(task));
+        }
+        journal.close(); // Drena o diário atual: tudo o que a foto contém já está nele.
+        journalGeneration++;
+        journal = openJournal(journalGeneration);
+        journal.replay(IGNORE); // Diário novo e vazio: apenas abre para escrita.
+        journalOffset = 0;
+
+        long generation = journalGeneration;
+        return snapshotter.submit(image, generation).whenComplete((ignored, error) -> {
+            if (error != null) {
+                // Os diários continuam no disco: nada se perde, e o próximo snapshot tenta de novo.
+                System.err.println("Erro ao gravar snapshot de tarefas: " + error.getCause().getMessage());
+                return;
+            }
+            // O snapshot que acabou de virar "anterior" ainda pode precisar dos diários a partir da geração dele.
+            long keepFrom = snapshotGeneration;
+            snapshotGeneration = generation;
+            deleteJournalsBefore(keepFrom);
+        });
+    }
+
+    private void awaitSnapshot() {
+        while (snapshotter.isBusy()) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void put(Task task) {
+        tasks.put(task.getId(), task);
+        idIndex.put(task);
+        queryIndex.put(task);
+        searchIndex.put(task);
+    }
+
+    private boolean remove(String id) {
+        if (tasks.remove(id) == null) {
+            return false;
+        }
+        idIndex.remove(id);
+        queryIndex.remove(id);
+        searchIndex.remove(id);
+        return true;
+    }
+
     /**
      * Método auxiliar para ler o arquivo JSON e converter em Objetos Java.
+     * A leitura é feita em streaming: cada tarefa vai direto para o mapa e o índice,
+     * sem montar uma lista intermediária com o arquivo inteiro.
+     * Em seguida os diários a partir da geração do snapshot são reaplicados, em ordem.
      */
-    private List<Task> loadFromFile() {
-        File file = new File(FILE_PATH);
-        if (!file.exists()) {
-            return new ArrayList<>(); // Se arquivo não existe (primeira execução), retorna lista vazia.
-        }
-
-        try (Reader reader = new FileReader(file)) {
-            // TypeToken é necessário porque Generics são apagados em tempo de execução (Type Erasure),
-            // então precisamos dizer explicitamente ao Gson que queremos uma List<Task>.
-            Type listType = new TypeToken<ArrayList<Task>>() {}.getType();
-            List<Task> loadedTasks = gson.fromJson(reader, listType);
-            return loadedTasks != null ? loadedTasks : new ArrayList<>();
+    private LoadStats loadFromFile() {
+        long start = System.nanoTime();
+        BackgroundSnapshotter.Loaded loaded;
+        try {
+            loaded = snapshotter.load(this::put);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar tarefas: " + e.getMessage(), e);
+        }
+        long bytes = loaded.stats().getBytes();
+        snapshotGeneration = loaded.generation();
+
+        List<Long> generations = journalGenerations();
+        Path legacyPatches = file.resolveSibling(file.getFileName() + LEGACY_PATCHES_SUFFIX);
+        if (generations.isEmpty() && Files.exists(legacyPatches)) {
+            // O antigo diário continha as edições feitas depois do último 'tasks.json': vira a geração atual.
+            try {
+                Files.move(legacyPatches, journalPath(loaded.generation()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao migrar o diário de tarefas: " + e.getMessage(), e);
+            }
+            generations = List.of(loaded.generation());
+        }
+        journalGeneration = loaded.generation();
+        for (long generation : generations) {
+            if (generation < loaded.generation()) {
+                continue; // Já contido no snapshot (mantido só para o snapshot anterior).
+            }
+            if (journal != null) {
+                journal.close();
+            }
+            journalGeneration = generation;
+            journal = openJournal(generation);
+            journal.replay(replayVisitor);
+            bytes += sizeOf(journalPath(generation));
+        }
+        if (journal == null) {
+            journal = openJournal(journalGeneration);
+            journal.replay(IGNORE);
+        }
+        journalOffset = sizeOf(journalPath(journalGeneration));
+
+        if (tasks.isEmpty() && bytes == 0) {
+            return LoadStats.EMPTY; // Primeira execução.
+        }
+        return new LoadStats(tasks.size(), bytes, System.nanoTime() - start);
+    }
+
+    // --- Diários por geração ---
+
+    // Reaplica registros do diário (na carga e na leitura incremental) sobre a memória.
+    private final TaskLog.Visitor replayVisitor = new TaskLog.Visitor() {
+        @Override
+        public void put(Task task) {
+            JsonTaskRepository.this.put(task);
+        }
+
+        @Override
+        public void delete(String id) {
+            remove(id);
+        }
+
+        @Override
+        public void patch(TaskPatch patch) {
+            Task task = tasks.get(patch.getId());
+            if (task != null) {
+                patch.applyTo(task);
+                JsonTaskRepository.this.put(task);
+            }
+        }
+    };
+
+    private static final TaskLog.Visitor IGNORE = new TaskLog.Visitor() {
+        @Override
+        public void put(Task task) {}
+
+        @Override
+        public void delete(String id) {}
+
+        @Override
+        public void patch(TaskPatch patch) {}
+    };
+
+    private TaskLog openJournal(long generation) {
+        // Sem fsync, como a antiga reescrita do arquivo; written() espera o registro chegar ao sistema operacional.
+        return new TaskLog(journalPath(generation), lineGson, DurabilityPolicy.buffered());
+    }
+
+    private Path journalPath(long generation) {
+        return journalPath(file, generation);
+    }
+
+    private List<Long> journalGenerations() {
+        return journalGenerations(file);
+    }
+
+    // O diário usa o mesmo formato do log append-only: sem PrettyPrinting, um registro por linha.
+    static Gson lineGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+    }
+
+    static Path journalPath(Path file, long generation) {
+        return file.resolveSibling(file.getFileName() + JOURNAL_INFIX + generation);
+    }
+
+    // Gerações dos diários existentes ao lado de 'file', em ordem crescente.
+    static List<Long> journalGenerations(Path file) {
+        String prefix = file.getFileName() + JOURNAL_INFIX;
+        Path dir = file.toAbsolutePath().getParent();
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .forEach(name -> {
+                        try {
+                            generations.add(Long.parseLong(name.substring(prefix.length())));
+                        } catch (NumberFormatException e) {
+                            // Outro arquivo com nome parecido: ignorado.
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao listar os diários de tarefas: " + e.getMessage(), e);
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private void deleteJournalsBefore(long generation) {
+        for (long old : journalGenerations()) {
+            if (old < generation) {
+                try {
+                    Files.deleteIfExists(journalPath(old));
+                } catch (IOException e) {
+                    System.err.println("Aviso: não foi possível apagar o diário " + journalPath(old) + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
         } catch (IOException e) {
-            System.err.println("Erro ao carregar tarefas: " + e.getMessage());
-            return new ArrayList<>();
+            return 0; // Apenas métrica.
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.jcoremanager.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura dos dados do JsonTaskRepository para a migração (primeira execução) dos outros backends.
+ * O 'tasks.json' sozinho não é o estado completo: as mutações feitas depois do último snapshot estão
+ * nos diários 'tasks.json.journal.N'.
+ *
+ * A leitura é só de leitura e em streaming: escolhe o snapshot como o JsonTaskRepository faria
+ * (o atual ou, se corrompido, o '.prev'), entrega cada tarefa ao destino e então reaplica os registros
+ * dos diários a partir da geração dele, um por vez. Não pega os locks, não abre os diários para escrita
+ * e não regrava nada: a migração nunca altera a base de onde lê.
+ */
+final class LegacyJsonStore {
+
+    /**
+     * Destino de uma importação em lotes (backends que guardam as tarefas fora do heap).
+     * As tarefas novas ou alteradas se acumulam em memória até 'batchSize' e então são gravadas juntas.
+     */
+    interface Target {
+        Task find(String id);         // Tarefa já gravada no destino, ou null.
+        void write(List<Task> tasks); // Insere ou substitui um lote.
+        void delete(String id);       // Remove, se existir.
+    }
+
+    private LegacyJsonStore() {}
+
+    /**
+     * Se há dados do JsonTaskRepository em 'file': o snapshot, a reserva, o antigo diário único
+     * ou algum diário com registros (uma execução sem mutações deixa só um diário vazio).
+     */
+    static boolean exists(Path file) {
+        if (Files.exists(file) || Files.exists(sibling(file, ".prev"))
+                || Files.exists(sibling(file, JsonTaskRepository.LEGACY_PATCHES_SUFFIX))) {
+            return true;
+        }
+        if (!Files.isDirectory(file.toAbsolutePath().getParent())) {
+            return false;
+        }
+        for (long generation : JsonTaskRepository.journalGenerations(file)) {
+            if (sizeOf(JsonTaskRepository.journalPath(file, generation)) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Entrega ao visitor o estado completo (snapshot + diários), na ordem em que foi gravado:
+     * primeiro um put para cada tarefa do snapshot, depois os registros dos diários.
+     * Só um registro fica em memória por vez. Retorna os bytes lidos (snapshot + diários).
+     */
+    static long load(Path file, TaskLog.Visitor target) {
+        BackgroundSnapshotter.Loaded loaded;
+        try {
+            loaded = BackgroundSnapshotter.read(file, target::put);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + file + ": " + e.getMessage(), e);
+        }
+        long bytes = loaded.stats().getBytes();
+
+        Gson gson = JsonTaskRepository.lineGson();
+        List<Path> journals = new ArrayList<>();
+        for (long generation : JsonTaskRepository.journalGenerations(file)) {
+            if (generation >= loaded.generation()) { // Os anteriores já estão contidos no snapshot.
+                journals.add(JsonTaskRepository.journalPath(file, generation));
+            }
+        }
+        if (journals.isEmpty()) {
+            journals.add(sibling(file, JsonTaskRepository.LEGACY_PATCHES_SUFFIX));
+        }
+        for (Path journal : journals) {
+            TaskLog.read(journal, gson, target);
+            bytes += sizeOf(journal);
+        }
+        return bytes;
+    }
+
+    /**
+     * Como load(file, visitor), mas para um destino fora do heap: no máximo 'batchSize' tarefas
+     * ficam em memória. Uma edição (PATCH) de uma tarefa já gravada a lê do destino, aplica e regrava.
+     */
+    static long load(Path file, int batchSize, Target target) {
+        Map<String, Task> pending = new LinkedHashMap<>();
+        long bytes = load(file, new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                pending.put(task.getId(), task);
+                if (pending.size() >= batchSize) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void delete(String id) {
+                pending.remove(id);
+                target.delete(id); // A tarefa pode já ter sido gravada em um lote anterior.
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                Task task = pending.get(patch.getId());
+                if (task == null) {
+                    task = target.find(patch.getId());
+                    if (task == null) {
+                        return; // Como no JsonTaskRepository: edição de uma tarefa que não existe mais.
+                    }
+                }
+                patch.applyTo(task);
+                put(task);
+            }
+
+            private void flush() {
+                target.write(new ArrayList<>(pending.values()));
+                pending.clear();
+            }
+        });
+        if (!pending.isEmpty()) {
+            target.write(new ArrayList<>(pending.values()));
+        }
+        return bytes;
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0; // Apenas métrica.
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jcoremanager.repository;
+
+/**
+ * Métrica da carga inicial de um Repository: quantas tarefas foram lidas,
+ * quantos bytes vieram do disco e quanto tempo levou.
+ */
+public final class LoadStats {
+
+    public static final LoadStats EMPTY = new LoadStats(0, 0, 0);
+
+    private final long tasks;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public LoadStats(long tasks, long bytes, long elapsedNanos) {
+        this.tasks = tasks;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tarefas (%d KB) carregadas em %.1f ms", tasks, bytes / 1024, getElapsedMillis());
+    }
+}
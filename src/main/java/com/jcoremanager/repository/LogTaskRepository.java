@@ -0,0 +1,305 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Implementação do Repository baseada em log de mutações (Write-Ahead Log) + snapshot.
+ * Cada save/update/delete acrescenta um único registro em 'tasks.log' (custo O(1) de I/O).
+ * Na inicialização o snapshot é carregado e o log é reaplicado por cima dele.
+ * Quando o log cresce demais, o estado atual é compactado em um novo snapshot e o log é zerado.
+ */
+public class LogTaskRepository implements TaskRepository {
+
+    private static final String SNAPSHOT_PATH = "tasks.snapshot.json";
+    private static final String LOG_PATH = "tasks.log";
+    private static final String LEGACY_PATH = "tasks.json";
+
+    // Abaixo deste número de registros não vale a pena compactar.
+    private static final long MIN_COMPACTION_RECORDS = 1_000;
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Gson gson;
+    private final TaskLog log;
+    // LinkedHashMap: busca/remoção por ID em O(1) mantendo a ordem de inserção para a listagem.
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private LoadStats loadStats = LoadStats.EMPTY;
+    private final TaskIdIndex idIndex = new TaskIdIndex(); // Índice ordenado para buscas por prefixo.
+    private final TaskQueryIndex queryIndex = new TaskQueryIndex(); // Prioridade, status e datas.
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(); // Busca textual.
+
+    public LogTaskRepository() {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), DurabilityPolicy.sync());
+    }
+
+    public LogTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), policy);
+    }
+
+    public LogTaskRepository(Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        // Sem PrettyPrinting: cada registro do log precisa caber em uma única linha.
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+        this.snapshotPath = snapshotPath;
+        this.logPath = logPath;
+        this.log = new TaskLog(logPath, gson, policy);
+
+        load();
+    }
+
+    @Override
+    public void save(Task task) {
+        // O registro é serializado agora e gravado em segundo plano pelo group commit.
+        // Quem precisa esperar a durabilidade usa flush().
+        log.commit(log.appendPut(task));
+        put(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void update(Task task) {
+        log.commit(log.appendUpdate(task)); // Só os campos alterados, se a tarefa souber quais foram.
+        put(task);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void delete(String id) {
+        if (tasks.containsKey(id)) {
+            log.commit(log.appendDelete(id));
+            remove(id);
+            compactIfNeeded();
+        }
+    }
+
+    // --- Lotes: cada lote vira um único registro BATCH no log (atômico no replay). ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        log.commit(log.appendBatch(newTasks, List.of()));
+        newTasks.forEach(this::put);
+        compactIfNeeded();
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<Task> changed = new ArrayList<>();
+        for (String id : ids) {
+            Task task = tasks.get(id);
+            if (task != null && mutation.test(task)) {
+                changed.add(task);
+            }
+        }
+        if (!changed.isEmpty()) {
+            log.commit(log.appendUpdates(changed));
+            changed.forEach(this::put); // Alteradas no lugar: só reindexa.
+            compactIfNeeded();
+        }
+        return changed.size();
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        List<String> existing = new ArrayList<>();
+        for (String id : ids) {
+            if (tasks.containsKey(id)) {
+                existing.add(id);
+            }
+        }
+        if (!existing.isEmpty()) {
+            log.commit(log.appendBatch(List.of(), existing));
+            existing.forEach(this::remove);
+            compactIfNeeded();
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return idIndex.findByPrefix(id);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return new ArrayList<>(tasks.values());
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        // O índice de IDs já é ordenado: a página sai direto dele, sem copiar nem ordenar o resto.
+        return TaskPage.of(idIndex.after(afterId, TaskPage.fetchSize(limit)), limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return resolve(queryIndex.findByStatus(priority, completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCreatedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCompletedBetween(from, to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return resolve(searchIndex.search(query, limit));
+    }
+
+    @Override
+    public int count() {
+        return tasks.size();
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return log.sync();
+    }
+
+    @Override
+    public void close() {
+        log.close(); // Drena a fila: tudo o que foi registrado chega ao disco antes de fechar.
+    }
+
+    /**
+     * Reescreve o snapshot com o estado atual e zera o log.
+     * O snapshot é gravado em um arquivo temporário e depois renomeado,
+     * de forma que uma queda no meio da escrita nunca deixa um snapshot pela metade.
+     */
+    public void compact() {
+        try {
+            // O snapshot precisa estar no disco (fsync) antes de o log ser descartado.
+            TaskJsonFiles.writeAtomically(snapshotPath, tasks.values(), gson);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+        }
+        // Os registros ainda na fila do group commit já estão refletidos no snapshot e são descartados junto.
+        log.reset();
+    }
+
+    /**
+     * Compacta quando o log passa a ter mais registros do que tarefas vivas.
+     * Assim o custo da compactação é amortizado: em média O(1) por mutação,
+     * e o log nunca fica muito maior do que o próprio dataset.
+     */
+    private void compactIfNeeded() {
+        long records = log.recordCount();
+        if (records >= MIN_COMPACTION_RECORDS && records > tasks.size()) {
+            compact();
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        long bytes = 0;
+        Path legacy = snapshotPath.resolveSibling(LEGACY_PATH);
+        // Reaplica os registros do log (e, na primeira execução, os do JsonTaskRepository) sobre a memória.
+        TaskLog.Visitor replay = new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                LogTaskRepository.this.put(task);
+            }
+
+            @Override
+            public void delete(String id) {
+                remove(id);
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                Task task = tasks.get(patch.getId());
+                if (task != null) {
+                    patch.applyTo(task);
+                    LogTaskRepository.this.put(task);
+                }
+            }
+        };
+        if (Files.exists(snapshotPath)) {
+            try {
+                bytes = TaskJsonFiles.load(snapshotPath, this::put).getBytes();
+            } catch (IOException e) {
+                // Diferente do JsonTaskRepository, não seguimos com a lista vazia:
+                // a próxima compactação sobrescreveria os dados que não conseguimos ler.
+                throw new UncheckedIOException("Erro ao carregar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        } else if (!Files.exists(logPath) && LegacyJsonStore.exists(legacy)) {
+            // Primeira execução com este backend: importa os dados do JsonTaskRepository (snapshot + diários).
+            bytes = LegacyJsonStore.load(legacy, replay);
+            // Grava o snapshot antes de o log ser criado: sem ele, a próxima execução encontraria só
+            // o log (vazio) e nem releria nem importaria de novo os dados.
+            try {
+                TaskJsonFiles.writeAtomically(snapshotPath, tasks.values(), gson);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar snapshot de tarefas: " + e.getMessage(), e);
+            }
+        }
+
+        log.replay(replay);
+
+        try {
+            bytes += Files.size(logPath);
+        } catch (IOException e) {
+            // Apenas métrica: o tamanho do log não é essencial.
+        }
+        this.loadStats = new LoadStats(tasks.size(), bytes, System.nanoTime() - start);
+    }
+
+    // Mantém o mapa principal e os índices sempre juntos.
+    private void put(Task task) {
+        tasks.put(task.getId(), task);
+        idIndex.put(task);
+        queryIndex.put(task);
+        searchIndex.put(task);
+    }
+
+    private void remove(String id) {
+        tasks.remove(id);
+        idIndex.remove(id);
+        queryIndex.remove(id);
+        searchIndex.remove(id);
+    }
+
+    private List<Task> resolve(List<String> ids) {
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(tasks.get(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package com.jcoremanager.repository;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Repository com as tarefas fora do heap, para datasets de muitos milhões de tarefas sem que as
+ * pausas do coletor de lixo cresçam com eles.
+ *
+ * Funciona como o CompactTaskRepository (mesmos arquivos de log + snapshot, mesmas consultas e
+ * mesmas vistas montadas sob demanda), mas as colunas e os textos ficam em memória nativa no
+ * OffHeapTaskStore: o heap guarda só os índices por ID, em arrays de int. Os filtros de prioridade
+ * e status varrem a coluna de flags 8 tarefas por vez.
+ *
+ * A memória nativa é limitada por -XX:MaxDirectMemorySize (padrão: o tamanho máximo do heap).
+ */
+public class OffHeapTaskRepository extends CompactTaskRepository {
+
+    public OffHeapTaskRepository() {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), DurabilityPolicy.sync());
+    }
+
+    public OffHeapTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(SNAPSHOT_PATH), Paths.get(LOG_PATH), policy);
+    }
+
+    public OffHeapTaskRepository(Path snapshotPath, Path logPath, DurabilityPolicy policy) {
+        super(new OffHeapTaskStore(), snapshotPath, logPath, policy);
+    }
+}
@@ -0,0 +1,428 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.UuidCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Armazenamento em colunas fora do heap: as mesmas colunas do CompactTaskStore, mas em ByteBuffers
+ * diretos (memória nativa), e os textos em uma "arena" de bytes UTF-8, também direta:
+ *
+ * <pre>
+ * msb, lsb       long  ID (UUID)
+ * created, done  long  datas em nanossegundos desde a época (UTC); NO_DATE = ausente
+ * title, desc    int   posição do texto na arena (-1 = null); cada texto é [tamanho int][bytes UTF-8]
+ * flags          byte  prioridade + concluída + ocupado (mesma codificação do CompactTaskStore)
+ * </pre>
+ *
+ * O coletor de lixo não percorre memória nativa: com milhões de tarefas, o heap guarda só alguns
+ * ByteBuffers e os arrays de int do SlotIdIndex (que não têm referências a seguir), então as pausas
+ * não crescem com o dataset. A memória nativa é limitada por -XX:MaxDirectMemorySize (padrão: o
+ * tamanho máximo do heap).
+ *
+ * Slots removidos voltam (pelo SlotIdIndex) para uma lista livre encadeada dentro da própria coluna
+ * 'created' de cada slot livre, sem arrays extras. Textos substituídos viram lixo na arena, que é
+ * recompactada quando o lixo passa da metade.
+ *
+ * Não é seguro para várias threads (o CompactTaskRepository é usado por uma thread de cada vez).
+ */
+final class OffHeapTaskStore implements ColumnarTaskStore, SlotIdIndex.Slots {
+
+    private static final int NO_TEXT = -1;
+    private static final int NO_SLOT = -1;
+    private static final int MIN_ARENA_GARBAGE = 1 << 20; // Abaixo disso, não vale a pena recompactar.
+
+    // Oito flags por leitura de long: o byte do slot i fica nos bits 8*(i % 8) (ordem little-endian).
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    private final SlotIdIndex index = new SlotIdIndex(this, this::pushFree);
+
+    // --- Colunas (memória nativa) ---
+    private ByteBuffer msb;
+    private ByteBuffer lsb;
+    private ByteBuffer created;
+    private ByteBuffer done;
+    private ByteBuffer title;
+    private ByteBuffer description;
+    private ByteBuffer flags;
+    private int capacity; // Em slots; sempre múltiplo de 8 (a varredura lê os flags de 8 em 8).
+    private int highWater; // Slots em [0, highWater) já foram usados alguma vez.
+    private int freeHead = NO_SLOT; // Primeiro slot livre; o seguinte fica na coluna 'created' dele.
+
+    // --- Arena de textos (memória nativa) ---
+    private ByteBuffer arena;
+    private int arenaEnd;
+    private long arenaGarbage;
+
+    OffHeapTaskStore() {
+        this(1_024);
+    }
+
+    OffHeapTaskStore(int initialCapacity) {
+        resizeColumns(Math.max(16, initialCapacity));
+        arena = allocateDirect(64 * capacity);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        index.beginBulkLoad();
+    }
+
+    @Override
+    public void endBulkLoad() {
+        index.endBulkLoad(highWater);
+        compactArenaIfNeeded();
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return index.slotOf(id) >= 0;
+    }
+
+    @Override
+    public Task get(String id) {
+        int slot = index.slotOf(id);
+        return slot < 0 ? null : view(slot);
+    }
+
+    @Override
+    public void put(Task task) {
+        UUID uuid = UuidCodec.parse(task.getId());
+        long hi = uuid.getMostSignificantBits();
+        long lo = uuid.getLeastSignificantBits();
+        long createdNanos = CompactTaskStore.toNanos(task.getCreationDate());
+        long doneNanos = CompactTaskStore.toNanos(task.getCompletionDate());
+        byte[] titleBytes = encode(task.getTitle());
+        byte[] descriptionBytes = encode(task.getDescription());
+
+        int slot = index.slotOf(hi, lo);
+        boolean isNew = slot < 0;
+        if (isNew) {
+            slot = allocate();
+            msb.putLong(slot * Long.BYTES, hi);
+            lsb.putLong(slot * Long.BYTES, lo);
+        } else {
+            discardText(title.getInt(slot * Integer.BYTES));
+            discardText(description.getInt(slot * Integer.BYTES));
+            title.putInt(slot * Integer.BYTES, NO_TEXT); // Textos descartados não são copiados se a arena for recompactada.
+            description.putInt(slot * Integer.BYTES, NO_TEXT);
+        }
+        // Reserva o espaço dos dois textos antes de gravar: uma recompactação entre eles perderia o primeiro.
+        reserveArena(textSize(titleBytes) + textSize(descriptionBytes));
+        created.putLong(slot * Long.BYTES, createdNanos);
+        done.putLong(slot * Long.BYTES, doneNanos);
+        title.putInt(slot * Integer.BYTES, appendText(titleBytes));
+        description.putInt(slot * Integer.BYTES, appendText(descriptionBytes));
+        flags.put(slot, CompactTaskStore.packFlags(task));
+
+        // Só depois de o slot estar marcado como ocupado: a intercalação do índice descarta slots livres.
+        if (isNew) {
+            index.add(slot);
+        }
+        compactArenaIfNeeded();
+    }
+
+    @Override
+    public boolean remove(String id) {
+        int slot = index.slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        discardText(title.getInt(slot * Integer.BYTES));
+        discardText(description.getInt(slot * Integer.BYTES));
+        title.putInt(slot * Integer.BYTES, NO_TEXT);
+        description.putInt(slot * Integer.BYTES, NO_TEXT);
+        flags.put(slot, (byte) 0); // O ID continua nas colunas até o índice devolver o slot (pushFree).
+        index.remove(slot);
+        return true;
+    }
+
+    @Override
+    public List<Task> findByPrefix(String prefix, int max) {
+        return views(index.withPrefix(prefix, max));
+    }
+
+    @Override
+    public List<Task> after(String afterId, int limit) {
+        return views(index.after(afterId, limit));
+    }
+
+    /**
+     * Varre a coluna de flags 8 slots por vez (SWAR, "SIMD dentro de um registrador"): cada long lido
+     * traz 8 flags, e poucas operações aritméticas dizem quais deles atendem ao filtro. Como a maioria
+     * das palavras não tem nenhum slot selecionado, o laço quase nunca olha byte a byte.
+     */
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        long wantedMask = CompactTaskStore.statusMask(priority, completed) * ONES;
+        long wanted = CompactTaskStore.statusValue(priority, completed) * ONES;
+        List<Task> result = new ArrayList<>();
+        int words = (highWater + 7) >>> 3;
+        for (int word = 0; word < words; word++) {
+            long matches = zeroBytes((flags.getLong(word * Long.BYTES) & wantedMask) ^ wanted);
+            while (matches != 0) {
+                int slot = (word << 3) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                result.add(view(slot));
+                matches &= matches - 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(created, from, to);
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(done, from, to);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < highWater;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = view(slot);
+                slot = advance(slot + 1);
+                return task;
+            }
+
+            private int advance(int from) {
+                while (from < highWater && !isLive(from)) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    // --- Colunas vistas pelo SlotIdIndex ---
+
+    @Override
+    public long msb(int slot) {
+        return msb.getLong(slot * Long.BYTES);
+    }
+
+    @Override
+    public long lsb(int slot) {
+        return lsb.getLong(slot * Long.BYTES);
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return (flags.get(slot) & CompactTaskStore.LIVE) != 0;
+    }
+
+    // Bit alto de cada byte nulo de 'x' ligado; os demais bits desligados.
+    private static long zeroBytes(long x) {
+        return ~(((x & LOW7) + LOW7) | x | LOW7);
+    }
+
+    private List<Task> findBetween(ByteBuffer column, LocalDateTime from, LocalDateTime to) {
+        long low = CompactTaskStore.clampToNanos(from);
+        long high = CompactTaskStore.clampToNanos(to);
+        int[] matches = new int[16];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            long value = column.getLong(slot * Long.BYTES);
+            // Slots livres guardam o encadeamento da lista livre em 'created': a marca de ocupado decide.
+            if (value >= low && value < high && value != CompactTaskStore.NO_DATE && isLive(slot)) {
+                if (n == matches.length) {
+                    matches = Arrays.copyOf(matches, n * 2);
+                }
+                matches[n++] = slot;
+            }
+        }
+        SlotIdIndex.sort(matches, n, (a, b) -> {
+            int cmp = Long.compare(column.getLong(a * Long.BYTES), column.getLong(b * Long.BYTES));
+            return cmp != 0 ? cmp : index.compareIds(a, b);
+        });
+        return views(Arrays.copyOf(matches, n));
+    }
+
+    private List<Task> views(int[] slots) {
+        List<Task> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(view(slot));
+        }
+        return result;
+    }
+
+    private Task view(int slot) {
+        int bits = flags.get(slot);
+        return new Task(UuidCodec.format(msb(slot), lsb(slot)),
+                readText(title.getInt(slot * Integer.BYTES)),
+                readText(description.getInt(slot * Integer.BYTES)),
+                CompactTaskStore.priorityOf(bits),
+                (bits & CompactTaskStore.COMPLETED) != 0,
+                CompactTaskStore.fromNanos(created.getLong(slot * Long.BYTES)),
+                CompactTaskStore.fromNanos(done.getLong(slot * Long.BYTES)));
+    }
+
+    // --- Slots livres e crescimento das colunas ---
+
+    private int allocate() {
+        if (freeHead != NO_SLOT) {
+            int slot = freeHead;
+            freeHead = (int) created.getLong(slot * Long.BYTES);
+            return slot;
+        }
+        if (highWater == capacity) {
+            resizeColumns(capacity * 2);
+        }
+        return highWater++;
+    }
+
+    private void pushFree(int slot) {
+        created.putLong(slot * Long.BYTES, freeHead);
+        freeHead = slot;
+    }
+
+    private void resizeColumns(int slots) {
+        int newCapacity = (slots + 7) & ~7;
+        if ((long) newCapacity * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Capacidade máxima do armazenamento fora do heap atingida: " + capacity + " tarefas.");
+        }
+        msb = grow(msb, newCapacity * Long.BYTES);
+        lsb = grow(lsb, newCapacity * Long.BYTES);
+        created = grow(created, newCapacity * Long.BYTES);
+        done = grow(done, newCapacity * Long.BYTES);
+        title = grow(title, newCapacity * Integer.BYTES);
+        description = grow(description, newCapacity * Integer.BYTES);
+        flags = grow(flags, newCapacity); // Bytes novos valem zero: slots livres, que a varredura ignora.
+        capacity = newCapacity;
+    }
+
+    // Buffer direto maior com o conteúdo do antigo; a memória nativa do antigo é liberada quando ele é coletado.
+    private static ByteBuffer grow(ByteBuffer old, int bytes) {
+        ByteBuffer grown = allocateDirect(bytes);
+        if (old != null) {
+            grown.put(0, old, 0, old.capacity());
+        }
+        return grown;
+    }
+
+    private static ByteBuffer allocateDirect(int bytes) {
+        // Ordem fixa little-endian (a nativa em x86 e ARM): a varredura SWAR depende da posição de cada flag no long.
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // --- Arena de textos ---
+
+    private static byte[] encode(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long textSize(byte[] bytes) {
+        return bytes == null ? 0 : Integer.BYTES + bytes.length;
+    }
+
+    private void reserveArena(long needed) {
+        if (arenaEnd + needed > arena.capacity()) {
+            growArena(needed);
+        }
+    }
+
+    // Grava o texto no fim da arena; o espaço já foi reservado.
+    private int appendText(byte[] bytes) {
+        if (bytes == null) {
+            return NO_TEXT;
+        }
+        int offset = arenaEnd;
+        arena.putInt(offset, bytes.length);
+        arena.put(offset + Integer.BYTES, bytes);
+        arenaEnd += Integer.BYTES + bytes.length;
+        return offset;
+    }
+
+    private String readText(int offset) {
+        if (offset == NO_TEXT) {
+            return null;
+        }
+        byte[] bytes = new byte[arena.getInt(offset)];
+        arena.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void discardText(int offset) {
+        if (offset != NO_TEXT) {
+            arenaGarbage += Integer.BYTES + arena.getInt(offset);
+        }
+    }
+
+    private void growArena(long needed) {
+        long live = (long) arenaEnd - arenaGarbage;
+        // Com muito lixo, recompactar já libera o espaço; senão, dobra.
+        long size = Math.max((long) arena.capacity() * 2, live + needed);
+        if (arenaGarbage * 2 > arenaEnd) {
+            size = Math.max(live * 2, live + needed);
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            size = Integer.MAX_VALUE - 8;
+            if (live + needed > size) {
+                throw new IllegalStateException("Arena de textos fora do heap cheia (2 GB).");
+            }
+        }
+        rebuildArena((int) size);
+    }
+
+    private void compactArenaIfNeeded() {
+        if (arenaGarbage > MIN_ARENA_GARBAGE && arenaGarbage * 2 > arenaEnd) {
+            rebuildArena((int) Math.min(Integer.MAX_VALUE - 8, Math.max(arena.capacity() / 2, (arenaEnd - arenaGarbage) * 2)));
+        }
+    }
+
+    // Copia só os textos ainda referenciados para uma arena nova, atualizando as posições nas colunas.
+    private void rebuildArena(int size) {
+        ByteBuffer old = arena;
+        arena = allocateDirect(size);
+        arenaEnd = 0;
+        arenaGarbage = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (isLive(slot)) {
+                title.putInt(slot * Integer.BYTES, moveText(old, title.getInt(slot * Integer.BYTES)));
+                description.putInt(slot * Integer.BYTES, moveText(old, description.getInt(slot * Integer.BYTES)));
+            }
+        }
+    }
+
+    private int moveText(ByteBuffer from, int offset) {
+        if (offset == NO_TEXT) {
+            return NO_TEXT;
+        }
+        int length = Integer.BYTES + from.getInt(offset);
+        int target = arenaEnd;
+        arena.put(target, from, offset, length);
+        arenaEnd += length;
+        return target;
+    }
+}
@@ -0,0 +1,514 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.LocalDateTimeAdapter;
+import com.jcoremanager.util.PriorityTypeAdapter;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Repository particionado: as tarefas são divididas entre N shards pelo hash do ID, e cada shard
+ * tem os próprios arquivos (snapshot 'shard-i.json' + log 'shard-i.log' no diretório 'tasks.shards'),
+ * o próprio lock e o próprio group commit.
+ *
+ * - Mutações em shards diferentes não disputam lock nem escritor: cada shard grava (e faz fsync)
+ *   em paralelo, e a compactação de um shard só bloqueia as mutações daquele shard.
+ * - Na inicialização, os shards são lidos em paralelo no ForkJoinPool comum.
+ * - Em memória, como no ConcurrentTaskRepository: leituras sem lock e cópias das tarefas
+ *   (as tarefas guardadas nunca são alteradas no lugar).
+ *
+ * O número de shards é definido por 'jcore.shards' (padrão: número de processadores) na primeira
+ * execução e fica gravado no diretório; depois disso, é o do diretório que vale.
+ * Um lote que envolve vários shards vira um registro BATCH em cada um: após uma queda,
+ * ele é atômico dentro de cada shard, mas não entre shards.
+ */
+public class ShardedTaskRepository implements TaskRepository {
+
+    public static final String SHARDS_PROPERTY = "jcore.shards";
+
+    private static final String DIRECTORY = "tasks.shards";
+    private static final String MANIFEST = "shards";
+    private static final String LEGACY_PATH = "tasks.json";
+    private static final long MIN_COMPACTION_RECORDS = 1_000;
+
+    // Um shard: seus arquivos, seu lock e as tarefas cujo ID cai nele.
+    private final class Shard {
+        final Path snapshotPath;
+        final TaskLog log;
+        final Map<String, Task> tasks = new ConcurrentHashMap<>();
+        final ReentrantLock lock = new ReentrantLock();
+
+        // Reaplica registros (do log do shard ou, na primeira execução, do JsonTaskRepository) sobre a memória.
+        final TaskLog.Visitor replay = new TaskLog.Visitor() {
+            @Override
+            public void put(Task task) {
+                Shard.this.put(task);
+            }
+
+            @Override
+            public void delete(String id) {
+                remove(id);
+            }
+
+            @Override
+            public void patch(TaskPatch patch) {
+                Task current = tasks.get(patch.getId());
+                if (current != null) {
+                    Task changed = new Task(current);
+                    patch.applyTo(changed);
+                    Shard.this.put(changed);
+                }
+            }
+        };
+
+        Shard(Path directory, int index, DurabilityPolicy policy) {
+            this.snapshotPath = directory.resolve("shard-" + index + ".json");
+            this.log = new TaskLog(directory.resolve("shard-" + index + ".log"), gson, policy);
+        }
+
+        // Snapshot + replay do log; roda em paralelo com os outros shards.
+        long load() {
+            long bytes = 0;
+            if (Files.exists(snapshotPath)) {
+                try {
+                    bytes = TaskJsonFiles.load(snapshotPath, this::put).getBytes();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Erro ao carregar " + snapshotPath + ": " + e.getMessage(), e);
+                }
+            }
+            log.replay(replay);
+            return bytes;
+        }
+
+        void put(Task task) {
+            tasks.put(task.getId(), task);
+            idIndex.put(task);
+            queryIndex.put(task);
+            searchIndex.put(task);
+        }
+
+        void remove(String id) {
+            tasks.remove(id);
+            idIndex.remove(id);
+            queryIndex.remove(id);
+            searchIndex.remove(id);
+        }
+
+        // Chamado com o lock do shard: grava o snapshot do shard e zera o log dele.
+        void compactIfNeeded() {
+            long records = log.recordCount();
+            if (records >= MIN_COMPACTION_RECORDS && records > tasks.size()) {
+                writeSnapshot();
+            }
+        }
+
+        void writeSnapshot() {
+            try {
+                TaskJsonFiles.writeAtomically(snapshotPath, tasks.values(), gson);
+                log.reset();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar " + snapshotPath + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private final Gson gson;
+    private final Shard[] shards;
+    private final TaskIdIndex idIndex = new TaskIdIndex(new ConcurrentSkipListMap<>());
+    private final TaskQueryIndex queryIndex = TaskQueryIndex.concurrent();
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(); // Já é seguro para várias threads.
+    private final LoadStats loadStats;
+
+    public ShardedTaskRepository(DurabilityPolicy policy) {
+        this(Paths.get(DIRECTORY), Integer.getInteger(SHARDS_PROPERTY, Runtime.getRuntime().availableProcessors()), policy);
+    }
+
+    public ShardedTaskRepository(Path directory, int requestedShards, DurabilityPolicy policy) {
+        if (requestedShards <= 0) {
+            throw new IllegalArgumentException("O número de shards deve ser maior que zero: " + requestedShards);
+        }
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .create();
+
+        long start = System.nanoTime();
+        Path manifest = directory.resolve(MANIFEST);
+        boolean firstRun = !Files.exists(manifest);
+        int count;
+        try {
+            if (firstRun) {
+                count = requestedShards;
+                Files.createDirectories(directory);
+            } else {
+                count = Integer.parseInt(Files.readString(manifest, StandardCharsets.UTF_8).trim());
+                if (count != requestedShards && System.getProperty(SHARDS_PROPERTY) != null) {
+                    System.err.println("Aviso: " + directory + " já está dividido em " + count + " shards; "
+                            + SHARDS_PROPERTY + "=" + requestedShards + " ignorado.");
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Diretório de shards inválido: " + directory, e);
+        }
+
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(directory, i, policy);
+        }
+        long bytes = sum(Shard::load);
+
+        if (firstRun) {
+            // Primeira execução com este backend: distribui os dados do JsonTaskRepository
+            // (snapshot + diários) entre os shards.
+            Path legacy = directory.toAbsolutePath().resolveSibling(LEGACY_PATH);
+            if (LegacyJsonStore.exists(legacy)) {
+                bytes += LegacyJsonStore.load(legacy, new TaskLog.Visitor() {
+                    @Override
+                    public void put(Task task) {
+                        shardOf(task.getId()).replay.put(task);
+                    }
+
+                    @Override
+                    public void delete(String id) {
+                        shardOf(id).replay.delete(id);
+                    }
+
+                    @Override
+                    public void patch(TaskPatch patch) {
+                        shardOf(patch.getId()).replay.patch(patch);
+                    }
+                });
+                forEachShard(Shard::writeSnapshot);
+            }
+            // O manifesto por último: sem ele, a próxima execução refaz a importação do zero.
+            try {
+                Files.writeString(manifest, count + "\n", StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar " + manifest + ": " + e.getMessage(), e);
+            }
+        }
+        this.loadStats = new LoadStats(count(), bytes, System.nanoTime() - start);
+    }
+
+    @Override
+    public void save(Task task) {
+        Task stored = new Task(task); // Cópia: quem chamou continua dono do objeto original.
+        Shard shard = shardOf(stored.getId());
+        write(shard, () -> {
+            shard.log.commit(shard.log.appendPut(stored));
+            shard.put(stored);
+        });
+    }
+
+    @Override
+    public void update(Task task) {
+        save(task);
+    }
+
+    @Override
+    public void delete(String id) {
+        Shard shard = shardOf(id);
+        write(shard, () -> {
+            if (shard.tasks.containsKey(id)) {
+                shard.log.commit(shard.log.appendDelete(id));
+                shard.remove(id);
+            }
+        });
+    }
+
+    // Ler-modificar-gravar atômico sob o lock do shard, sobre uma cópia (como no ConcurrentTaskRepository).
+    @Override
+    public Optional<Task> modify(String id, Predicate<Task> mutation) {
+        Shard shard = shardOf(id);
+        Task[] result = new Task[1];
+        write(shard, () -> {
+            Task current = shard.tasks.get(id);
+            if (current == null) {
+                return;
+            }
+            Task changed = new Task(current);
+            if (mutation.test(changed)) {
+                shard.log.commit(shard.log.appendUpdate(changed));
+                shard.put(changed);
+            }
+            result[0] = new Task(changed);
+        });
+        return Optional.ofNullable(result[0]);
+    }
+
+    // --- Lotes: divididos por shard; cada parte é um registro BATCH gravado sob o lock do seu shard. ---
+
+    @Override
+    public void saveAll(Collection<Task> newTasks) {
+        List<List<Task>> parts = split(newTasks, Task::getId);
+        for (int i = 0; i < shards.length; i++) {
+            List<Task> part = parts.get(i);
+            if (part.isEmpty()) {
+                continue;
+            }
+            Shard shard = shards[i];
+            List<Task> stored = new ArrayList<>(part.size());
+            part.forEach(task -> stored.add(new Task(task)));
+            write(shard, () -> {
+                shard.log.commit(shard.log.appendBatch(stored, List.of()));
+                stored.forEach(shard::put);
+            });
+        }
+    }
+
+    @Override
+    public int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        List<List<String>> parts = split(ids, Function.identity());
+        int changedCount = 0;
+        for (int i = 0; i < shards.length; i++) {
+            List<String> part = parts.get(i);
+            if (part.isEmpty()) {
+                continue;
+            }
+            Shard shard = shards[i];
+            List<Task> changed = new ArrayList<>();
+            write(shard, () -> {
+                for (String id : part) {
+                    Task current = shard.tasks.get(id);
+                    if (current != null) {
+                        Task copy = new Task(current);
+                        if (mutation.test(copy)) {
+                            changed.add(copy);
+                        }
+                    }
+                }
+                if (!changed.isEmpty()) {
+                    shard.log.commit(shard.log.appendUpdates(changed));
+                    changed.forEach(shard::put);
+                }
+            });
+            changedCount += changed.size();
+        }
+        return changedCount;
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> ids) {
+        List<List<String>> parts = split(ids, Function.identity());
+        List<String> removed = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            List<String> part = parts.get(i);
+            if (part.isEmpty()) {
+                continue;
+            }
+            Shard shard = shards[i];
+            List<String> existing = new ArrayList<>();
+            write(shard, () -> {
+                for (String id : part) {
+                    if (shard.tasks.containsKey(id)) {
+                        existing.add(id);
+                    }
+                }
+                if (!existing.isEmpty()) {
+                    shard.log.commit(shard.log.appendBatch(List.of(), existing));
+                    existing.forEach(shard::remove);
+                }
+            });
+            removed.addAll(existing);
+        }
+        return removed;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Task exact = shardOf(id).tasks.get(id);
+        if (exact != null) {
+            return Optional.of(new Task(exact));
+        }
+        return idIndex.findByPrefix(id).map(Task::new);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> result = new ArrayList<>(count());
+        for (Shard shard : shards) {
+            for (Task task : shard.tasks.values()) {
+                result.add(new Task(task));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TaskPage findPage(String afterId, int limit) {
+        List<Task> fetched = idIndex.after(afterId, TaskPage.fetchSize(limit));
+        fetched.replaceAll(Task::new);
+        return TaskPage.of(fetched, limit);
+    }
+
+    @Override
+    public List<Task> findByStatus(Priority priority, Boolean completed) {
+        return resolve(queryIndex.findByStatus(priority, completed),
+                t -> (priority == null || t.getPriority() == priority)
+                        && (completed == null || t.isCompleted() == completed));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCreatedBetween(from, to),
+                t -> t.getCreationDate() != null && !t.getCreationDate().isBefore(from) && t.getCreationDate().isBefore(to));
+    }
+
+    @Override
+    public List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return resolve(queryIndex.findCompletedBetween(from, to),
+                t -> t.getCompletionDate() != null && !t.getCompletionDate().isBefore(from) && t.getCompletionDate().isBefore(to));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return resolve(searchIndex.search(query, limit), t -> true);
+    }
+
+    @Override
+    public int count() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.tasks.size();
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public LoadStats loadStats() {
+        return loadStats;
+    }
+
+    // Completa quando todos os shards tiverem gravado o que receberam até agora.
+    @Override
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<?>[] syncs = new CompletableFuture<?>[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            syncs[i] = shards[i].log.sync();
+        }
+        return CompletableFuture.allOf(syncs);
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.log.close();
+        }
+    }
+
+    // Compacta todos os shards (cada um sob o seu lock, em paralelo).
+    public void compact() {
+        forEachShard(shard -> {
+            shard.lock.lock();
+            try {
+                shard.writeSnapshot();
+            } finally {
+                shard.lock.unlock();
+            }
+        });
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    private void write(Shard shard, Runnable mutation) {
+        shard.lock.lock();
+        try {
+            // O registro entra no log sob o lock do shard: para um mesmo ID,
+            // a ordem no log é a mesma ordem em que as alterações foram aplicadas.
+            mutation.run();
+            shard.compactIfNeeded();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Shard shardOf(String id) {
+        return shards[(id.hashCode() & 0x7fffffff) % shards.length];
+    }
+
+    private <T> List<List<T>> split(Collection<T> items, Function<T, String> idOf) {
+        List<List<T>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            String id = idOf.apply(item);
+            parts.get((id.hashCode() & 0x7fffffff) % shards.length).add(item);
+        }
+        return parts;
+    }
+
+    /**
+     * Executa a ação em todos os shards em paralelo (ForkJoinPool comum) e soma os resultados.
+     * Um erro em qualquer shard é relançado na thread de quem chamou.
+     */
+    private long sum(ToLongFunction<Shard> action) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> action.applyAsLong(shard), ForkJoinPool.commonPool()));
+        }
+        long total = 0;
+        try {
+            for (CompletableFuture<Long> future : futures) {
+                total += future.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return total;
+    }
+
+    private void forEachShard(Consumer<Shard> action) {
+        sum(shard -> {
+            action.accept(shard);
+            return 0;
+        });
+    }
+
+    private List<Task> resolve(List<String> ids, Predicate<Task> stillMatches) {
+        List<Task> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = shardOf(id).tasks.get(id);
+            if (task != null && stillMatches.test(task)) {
+                result.add(new Task(task));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,387 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.util.UuidCodec;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Índices por ID dos armazenamentos em colunas (CompactTaskStore e OffHeapTaskStore), onde cada
+ * tarefa ocupa uma posição ("slot") e o ID fica nas colunas como dois longs. Tudo em arrays de int,
+ * sem um objeto por tarefa:
+ *
+ * - tabela hash (endereçamento aberto, remoção por "backward shift") de ID para slot;
+ * - slots ordenados por ID para prefixo e paginação: um array principal grande e um array "recente"
+ *   pequeno que recebe as inserções e é intercalado no principal quando enche.
+ *
+ * Um slot removido continua citado nos arrays ordenados (marcado como livre pelo dono) até a próxima
+ * intercalação; só então é devolvido ao dono (onRelease) para ser reaproveitado. Por isso o dono
+ * não pode alterar o ID de um slot antes de recebê-lo de volta.
+ */
+final class SlotIdIndex {
+
+    /**
+     * Acesso do índice às colunas do dono.
+     */
+    interface Slots {
+        long msb(int slot);
+
+        long lsb(int slot);
+
+        boolean isLive(int slot);
+    }
+
+    interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    // O array recente cresce até 1/64 do principal (entre estes limites) antes da intercalação.
+    private static final int MIN_RECENT = 1_024;
+    private static final int MAX_RECENT = 65_536;
+
+    private final Slots slots;
+    private final IntConsumer onRelease;
+
+    private int[] table = new int[64]; // slot + 1; 0 = vazio.
+    private int mask = table.length - 1;
+    private int size;
+
+    private int[] sorted = new int[0];
+    private int sortedSize;
+    private int[] recent = new int[MIN_RECENT];
+    private int recentSize;
+    private int[] pending = new int[16]; // Removidos desde a última intercalação.
+    private int pendingCount;
+    private boolean bulkLoading;
+
+    SlotIdIndex(Slots slots, IntConsumer onRelease) {
+        this.slots = slots;
+        this.onRelease = onRelease;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Carga em massa: os arrays ordenados não são mantidos a cada inserção (e os slots removidos voltam
+     * na hora para o dono); endBulkLoad() ordena de uma só vez os slots vivos em [0, highWater).
+     */
+    void beginBulkLoad() {
+        bulkLoading = true;
+    }
+
+    void endBulkLoad(int highWater) {
+        bulkLoading = false;
+        int[] live = new int[size];
+        int n = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (slots.isLive(slot)) {
+                live[n++] = slot;
+            }
+        }
+        sort(live, n, this::compareIds);
+        sorted = live;
+        sortedSize = n;
+        recentSize = 0;
+        releasePending();
+    }
+
+    // Slot do ID exato (texto), ou -1.
+    int slotOf(String id) {
+        long[] range = UuidCodec.prefixRange(id);
+        if (range == null || id.length() != 36) {
+            return -1;
+        }
+        return slotOf(range[0], range[1]);
+    }
+
+    int slotOf(long hi, long lo) {
+        int i = hash(hi, lo) & mask;
+        while (table[i] != 0) {
+            int slot = table[i] - 1;
+            if (slots.msb(slot) == hi && slots.lsb(slot) == lo) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Registra um slot novo; o ID e a marca de ocupado já precisam estar nas colunas.
+    void add(int slot) {
+        if ((size + 1) * 10L > table.length * 7L) {
+            rehash(table.length * 2);
+        }
+        int i = hash(slots.msb(slot), slots.lsb(slot)) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+        size++;
+        if (!bulkLoading) {
+            insertIntoRecent(slot);
+        }
+    }
+
+    // Retira o slot; o dono já o marcou como livre, mas mantém o ID até recebê-lo de volta em onRelease.
+    void remove(int slot) {
+        removeFromTable(slot);
+        size--;
+        if (bulkLoading) {
+            onRelease.accept(slot);
+            return;
+        }
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = slot;
+        if (pendingCount >= recentLimit()) {
+            merge();
+        }
+    }
+
+    /**
+     * Até 'max' slots cujo ID começa com o prefixo, em ordem de ID.
+     */
+    int[] withPrefix(String prefix, int max) {
+        long[] range = UuidCodec.prefixRange(prefix);
+        if (range == null) {
+            return new int[0];
+        }
+        int[] result = new int[Math.min(max, 16)];
+        int n = 0;
+        Cursor cursor = new Cursor(range[0], range[1], true);
+        while (n < max && cursor.hasNext()) {
+            int slot = cursor.next();
+            if (UuidCodec.compare(slots.msb(slot), slots.lsb(slot), range[2], range[3]) > 0) {
+                break;
+            }
+            if (n == result.length) {
+                result = Arrays.copyOf(result, Math.min(max, n * 2));
+            }
+            result[n++] = slot;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Até 'limit' slots com ID maior que 'afterId' (null = desde o início), em ordem de ID.
+     */
+    int[] after(String afterId, int limit) {
+        Cursor cursor;
+        if (afterId == null) {
+            cursor = new Cursor(0, 0, true); // (0, 0) é o menor ID possível.
+        } else {
+            long[] range = UuidCodec.prefixRange(afterId);
+            if (range == null) {
+                throw new IllegalArgumentException("Cursor de paginação inválido: " + afterId);
+            }
+            // Para um ID incompleto, todos os IDs que começam com ele já são maiores que ele.
+            cursor = new Cursor(range[0], range[1], afterId.length() != 36);
+        }
+        int[] result = new int[Math.min(limit, 64)];
+        int n = 0;
+        while (n < limit && cursor.hasNext()) {
+            if (n == result.length) {
+                result = Arrays.copyOf(result, Math.min(limit, n * 2));
+            }
+            result[n++] = cursor.next();
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // Percorre os slots vivos em ordem de ID, a partir do primeiro ID >= (inclusive) ou > (exclusive) a chave.
+    private final class Cursor {
+        private int a;
+        private int b;
+        private int nextSlot = -1;
+
+        private Cursor(long hi, long lo, boolean inclusive) {
+            a = bound(sorted, sortedSize, hi, lo, inclusive);
+            b = bound(recent, recentSize, hi, lo, inclusive);
+        }
+
+        boolean hasNext() {
+            while (nextSlot < 0 && (a < sortedSize || b < recentSize)) {
+                int slot;
+                if (b >= recentSize || (a < sortedSize && compareIds(sorted[a], recent[b]) <= 0)) {
+                    slot = sorted[a++];
+                } else {
+                    slot = recent[b++];
+                }
+                if (slots.isLive(slot)) {
+                    nextSlot = slot;
+                }
+            }
+            return nextSlot >= 0;
+        }
+
+        int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = nextSlot;
+            nextSlot = -1;
+            return slot;
+        }
+    }
+
+    int compareIds(int a, int b) {
+        return UuidCodec.compare(slots.msb(a), slots.lsb(a), slots.msb(b), slots.lsb(b));
+    }
+
+    // --- Tabela hash ---
+
+    private void removeFromTable(int slot) {
+        int i = hash(slots.msb(slot), slots.lsb(slot)) & mask;
+        while (table[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        int hole = i;
+        while (true) {
+            i = (i + 1) & mask;
+            if (table[i] == 0) {
+                break;
+            }
+            int other = table[i] - 1;
+            int home = hash(slots.msb(other), slots.lsb(other)) & mask;
+            // Move a entrada para o buraco se ela não estiver entre a posição ideal e o buraco.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int i = hash(slots.msb(entry - 1), slots.lsb(entry - 1)) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+            }
+        }
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = (hi ^ lo) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // --- Arrays ordenados ---
+
+    private void insertIntoRecent(int slot) {
+        if (recentSize == recent.length) {
+            recent = Arrays.copyOf(recent, recentSize * 2);
+        }
+        int position = bound(recent, recentSize, slots.msb(slot), slots.lsb(slot), false);
+        System.arraycopy(recent, position, recent, position + 1, recentSize - position);
+        recent[position] = slot;
+        recentSize++;
+        if (recentSize >= recentLimit()) {
+            merge();
+        }
+    }
+
+    private int recentLimit() {
+        return Math.min(MAX_RECENT, Math.max(MIN_RECENT, sortedSize >>> 6));
+    }
+
+    // Intercala o recente no principal descartando os slots removidos, que então voltam ao dono.
+    private void merge() {
+        int[] merged = new int[size];
+        int n = 0;
+        int a = 0;
+        int b = 0;
+        while (a < sortedSize || b < recentSize) {
+            int slot;
+            if (b >= recentSize || (a < sortedSize && compareIds(sorted[a], recent[b]) <= 0)) {
+                slot = sorted[a++];
+            } else {
+                slot = recent[b++];
+            }
+            if (slots.isLive(slot)) {
+                merged[n++] = slot;
+            }
+        }
+        sorted = merged;
+        sortedSize = n;
+        recentSize = 0;
+        if (recent.length > MAX_RECENT) {
+            recent = new int[MIN_RECENT];
+        }
+        releasePending();
+    }
+
+    private void releasePending() {
+        for (int i = 0; i < pendingCount; i++) {
+            onRelease.accept(pending[i]);
+        }
+        pendingCount = 0;
+    }
+
+    // Primeira posição com ID >= chave (inclusive) ou > chave (exclusive).
+    private int bound(int[] array, int count, long hi, long lo, boolean inclusive) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = UuidCodec.compare(slots.msb(array[mid]), slots.lsb(array[mid]), hi, lo);
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // --- Ordenação de slots sem boxing (merge sort sobre int[]) ---
+
+    static void sort(int[] slots, int count, SlotComparator comparator) {
+        if (count < 2) {
+            return;
+        }
+        int[] buffer = new int[count];
+        mergeSort(slots, buffer, 0, count, comparator);
+    }
+
+    private static void mergeSort(int[] slots, int[] buffer, int from, int to, SlotComparator comparator) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int value = slots[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(slots[j], value) > 0) {
+                    slots[j + 1] = slots[j];
+                    j--;
+                }
+                slots[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(slots, buffer, from, mid, comparator);
+        mergeSort(slots, buffer, mid, to, comparator);
+        if (comparator.compare(slots[mid - 1], slots[mid]) <= 0) {
+            return; // Já em ordem (comum em dados quase ordenados).
+        }
+        System.arraycopy(slots, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && comparator.compare(buffer[i], buffer[j]) <= 0)) {
+                slots[k] = buffer[i++];
+            } else {
+                slots[k] = buffer[j++];
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.stream.JsonWriter;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversor entre o 'tasks.json' (formato do JsonTaskRepository) e o snapshot binário.
+ *
+ * Uso:
+ *   java com.jcoremanager.repository.SnapshotConverter to-binary tasks.json tasks.bin
+ *   java com.jcoremanager.repository.SnapshotConverter to-json tasks.bin tasks.json
+ */
+public final class SnapshotConverter {
+
+    private static final TaskTypeAdapter ADAPTER = new TaskTypeAdapter();
+
+    private SnapshotConverter() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Uso: SnapshotConverter (to-binary|to-json) <origem> <destino>");
+            System.exit(1);
+        }
+        Path source = Paths.get(args[1]);
+        Path target = Paths.get(args[2]);
+
+        long start = System.nanoTime();
+        int count = switch (args[0]) {
+            case "to-binary" -> jsonToBinary(source, target);
+            case "to-json" -> binaryToJson(source, target);
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + args[0]);
+        };
+        System.out.printf("%d tarefas convertidas em %.1f ms%n", count, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    public static int jsonToBinary(Path json, Path binary) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        TaskJsonFiles.load(json, tasks::add);
+        BinarySnapshot.write(binary, tasks);
+        return tasks.size();
+    }
+
+    /**
+     * Gera um JSON idêntico ao do JsonTaskRepository (indentado), decodificando um registro por vez.
+     */
+    public static int binaryToJson(Path binary, Path json) throws IOException {
+        BinarySnapshot snapshot = BinarySnapshot.open(binary);
+        try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginArray();
+            for (int i = 0; i < snapshot.size(); i++) {
+                ADAPTER.write(writer, snapshot.get(i));
+            }
+            writer.endArray();
+        }
+        return snapshot.size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.jcoremanager.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Observa (WatchService) o diretório do arquivo de tarefas e sinaliza quando outro processo mexeu
+ * no diário ou no snapshot. Não relê nada por conta própria: a thread do watcher só levanta a
+ * bandeira, e o Repository, na próxima chamada e na sua própria thread, lê apenas o que mudou.
+ * As próprias gravações também levantam a bandeira; a releitura então não encontra nada novo.
+ *
+ * Se o sistema de arquivos não suportar notificações, changed() fica sempre verdadeiro: cada consulta
+ * confere o diário (uma consulta ao tamanho do arquivo quando nada mudou).
+ */
+final class StoreWatcher implements Closeable {
+
+    private final String prefix;
+    private final WatchService service;
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    StoreWatcher(Path file) {
+        this.prefix = file.getFileName().toString();
+        Path dir = file.toAbsolutePath().getParent();
+        WatchService watch;
+        try {
+            watch = FileSystems.getDefault().newWatchService();
+            dir.register(watch, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Aviso: alterações externas em " + dir + " não serão notificadas: " + e.getMessage());
+            watch = null;
+        }
+        this.service = watch;
+        if (service != null) {
+            Thread thread = new Thread(this::run, "jcore-watch-" + prefix);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // Se algo mudou desde a última chamada (e limpa a bandeira).
+    boolean changed() {
+        return service == null || changed.getAndSet(false);
+    }
+
+    @Override
+    public void close() {
+        if (service != null) {
+            try {
+                service.close(); // Acorda a thread com ClosedWatchServiceException.
+            } catch (IOException e) {
+                System.err.println("Aviso: não foi possível encerrar o watcher de " + prefix + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || relevant(event.context())) {
+                        changed.set(true);
+                    }
+                }
+                if (!key.reset()) {
+                    changed.set(true); // O diretório sumiu: a próxima chamada descobre o que houve.
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // close(): fim da thread.
+        }
+    }
+
+    // Diários e snapshot ('tasks.json*'), exceto temporários e arquivos de lock.
+    private boolean relevant(Object context) {
+        String name = context.toString();
+        return name.startsWith(prefix) && !name.endsWith(".tmp") && !name.endsWith(".lock");
+    }
+}
@@ -0,0 +1,120 @@
+package com.jcoremanager.repository;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de strings deduplicadas com contagem de referências, usada pelo CompactTaskStore.
+ * Cada texto distinto é guardado uma única vez e identificado por um int; quando a última
+ * referência é liberada, o número volta a ficar disponível.
+ *
+ * A busca usa endereçamento aberto sobre um int[] (sem HashMap): nenhum objeto Entry/Integer
+ * por string, só ~12 bytes por texto distinto além da própria String.
+ */
+final class StringPool {
+
+    static final int NONE = -1; // Representa null.
+
+    private String[] values = new String[16];
+    private int[] refs = new int[16];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int highWater; // Próximo id nunca usado.
+    private int distinct;
+
+    private int[] table = new int[32]; // id + 1; 0 = vazio.
+    private int mask = table.length - 1;
+
+    // Id do texto (criando-o se necessário) com uma referência a mais.
+    int acquire(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        int hash = mix(value.hashCode());
+        int i = hash & mask;
+        while (table[i] != 0) {
+            int id = table[i] - 1;
+            if (values[id].equals(value)) {
+                refs[id]++;
+                return id;
+            }
+            i = (i + 1) & mask;
+        }
+
+        int id = freeCount > 0 ? freeIds[--freeCount] : highWater++;
+        if (id == values.length) {
+            values = Arrays.copyOf(values, id * 2);
+            refs = Arrays.copyOf(refs, id * 2);
+        }
+        values[id] = value;
+        refs[id] = 1;
+        table[i] = id + 1;
+        if (++distinct * 10 > table.length * 7) {
+            rehash(table.length * 2);
+        }
+        return id;
+    }
+
+    void release(int id) {
+        if (id == NONE || --refs[id] > 0) {
+            return;
+        }
+        removeFromTable(id);
+        values[id] = null;
+        distinct--;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    String get(int id) {
+        return id == NONE ? null : values[id];
+    }
+
+    int distinct() {
+        return distinct;
+    }
+
+    // Remoção com "backward shift": sem marcadores de removido, as buscas continuam curtas.
+    private void removeFromTable(int id) {
+        int i = mix(values[id].hashCode()) & mask;
+        while (table[i] != id + 1) {
+            i = (i + 1) & mask;
+        }
+        int hole = i;
+        while (true) {
+            i = (i + 1) & mask;
+            if (table[i] == 0) {
+                break;
+            }
+            int home = mix(values[table[i] - 1].hashCode()) & mask;
+            // Move a entrada para o buraco se ela não estiver entre a posição ideal e o buraco.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int i = mix(values[entry - 1].hashCode()) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+            }
+        }
+    }
+
+    // Textos parecidos ("Tarefa 1", "Tarefa 2") têm hashCodes vizinhos: espalha antes de usar os bits baixos.
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
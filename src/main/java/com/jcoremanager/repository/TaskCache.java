@@ -0,0 +1,170 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.metrics.Jmx;
+import com.jcoremanager.model.Task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache LRU das tarefas lidas do disco, limitado pelo peso (bytes estimados) e não pela quantidade:
+ * mil tarefas com descrições longas ocupam bem mais que mil tarefas só com título.
+ *
+ * É um LinkedHashMap em ordem de acesso: cada get move a entrada para o fim, então a primeira
+ * é sempre a usada há mais tempo e é a removida quando o peso passa do limite.
+ * Conta acertos, faltas e remoções (expostos via JMX como com.jcoremanager:type=Cache,name=&lt;nome&gt;).
+ *
+ * Não é seguro para várias threads (pertence a um Repository usado por uma thread de cada vez);
+ * os contadores lidos pelo JMX podem estar levemente desatualizados.
+ */
+final class TaskCache implements TaskCacheMBean {
+
+    public static final String MAX_BYTES_PROPERTY = "jcore.cache.bytes";
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // Objeto Task + String do ID + duas LocalDateTime + entrada do mapa, aproximadamente.
+    private static final int BASE_WEIGHT = 320;
+
+    private static final class Entry {
+        final Task task;
+        final int weight;
+
+        Entry(Task task, int weight) {
+            this.task = task;
+            this.weight = weight;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1_024, 0.75f, true);
+    private final long maxWeight;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    TaskCache(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("O tamanho do cache não pode ser negativo: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    // Tamanho lido de -Djcore.cache.bytes (0 desliga o cache).
+    static TaskCache fromSystemProperties() {
+        return new TaskCache(Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES));
+    }
+
+    // A tarefa em cache (e marca como usada agora), ou null — o chamador lê do disco e chama put.
+    Task get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.task;
+    }
+
+    boolean contains(String id) {
+        return entries.containsKey(id);
+    }
+
+    void put(Task task) {
+        int taskWeight = weigh(task);
+        if (taskWeight > maxWeight) {
+            remove(task.getId()); // Maior que o cache inteiro: não vale expulsar todo o resto.
+            return;
+        }
+        Entry previous = entries.put(task.getId(), new Entry(task, taskWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += taskWeight;
+        evictIfNeeded();
+    }
+
+    void remove(String id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    // Publica os contadores via JMX; sem JMX, o cache continua funcionando normalmente.
+    void register(String name) {
+        Jmx.register(this, "Cache", name);
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public int getEntries() {
+        return entries.size();
+    }
+
+    @Override
+    public long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tarefas (%d de %d KB), %d acertos, %d faltas (%.1f%%), %d remoções",
+                entries.size(), weight / 1024, maxWeight / 1024, hits, misses, getHitRatio() * 100, evictions);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // Estimativa do heap ocupado: os textos (2 bytes por caractere no pior caso) mais a estrutura fixa.
+    private static int weigh(Task task) {
+        return BASE_WEIGHT + 2 * (length(task.getTitle()) + length(task.getDescription()));
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+}
@@ -0,0 +1,24 @@
+package com.jcoremanager.repository;
+
+/**
+ * Interface de gerenciamento (JMX) do TaskCache, visível no JConsole/VisualVM
+ * como com.jcoremanager:type=Cache,name=&lt;backend&gt;. Pesos em bytes (estimados).
+ */
+public interface TaskCacheMBean {
+
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    double getHitRatio();
+
+    int getEntries();
+
+    long getWeight();
+
+    long getMaxWeight();
+
+    void resetCounters();
+}
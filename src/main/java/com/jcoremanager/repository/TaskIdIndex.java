@@ -0,0 +1,112 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Índice ordenado de IDs (árvore rubro-negra do TreeMap) usado para buscas por ID completo ou parcial.
+ * Como as chaves ficam ordenadas, todos os IDs que começam com um prefixo são vizinhos na árvore:
+ * basta localizar o primeiro com ceilingEntry e olhar o seguinte, em O(log n).
+ */
+final class TaskIdIndex {
+
+    // Quantos IDs no máximo são citados na mensagem de ID ambíguo.
+    static final int MAX_REPORTED_MATCHES = 5;
+
+    private final NavigableMap<String, Task> byId;
+
+    TaskIdIndex() {
+        this(new TreeMap<>());
+    }
+
+    TaskIdIndex(NavigableMap<String, Task> byId) {
+        this.byId = byId;
+    }
+
+    void put(Task task) {
+        byId.put(task.getId(), task);
+    }
+
+    Task remove(String id) {
+        return byId.remove(id);
+    }
+
+    void clear() {
+        byId.clear();
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    /**
+     * Busca pelo ID completo ou por um prefixo dele.
+     * Retorna vazio se nada corresponder e lança AmbiguousTaskIdException se o prefixo
+     * identificar mais de uma tarefa (em vez de devolver silenciosamente a primeira).
+     */
+    Optional<Task> findByPrefix(String prefix) {
+        Task exact = byId.get(prefix);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+
+        Map.Entry<String, Task> first = byId.ceilingEntry(prefix);
+        if (first == null || !first.getKey().startsWith(prefix)) {
+            return Optional.empty();
+        }
+
+        Map.Entry<String, Task> second = byId.higherEntry(first.getKey());
+        if (second != null && second.getKey().startsWith(prefix)) {
+            throw new AmbiguousTaskIdException(prefix, sampleMatches(prefix, first.getKey()));
+        }
+        return Optional.of(first.getValue());
+    }
+
+    /**
+     * Até 'limit' tarefas cujo ID começa com o prefixo, em ordem de ID (sem lançar exceção).
+     * Útil para quem precisa combinar este índice com outras fontes antes de decidir se há ambiguidade.
+     */
+    List<Task> findAllByPrefix(String prefix, int limit) {
+        List<Task> matches = new ArrayList<>();
+        for (Map.Entry<String, Task> entry : byId.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || matches.size() == limit) {
+                break;
+            }
+            matches.add(entry.getValue());
+        }
+        return matches;
+    }
+
+    /**
+     * Até 'limit' tarefas com ID maior que 'afterId' (null = desde o início), em ordem de ID.
+     * É a base da paginação por cursor: O(log n + limit), independente do total de tarefas.
+     */
+    List<Task> after(String afterId, int limit) {
+        NavigableMap<String, Task> tail = afterId == null ? byId : byId.tailMap(afterId, false);
+        List<Task> result = new ArrayList<>(Math.min(limit, 64));
+        for (Task task : tail.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(task);
+        }
+        return result;
+    }
+
+    private List<String> sampleMatches(String prefix, String firstKey) {
+        List<String> matches = new ArrayList<>();
+        for (String id : byId.tailMap(firstKey, true).keySet()) {
+            if (!id.startsWith(prefix) || matches.size() == MAX_REPORTED_MATCHES) {
+                break;
+            }
+            matches.add(id);
+        }
+        return matches;
+    }
+}
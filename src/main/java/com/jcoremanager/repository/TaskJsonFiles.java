@@ -0,0 +1,105 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.TaskTypeAdapter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/**
+ * Leitura e escrita de arquivos JSON no formato [ {tarefa}, {tarefa}, ... ].
+ * A leitura é em streaming: uma tarefa por vez com o JsonReader, entregue imediatamente para o
+ * Repository, sem montar a lista completa em memória. O pico de memória fica próximo do tamanho
+ * das próprias estruturas do Repository.
+ */
+final class TaskJsonFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TaskTypeAdapter ADAPTER = new TaskTypeAdapter();
+    private static final OperationTimer WRITE_TIMER = Metrics.timer("io.snapshot.write");
+
+    private TaskJsonFiles() {}
+
+    /**
+     * Lê o arquivo e entrega cada tarefa ao consumer, na ordem do arquivo.
+     * Um arquivo vazio (ou contendo apenas 'null') é tratado como lista vazia.
+     */
+    static LoadStats load(Path path, Consumer<Task> sink) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+
+        try (BufferedReader buffered = new BufferedReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), BUFFER_SIZE);
+             JsonReader reader = new JsonReader(buffered)) {
+            JsonToken first = reader.peek();
+            if (first == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    Task task = ADAPTER.read(reader);
+                    if (task != null) {
+                        sink.accept(task);
+                        count++;
+                    }
+                }
+                reader.endArray();
+            } else if (first != JsonToken.END_DOCUMENT && first != JsonToken.NULL) {
+                throw new IOException("Formato inesperado em " + path + ": esperado uma lista de tarefas.");
+            }
+        } catch (EOFException e) {
+            // Arquivo vazio: equivalente a nenhuma tarefa (mesmo comportamento do Gson.fromJson).
+            if (count > 0) {
+                throw new JsonSyntaxException("Arquivo de tarefas truncado: " + path, e);
+            }
+        } catch (MalformedJsonException | IllegalStateException e) {
+            // Conteúdo inválido não é um erro de I/O: como no Gson.fromJson, interrompe a carga
+            // em vez de seguir com uma lista vazia que sobrescreveria o arquivo na próxima gravação.
+            throw new JsonSyntaxException("Arquivo de tarefas inválido: " + path, e);
+        }
+
+        return new LoadStats(count, Files.size(path), System.nanoTime() - start);
+    }
+
+    /**
+     * Grava as tarefas em um arquivo temporário, força o fsync e só então o renomeia por cima do destino.
+     * Uma queda no meio da escrita nunca deixa o arquivo de destino pela metade.
+     * A escrita também é em streaming (uma tarefa por vez), então 'tasks' pode ser uma vista
+     * que monta as tarefas sob demanda, sem uma lista completa em memória.
+     */
+    static void writeAtomically(Path path, Iterable<Task> tasks, Gson gson) throws IOException {
+        long start = WRITE_TIMER.start();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        TypeAdapter<Task> adapter = gson.getAdapter(Task.class);
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile());
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            JsonWriter json = gson.newJsonWriter(writer);
+            json.beginArray();
+            for (Task task : tasks) {
+                adapter.write(json, task);
+            }
+            json.endArray();
+            json.flush();
+            out.getFD().sync();
+        } finally {
+            WRITE_TIMER.stop(start); // Mede a gravação + fsync; a troca atômica do arquivo é imediata.
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
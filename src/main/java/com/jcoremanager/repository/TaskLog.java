@@ -0,0 +1,324 @@
+package com.jcoremanager.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.jcoremanager.model.Task;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log de mutações append-only (Write-Ahead Log).
+ * Cada alteração vira uma única linha JSON compacta acrescentada ao final do arquivo,
+ * então o custo de I/O de uma mutação depende do tamanho do registro e não do tamanho do dataset.
+ */
+class TaskLog implements Closeable {
+
+    static final String OP_PUT = "PUT";
+    static final String OP_DELETE = "DEL";
+    static final String OP_PATCH = "PATCH";
+    static final String OP_BATCH = "BATCH";
+
+    /**
+     * Quem reaplica o log (replay) recebe os registros na ordem em que foram escritos.
+     */
+    interface Visitor {
+        void put(Task task);
+        void delete(String id);
+        void patch(TaskPatch patch); // Só os campos alterados de uma tarefa que já existe.
+    }
+
+    // Formato de uma linha do log. Apenas um dos campos 'task', 'id', 'patch' ou 'records' é preenchido, conforme a operação.
+    private static class LogRecord {
+        String op;
+        Task task;
+        String id;
+        TaskPatch patch;
+        List<LogRecord> records; // Operações de um lote (BATCH), na ordem em que foram aplicadas.
+    }
+
+    private final Path path;
+    private final Gson gson;
+    private final DurabilityPolicy policy;
+    private GroupCommitLog committer; // Aberto ao final do replay, quando o arquivo já está íntegro.
+    // Registros escritos desde a última compactação (atômico: o log pode ser usado por várias threads).
+    private final AtomicLong recordCount = new AtomicLong();
+
+    TaskLog(Path path, Gson gson, DurabilityPolicy policy) {
+        this.path = path;
+        this.gson = gson;
+        this.policy = policy;
+    }
+
+    /**
+     * Reaplica todos os registros do log no visitor e retorna quantos foram lidos.
+     * Deve ser chamado uma vez, antes de qualquer escrita.
+     * Uma última linha incompleta (queda no meio de uma escrita) é descartada e cortada do arquivo;
+     * qualquer outra linha inválida indica corrupção e interrompe a carga.
+     */
+    long replay(Visitor visitor) {
+        Scan scan = scan(path, gson, visitor);
+        if (scan.tornTail()) {
+            // Sem o corte, os próximos registros seriam acrescentados depois do lixo
+            // e o log ficaria corrompido no meio na próxima inicialização.
+            System.err.println("Aviso: último registro do log incompleto foi descartado.");
+            truncateTo(scan.validBytes());
+        }
+
+        this.recordCount.set(scan.count());
+        this.committer = new GroupCommitLog(path, policy);
+        return scan.count();
+    }
+
+    /**
+     * Só leitura: reaplica os registros de um log de outro Repository (ex: na importação dos diários
+     * do JsonTaskRepository) sem abrir o arquivo para escrita nem repará-lo. Uma última linha
+     * incompleta é apenas ignorada. Retorna quantos registros foram lidos.
+     */
+    static long read(Path path, Gson gson, Visitor visitor) {
+        return scan(path, gson, visitor).count();
+    }
+
+    // Resultado da leitura: registros aplicados, bytes válidos e se a última linha estava incompleta.
+    private record Scan(long count, long validBytes, boolean tornTail) {}
+
+    private static Scan scan(Path path, Gson gson, Visitor visitor) {
+        long count = 0;
+        long validBytes = 0;
+        if (!Files.exists(path)) {
+            return new Scan(0, 0, false);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                String next = reader.readLine();
+                if (!line.isEmpty()) {
+                    LogRecord record;
+                    try {
+                        record = gson.fromJson(line, LogRecord.class);
+                    } catch (JsonParseException e) {
+                        if (next == null) {
+                            return new Scan(count, validBytes, true);
+                        }
+                        throw new IllegalStateException("Log de tarefas corrompido no registro " + (count + 1), e);
+                    }
+                    apply(record, visitor);
+                    count++;
+                }
+                validBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                line = next;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o log de tarefas: " + e.getMessage(), e);
+        }
+        return new Scan(count, validBytes, false);
+    }
+
+    /**
+     * Reaplica só os registros acrescentados a partir da posição 'offset' (ex: por outro processo que
+     * compartilha o arquivo) e retorna a posição logo após o último registro completo lido.
+     * Uma linha ainda sem o '\n' final fica para a próxima chamada. Pode ser chamado a qualquer momento,
+     * mas quem chama precisa impedir escritas concorrentes no arquivo (ver FileMutex).
+     */
+    long tail(long offset, Visitor visitor) {
+        byte[] bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= offset) {
+                return offset;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - offset));
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // Lê até o fim atual do arquivo.
+            }
+            bytes = buffer.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o log de tarefas: " + e.getMessage(), e);
+        }
+
+        int lineStart = 0;
+        long count = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            if (i > lineStart) {
+                String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                try {
+                    apply(gson.fromJson(line, LogRecord.class), visitor);
+                } catch (JsonParseException e) {
+                    throw new IllegalStateException("Log de tarefas corrompido na posição " + (offset + lineStart), e);
+                }
+                count++;
+            }
+            lineStart = i + 1;
+        }
+        recordCount.addAndGet(count);
+        return offset + lineStart;
+    }
+
+    /**
+     * Os registros são serializados na thread de quem chama (capturando o estado atual da tarefa)
+     * e gravados de forma assíncrona. O future completa quando o registro está durável
+     * conforme a DurabilityPolicy.
+     */
+    CompletableFuture<Void> appendPut(Task task) {
+        LogRecord record = new LogRecord();
+        record.op = OP_PUT;
+        record.task = task;
+        return append(record);
+    }
+
+    /**
+     * Registra a alteração de uma tarefa existente: se ela sabe quais campos mudaram (dirty tracking),
+     * grava um PATCH só com esses campos e os marca como gravados; senão, grava a tarefa inteira (PUT).
+     */
+    CompletableFuture<Void> appendUpdate(Task task) {
+        return append(updateRecord(task));
+    }
+
+    // Várias alterações como um único registro BATCH (ver appendBatch).
+    CompletableFuture<Void> appendUpdates(Collection<Task> tasks) {
+        LogRecord batch = new LogRecord();
+        batch.op = OP_BATCH;
+        batch.records = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            batch.records.add(updateRecord(task));
+        }
+        return append(batch);
+    }
+
+    CompletableFuture<Void> appendDelete(String id) {
+        LogRecord record = new LogRecord();
+        record.op = OP_DELETE;
+        record.id = id;
+        return append(record);
+    }
+
+    /**
+     * Grava várias operações como um único registro (uma linha).
+     * Como o replay descarta uma última linha incompleta, o lote é atômico: após uma queda,
+     * ou todas as operações dele aparecem, ou nenhuma.
+     */
+    CompletableFuture<Void> appendBatch(Collection<Task> puts, Collection<String> deletes) {
+        LogRecord batch = new LogRecord();
+        batch.op = OP_BATCH;
+        batch.records = new ArrayList<>(puts.size() + deletes.size());
+        for (Task task : puts) {
+            LogRecord record = new LogRecord();
+            record.op = OP_PUT;
+            record.task = task;
+            batch.records.add(record);
+        }
+        for (String id : deletes) {
+            LogRecord record = new LogRecord();
+            record.op = OP_DELETE;
+            record.id = id;
+            batch.records.add(record);
+        }
+        return append(batch);
+    }
+
+    /**
+     * Confirma um registro conforme a política: no modo SYNC espera o fsync e propaga a falha da gravação,
+     * para que quem chama só aplique a mutação na memória depois de ela estar no disco. Nos demais modos
+     * retorna logo; uma falha aparece no flush() e faz as próximas escritas falharem (ver GroupCommitLog).
+     */
+    void commit(CompletableFuture<Void> record) {
+        if (policy.getMode() != DurabilityPolicy.Mode.SYNC) {
+            return;
+        }
+        try {
+            record.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Erro ao gravar no log de tarefas: " + io.getMessage(), io);
+            }
+            throw e;
+        }
+    }
+
+    long recordCount() {
+        return recordCount.get();
+    }
+
+    // Completa quando tudo o que foi registrado até agora estiver em disco.
+    CompletableFuture<Void> sync() {
+        return committer().sync();
+    }
+
+    /**
+     * Descarta o conteúdo do log. Só deve ser chamado depois que um snapshot
+     * com o estado completo foi gravado com sucesso. Registros enfileirados antes
+     * desta chamada ainda são gravados e então descartados junto com o resto.
+     */
+    CompletableFuture<Void> reset() {
+        recordCount.set(0);
+        return committer().truncate();
+    }
+
+    @Override
+    public void close() {
+        if (committer != null) {
+            committer.close();
+        }
+    }
+
+    private CompletableFuture<Void> append(LogRecord record) {
+        byte[] line = (gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        recordCount.incrementAndGet();
+        return committer().append(line);
+    }
+
+    private static LogRecord updateRecord(Task task) {
+        LogRecord record = new LogRecord();
+        record.patch = TaskPatch.take(task);
+        if (record.patch != null) {
+            record.op = OP_PATCH;
+        } else {
+            record.op = OP_PUT;
+            record.task = task;
+        }
+        return record;
+    }
+
+    private GroupCommitLog committer() {
+        if (committer == null) {
+            throw new IllegalStateException("O log precisa ser reaplicado (replay) antes de receber escritas.");
+        }
+        return committer;
+    }
+
+    private void truncateTo(long size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao reparar o log de tarefas: " + e.getMessage(), e);
+        }
+    }
+
+    private static void apply(LogRecord record, Visitor visitor) {
+        switch (record.op) {
+            case OP_PUT -> visitor.put(record.task);
+            case OP_DELETE -> visitor.delete(record.id);
+            case OP_PATCH -> visitor.patch(record.patch);
+            case OP_BATCH -> record.records.forEach(r -> apply(r, visitor));
+            default -> throw new IllegalStateException("Operação desconhecida no log: " + record.op);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Uma página de tarefas em ordem de ID, obtida por cursor (keyset pagination).
+ * O cursor é o ID da última tarefa da página: a próxima página começa logo depois dele,
+ * então o custo de cada página depende do tamanho da página e não do total de tarefas,
+ * e inserções/remoções entre uma página e outra não fazem tarefas se repetirem ou sumirem.
+ */
+public final class TaskPage {
+
+    private final List<Task> tasks;
+    private final String nextCursor;
+
+    public TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = List.copyOf(tasks);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Monta a página a partir de até (limit + 1) tarefas em ordem de ID:
+     * a tarefa excedente apenas indica que existe uma próxima página.
+     */
+    static TaskPage of(List<Task> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new TaskPage(fetched, null);
+        }
+        List<Task> page = fetched.subList(0, limit);
+        return new TaskPage(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Quantas tarefas buscar para uma página de 'limit': uma a mais, sem estourar o int.
+     * Com limit == Integer.MAX_VALUE, 'limit + 1' viraria negativo; aí não há como existir uma tarefa
+     * além da página, então buscar 'limit' basta.
+     */
+    static int fetchSize(int limit) {
+        return limit == Integer.MAX_VALUE ? limit : limit + 1;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    // ID a passar na próxima chamada, ou null se esta for a última página.
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alteração parcial de uma tarefa: o ID e apenas os campos que mudaram (registro PATCH do log).
+ * Mudar a prioridade de uma tarefa grava algumas dezenas de bytes, e não a tarefa inteira.
+ *
+ * Serializado pelo Gson via Reflection dentro do registro do log. Campos nulos não aparecem no JSON:
+ * a lista 'fields' diz quais campos a alteração cobre, e um campo listado sem valor vale null.
+ */
+final class TaskPatch {
+
+    private String id;
+    private List<Task.Field> fields;
+    private String title;
+    private String description;
+    private Priority priority;
+    private Boolean completed;
+    private LocalDateTime completionDate;
+
+    private TaskPatch() {} // Para o Gson.
+
+    /**
+     * Captura os campos alterados da tarefa (dirty) e os marca como gravados.
+     * Retorna null se a tarefa não tem alterações pendentes.
+     */
+    static TaskPatch take(Task task) {
+        if (!task.isDirty()) {
+            return null;
+        }
+        TaskPatch patch = new TaskPatch();
+        patch.id = task.getId();
+        patch.fields = new ArrayList<>(task.getDirtyFields());
+        for (Task.Field field : patch.fields) {
+            switch (field) {
+                case TITLE -> patch.title = task.getTitle();
+                case DESCRIPTION -> patch.description = task.getDescription();
+                case PRIORITY -> patch.priority = task.getPriority();
+                case COMPLETED -> patch.completed = task.isCompleted();
+                case COMPLETION_DATE -> patch.completionDate = task.getCompletionDate();
+            }
+        }
+        task.clearDirty();
+        return patch;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    // Aplica os campos da alteração na tarefa (no replay), sem deixá-la marcada como alterada.
+    void applyTo(Task task) {
+        for (Task.Field field : fields) {
+            switch (field) {
+                case TITLE -> task.setTitle(title);
+                case DESCRIPTION -> task.setDescription(description);
+                case PRIORITY -> task.setPriority(priority);
+                case COMPLETED -> task.setCompleted(completed != null && completed);
+                case COMPLETION_DATE -> task.setCompletionDate(completionDate);
+            }
+        }
+        task.clearDirty();
+    }
+}
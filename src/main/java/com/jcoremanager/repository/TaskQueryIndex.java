@@ -0,0 +1,177 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índices secundários das tarefas: prioridade, status (concluída ou não) e datas de criação/conclusão.
+ * Respondem perguntas como "tarefas ALTA em aberto" ou "concluídas nesta semana" sem varrer todas as tarefas.
+ *
+ * - Prioridade e status: um "balde" (conjunto de IDs) por valor, com EnumMap para as prioridades.
+ * - Datas: conjuntos ordenados de (data, ID), consultados por intervalo em O(log n + resultado).
+ *
+ * O índice guarda os valores com que cada tarefa foi indexada. Por isso uma tarefa alterada
+ * no lugar (setPriority, setCompleted...) é reindexada corretamente, desde que o Repository
+ * chame put() depois da alteração: as entradas antigas são localizadas pelos valores guardados.
+ */
+final class TaskQueryIndex {
+
+    // Valores indexados de uma tarefa, como estavam na última indexação.
+    private record Keys(Priority priority, boolean completed, LocalDateTime creationDate, LocalDateTime completionDate) {}
+
+    // Entrada dos índices de datas. O ID desempata tarefas com a mesma data.
+    private record DateKey(LocalDateTime date, String id) implements Comparable<DateKey> {
+        @Override
+        public int compareTo(DateKey other) {
+            int cmp = date.compareTo(other.date);
+            return cmp != 0 ? cmp : id.compareTo(other.id);
+        }
+    }
+
+    private static final String LOWEST_ID = ""; // Menor String possível: início de um intervalo de datas.
+
+    private final boolean concurrent;
+    private final Map<String, Keys> keysById;
+    private final Map<Priority, Set<String>> byPriority = new EnumMap<>(Priority.class);
+    private final Set<String> completed;
+    private final Set<String> pending;
+    private final NavigableSet<DateKey> byCreation;
+    private final NavigableSet<DateKey> byCompletion;
+
+    TaskQueryIndex() {
+        this(false);
+    }
+
+    /**
+     * Versão segura para várias threads (estruturas concorrentes), para o ConcurrentTaskRepository.
+     * Alterações de uma mesma tarefa ainda precisam ser serializadas por quem chama (ex: lock por ID).
+     */
+    static TaskQueryIndex concurrent() {
+        return new TaskQueryIndex(true);
+    }
+
+    private TaskQueryIndex(boolean concurrent) {
+        this.concurrent = concurrent;
+        this.keysById = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.completed = newIdSet();
+        this.pending = newIdSet();
+        this.byCreation = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+        this.byCompletion = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+        // Todos os baldes são criados aqui: o EnumMap nunca muda de estrutura depois disso.
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, newIdSet());
+        }
+    }
+
+    // Indexa (ou reindexa) a tarefa com os valores atuais dela.
+    void put(Task task) {
+        put(task.getId(), task.getPriority(), task.isCompleted(), task.getCreationDate(), task.getCompletionDate());
+    }
+
+    void put(String id, Priority priority, boolean isCompleted, LocalDateTime creationDate, LocalDateTime completionDate) {
+        Keys keys = new Keys(priority, isCompleted, creationDate, completionDate);
+        Keys old = keysById.put(id, keys);
+        if (keys.equals(old)) {
+            return; // Nada indexado mudou (ex: só o título foi alterado).
+        }
+        if (old != null) {
+            unindex(id, old);
+        }
+        if (priority != null) {
+            byPriority.get(priority).add(id);
+        }
+        (isCompleted ? completed : pending).add(id);
+        if (creationDate != null) {
+            byCreation.add(new DateKey(creationDate, id));
+        }
+        if (completionDate != null) {
+            byCompletion.add(new DateKey(completionDate, id));
+        }
+    }
+
+    void remove(String id) {
+        Keys old = keysById.remove(id);
+        if (old != null) {
+            unindex(id, old);
+        }
+    }
+
+    void clear() {
+        keysById.clear();
+        byPriority.values().forEach(Set::clear);
+        completed.clear();
+        pending.clear();
+        byCreation.clear();
+        byCompletion.clear();
+    }
+
+    /**
+     * IDs com a prioridade e o status informados; null em qualquer um dos dois significa "qualquer".
+     * Percorre só o balde escolhido (o de prioridade, se informada) e filtra pelo status.
+     */
+    List<String> findByStatus(Priority priority, Boolean isCompleted) {
+        List<String> result = new ArrayList<>();
+        if (priority == null) {
+            if (isCompleted == null) {
+                result.addAll(keysById.keySet());
+            } else {
+                result.addAll(isCompleted ? completed : pending);
+            }
+            return result;
+        }
+        for (String id : byPriority.get(priority)) {
+            if (isCompleted == null || (isCompleted ? completed : pending).contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    // IDs criados no intervalo [from, to), em ordem de data de criação.
+    List<String> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return range(byCreation, from, to);
+    }
+
+    // IDs concluídos no intervalo [from, to), em ordem de data de conclusão.
+    List<String> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return range(byCompletion, from, to);
+    }
+
+    private static List<String> range(NavigableSet<DateKey> index, LocalDateTime from, LocalDateTime to) {
+        List<String> result = new ArrayList<>();
+        for (DateKey key : index.subSet(new DateKey(from, LOWEST_ID), true, new DateKey(to, LOWEST_ID), false)) {
+            result.add(key.id());
+        }
+        return result;
+    }
+
+    private void unindex(String id, Keys old) {
+        if (old.priority() != null) {
+            byPriority.get(old.priority()).remove(id);
+        }
+        (old.completed() ? completed : pending).remove(id);
+        if (old.creationDate() != null) {
+            byCreation.remove(new DateKey(old.creationDate(), id));
+        }
+        if (old.completionDate() != null) {
+            byCompletion.remove(new DateKey(old.completionDate(), id));
+        }
+    }
+
+    private Set<String> newIdSet() {
+        return concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+}
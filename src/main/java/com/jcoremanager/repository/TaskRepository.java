@@ -1,8 +1,20 @@
 package com.jcoremanager.repository;
 
+import com.jcoremanager.model.Priority;
 import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Interface Repository.
@@ -10,13 +22,152 @@ import java.util.Optional;
  * SE os dados estão salvos em um banco SQL, Mongo ou Arquivo de Texto.
  * Eles apenas chamam estes métodos.
  */
-public interface TaskRepository {
+public interface TaskRepository extends AutoCloseable {
     void save(Task task);
     void update(Task task);
     void delete(String id);
     
     // Optional é usado para evitar NullPointerException caso o ID não exista.
+    // Aceita o ID completo ou um prefixo; prefixos que correspondem a mais de uma
+    // tarefa resultam em AmbiguousTaskIdException.
     Optional<Task> findById(String id);
     
     List<Task> findAll();
+
+    /**
+     * Paginação por cursor: até 'limit' tarefas em ordem crescente de ID, começando logo
+     * depois de 'afterId' (null = primeira página). O cursor da próxima página vem em TaskPage.
+     * A implementação padrão ordena a lista inteira; backends com índice ordenado sobrescrevem
+     * para que o custo dependa apenas do tamanho da página.
+     */
+    default TaskPage findPage(String afterId, int limit) {
+        List<Task> fetched = findAll().stream()
+                .filter(t -> afterId == null || t.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Task::getId))
+                .limit(limit + 1L)
+                .collect(Collectors.toList());
+        return TaskPage.of(fetched, limit);
+    }
+
+    // --- Consultas por índices secundários ---
+    // As implementações padrão varrem findAll(); os backends mantêm índices (TaskQueryIndex)
+    // atualizados em cada mutação e respondem sem olhar as demais tarefas.
+
+    // Tarefas com a prioridade e o status informados; null em qualquer um dos dois significa "qualquer".
+    default List<Task> findByStatus(Priority priority, Boolean completed) {
+        return findAll().stream()
+                .filter(t -> priority == null || t.getPriority() == priority)
+                .filter(t -> completed == null || t.isCompleted() == completed)
+                .collect(Collectors.toList());
+    }
+
+    // Tarefas criadas no intervalo [from, to), em ordem de criação.
+    default List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findAll().stream()
+                .filter(t -> t.getCreationDate() != null)
+                .filter(t -> !t.getCreationDate().isBefore(from) && t.getCreationDate().isBefore(to))
+                .sorted(Comparator.comparing(Task::getCreationDate).thenComparing(Task::getId))
+                .collect(Collectors.toList());
+    }
+
+    // Tarefas concluídas no intervalo [from, to), em ordem de conclusão.
+    default List<Task> findCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return findAll().stream()
+                .filter(t -> t.getCompletionDate() != null)
+                .filter(t -> !t.getCompletionDate().isBefore(from) && t.getCompletionDate().isBefore(to))
+                .sorted(Comparator.comparing(Task::getCompletionDate).thenComparing(Task::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca textual no título e na descrição (sem diferenciar maiúsculas nem acentos; cada palavra
+     * da consulta pode ser o início de uma palavra da tarefa). Retorna até 'limit' tarefas,
+     * das mais relevantes para as menos relevantes.
+     * A implementação padrão monta um índice temporário a cada chamada; os backends mantêm
+     * um índice invertido (TaskSearchIndex) atualizado a cada mutação.
+     */
+    default List<Task> search(String query, int limit) {
+        TaskSearchIndex index = new TaskSearchIndex();
+        Map<String, Task> byId = new HashMap<>();
+        for (Task task : findAll()) {
+            index.put(task);
+            byId.put(task.getId(), task);
+        }
+        return index.search(query, limit).stream().map(byId::get).collect(Collectors.toList());
+    }
+
+    // Quantidade de tarefas, sem copiar a coleção.
+    default int count() {
+        return findAll().size();
+    }
+
+    /**
+     * Ler-modificar-gravar em um único passo sobre a tarefa com o ID exato.
+     * A mutação devolve true se alterou algo (e então a tarefa é gravada) ou false se nada mudou.
+     * Retorna a tarefa após a mutação, ou vazio se o ID não existir.
+     * Backends concorrentes sobrescrevem este método para torná-lo atômico.
+     */
+    default Optional<Task> modify(String id, Predicate<Task> mutation) {
+        Optional<Task> task = findById(id).filter(t -> t.getId().equals(id));
+        task.ifPresent(t -> {
+            if (mutation.test(t)) {
+                update(t);
+            }
+        });
+        return task;
+    }
+
+    // --- Operações em lote ---
+    // Cada chamada é uma única transação do Repository: os backends gravam o lote inteiro
+    // de uma só vez (uma reescrita de arquivo ou um único registro de log), em vez de uma vez por tarefa.
+    // As implementações padrão apenas repetem a operação unitária.
+
+    default void saveAll(Collection<Task> tasks) {
+        tasks.forEach(this::save);
+    }
+
+    // Aplica a mutação em cada ID exato e retorna quantas tarefas foram de fato alteradas.
+    default int modifyAll(Collection<String> ids, Predicate<Task> mutation) {
+        int changed = 0;
+        for (String id : ids) {
+            Optional<Task> task = findById(id).filter(t -> t.getId().equals(id));
+            if (task.isPresent() && mutation.test(task.get())) {
+                update(task.get());
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // Remove os IDs exatos e retorna os que existiam e foram removidos (para quem precisa saber quais).
+    default List<String> deleteAll(Collection<String> ids) {
+        List<String> removed = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (findById(id).filter(t -> t.getId().equals(id)).isPresent()) {
+                delete(id);
+                removed.add(id);
+            }
+        }
+        return removed;
+    }
+
+    // Se o backend pode ser usado por várias threads ao mesmo tempo sem sincronização externa.
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    // Métrica da carga inicial (quantidade de tarefas, bytes lidos e tempo gasto).
+    default LoadStats loadStats() {
+        return LoadStats.EMPTY;
+    }
+
+    // Handle de durabilidade: completa quando todas as mutações feitas até agora estiverem no disco.
+    // Backends síncronos (como o JsonTaskRepository) já gravam antes de retornar.
+    default CompletableFuture<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // Libera arquivos e threads do backend, gravando o que ainda estiver pendente.
+    @Override
+    default void close() {}
 }
\ No newline at end of file
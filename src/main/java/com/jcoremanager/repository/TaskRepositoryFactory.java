@@ -0,0 +1,34 @@
+package com.jcoremanager.repository;
+
+/**
+ * Fábrica que escolhe a implementação de Repository a partir da configuração.
+ * O backend é definido pela System Property 'jcore.storage' (ex: -Djcore.storage=log)
+ * e, para os backends com log, a durabilidade por 'jcore.durability' (ver DurabilityPolicy).
+ * O backend é sempre entregue dentro do InstrumentedTaskRepository, que registra as métricas de cada chamada.
+ */
+public final class TaskRepositoryFactory {
+
+    public static final String STORAGE_PROPERTY = "jcore.storage";
+
+    private TaskRepositoryFactory() {}
+
+    public static TaskRepository create() {
+        return new InstrumentedTaskRepository(createBackend());
+    }
+
+    private static TaskRepository createBackend() {
+        String storage = System.getProperty(STORAGE_PROPERTY, "json");
+        return switch (storage) {
+            case "json" -> new JsonTaskRepository(); // Diário por mutação + snapshot em segundo plano (padrão).
+            case "log" -> new LogTaskRepository(DurabilityPolicy.fromSystemProperties()); // Log append-only + snapshot.
+            case "concurrent" -> new ConcurrentTaskRepository(DurabilityPolicy.fromSystemProperties()); // Multi-thread.
+            case "binary" -> new BinaryTaskRepository(DurabilityPolicy.fromSystemProperties()); // Snapshot binário mapeado.
+            case "compact" -> new CompactTaskRepository(DurabilityPolicy.fromSystemProperties()); // Colunas primitivas (pouca memória).
+            case "offheap" -> new OffHeapTaskRepository(DurabilityPolicy.fromSystemProperties()); // Colunas fora do heap.
+            case "sharded" -> new ShardedTaskRepository(DurabilityPolicy.fromSystemProperties()); // N arquivos em paralelo.
+            case "disk" -> new DiskTaskRepository(DurabilityPolicy.fromSystemProperties()); // Tarefas no disco, cache LRU.
+            case "h2" -> new H2TaskRepository(DurabilityPolicy.fromSystemProperties()); // Banco H2 embutido (jcore.jdbc.url).
+            default -> throw new IllegalArgumentException("Backend de armazenamento desconhecido: " + storage);
+        };
+    }
+}
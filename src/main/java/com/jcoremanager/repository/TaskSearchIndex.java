@@ -0,0 +1,387 @@
+package com.jcoremanager.repository;
+
+import com.jcoremanager.model.Task;
+import com.jcoremanager.util.TextTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido para busca textual no título e na descrição das tarefas.
+ *
+ * Cada tarefa indexada recebe um número de documento (int, sempre crescente), e cada termo
+ * (palavra normalizada pelo TextTokenizer) aponta para uma lista ordenada desses números,
+ * com o peso do termo em cada tarefa: ocorrências no título valem TITLE_WEIGHT, na descrição valem 1.
+ * Listas de ints ordenadas ocupam pouca memória e são intersectadas por merge, sem tocar
+ * nas tarefas que não contêm os termos pesquisados.
+ *
+ * - Prefixos: os termos ficam ordenados em um TreeMap, então "relat" -> "relatorio", "relatar"
+ *   é um intervalo contíguo do mapa.
+ * - Ranking: todos os termos da consulta precisam corresponder (E lógico); a pontuação soma
+ *   peso * IDF dos termos encontrados, com peso menor para correspondências só por prefixo.
+ * - Alterações: reindexar uma tarefa cria um documento novo (no fim das listas, mantendo a ordem)
+ *   e marca o antigo como morto. Entradas mortas são limpas quando passam da metade de uma lista,
+ *   e os números são todos renumerados quando há mais documentos mortos do que vivos.
+ *
+ * Um lock de leitura/escrita torna o índice seguro para várias threads: buscas rodam em paralelo
+ * e a indexação de uma tarefa (microssegundos) é exclusiva.
+ */
+final class TaskSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final int MIN_RENUMBER_GARBAGE = 1_024;
+
+    // Lista de ocorrências de um termo: números de documento em ordem crescente e o peso em cada um.
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size; // Entradas usadas, incluindo as de documentos mortos.
+        int live; // Entradas de documentos vivos.
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            live++;
+        }
+
+        // Descarta as entradas de documentos mortos.
+        void removeDead(String[] idByDoc) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (idByDoc[docs[i]] != null) {
+                    docs[kept] = docs[i];
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            live = kept;
+        }
+
+        // Mantém apenas as entradas vivas, renumerando-as com 'remap' (-1 = morta).
+        void compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            live = kept;
+        }
+    }
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, Integer> docById = new HashMap<>();
+    private String[] idByDoc = new String[1_024];     // null = documento morto.
+    private String[][] termsByDoc = new String[1_024][];
+    private int nextDoc;
+    private int liveDocs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Indexa (ou reindexa) a tarefa com o título e a descrição atuais.
+    void put(Task task) {
+        // A tokenização acontece fora do lock.
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String term : TextTokenizer.tokenize(task.getTitle())) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TextTokenizer.tokenize(task.getDescription())) {
+            weights.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer old = docById.get(task.getId());
+            if (old != null) {
+                kill(old);
+            }
+            int doc = allocate(task.getId(), weights.keySet().toArray(new String[0]));
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+            renumberIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docById.get(id);
+            if (doc != null) {
+                kill(doc);
+                renumberIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docById.clear();
+            Arrays.fill(idByDoc, 0, nextDoc, null);
+            Arrays.fill(termsByDoc, 0, nextDoc, null);
+            nextDoc = 0;
+            liveDocs = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs das tarefas que contêm todos os termos da consulta (inteiros ou como prefixo),
+     * da mais relevante para a menos relevante, no máximo 'limit'.
+     */
+    List<String> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Expande cada termo da consulta para os termos indexados que começam com ele.
+            List<Map<String, Postings>> expansions = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<String, Postings> matches = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+                if (matches.isEmpty()) {
+                    return List.of(); // Um termo sem nenhuma correspondência zera o resultado (E lógico).
+                }
+                expansions.add(matches);
+            }
+
+            // Começa pelo termo mais raro: o conjunto de candidatos já nasce pequeno
+            // e cada termo seguinte só precisa ser conferido contra ele.
+            Integer[] order = new Integer[queryTerms.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> totalSize(expansions.get(i))));
+
+            Candidates candidates = firstTerm(queryTerms.get(order[0]), expansions.get(order[0]));
+            for (int k = 1; k < order.length && candidates.size > 0; k++) {
+                candidates = intersect(candidates, queryTerms.get(order[k]), expansions.get(order[k]));
+            }
+            return top(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documentos candidatos (ordenados) e a pontuação acumulada de cada um.
+    private static final class Candidates {
+        final int[] docs;
+        final float[] scores;
+        final int size;
+
+        Candidates(int[] docs, float[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+        }
+    }
+
+    // União das listas do primeiro termo (um termo por prefixo pode ter várias listas).
+    private Candidates firstTerm(String queryTerm, Map<String, Postings> expansion) {
+        // Cada entrada vira um long (documento nos 32 bits altos, pontuação nos baixos):
+        // ordenar os longs ordena por documento, e repetições ficam vizinhas.
+        long[] entries = new long[(int) totalSize(expansion)];
+        int n = 0;
+        for (Map.Entry<String, Postings> entry : expansion.entrySet()) {
+            Postings list = entry.getValue();
+            float termScore = termScore(queryTerm, entry.getKey(), list);
+            for (int i = 0; i < list.size; i++) {
+                if (idByDoc[list.docs[i]] != null) {
+                    entries[n++] = ((long) list.docs[i] << 32) | (Float.floatToIntBits(list.weights[i] * termScore) & 0xffffffffL);
+                }
+            }
+        }
+        if (expansion.size() > 1) {
+            Arrays.sort(entries, 0, n);
+        }
+
+        int[] docs = new int[n];
+        float[] scores = new float[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (entries[i] >>> 32);
+            float score = Float.intBitsToFloat((int) entries[i]);
+            if (size > 0 && docs[size - 1] == doc) {
+                scores[size - 1] += score;
+            } else {
+                docs[size] = doc;
+                scores[size] = score;
+                size++;
+            }
+        }
+        return new Candidates(docs, scores, size);
+    }
+
+    // Mantém só os candidatos que também contêm o termo, somando a pontuação dele.
+    private Candidates intersect(Candidates candidates, String queryTerm, Map<String, Postings> expansion) {
+        float[] added = new float[candidates.size];
+        for (Map.Entry<String, Postings> entry : expansion.entrySet()) {
+            Postings list = entry.getValue();
+            float termScore = termScore(queryTerm, entry.getKey(), list);
+            if ((long) list.size * 16 < candidates.size) {
+                // Lista bem menor que os candidatos (comum nas expansões de um prefixo):
+                // cada entrada da lista é procurada entre os candidatos por busca binária.
+                for (int j = 0; j < list.size; j++) {
+                    int i = Arrays.binarySearch(candidates.docs, 0, candidates.size, list.docs[j]);
+                    if (i >= 0) {
+                        added[i] += list.weights[j] * termScore;
+                    }
+                }
+                continue;
+            }
+            // Merge de duas listas ordenadas; quando a lista do termo é muito maior que a de candidatos,
+            // cada candidato é procurado por busca binária a partir da posição anterior.
+            boolean probe = (long) candidates.size * 16 < list.size;
+            int j = 0;
+            for (int i = 0; i < candidates.size && j < list.size; i++) {
+                int doc = candidates.docs[i];
+                if (probe) {
+                    int found = Arrays.binarySearch(list.docs, j, list.size, doc);
+                    j = found >= 0 ? found : -found - 1;
+                } else {
+                    while (j < list.size && list.docs[j] < doc) {
+                        j++;
+                    }
+                }
+                if (j < list.size && list.docs[j] == doc) {
+                    added[i] += list.weights[j] * termScore;
+                }
+            }
+        }
+
+        int[] docs = new int[candidates.size];
+        float[] scores = new float[candidates.size];
+        int size = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            if (added[i] > 0) {
+                docs[size] = candidates.docs[i];
+                scores[size] = candidates.scores[i] + added[i];
+                size++;
+            }
+        }
+        return new Candidates(docs, scores, size);
+    }
+
+    // As 'limit' maiores pontuações com um heap de tamanho fixo, sem ordenar todos os candidatos.
+    private List<String> top(Candidates candidates, int limit) {
+        // Empate na pontuação: a tarefa indexada primeiro vem antes.
+        Comparator<Integer> byRelevance = Comparator.<Integer>comparingDouble(i -> candidates.scores[i])
+                .thenComparing(Comparator.<Integer>naturalOrder().reversed());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(byRelevance);
+        for (int i = 0; i < candidates.size; i++) {
+            if (heap.size() == limit && candidates.scores[i] <= candidates.scores[heap.peek()]) {
+                continue; // Não entra no top: evita mexer no heap para a maioria dos candidatos.
+            }
+            heap.add(i);
+            if (heap.size() > limit) {
+                heap.poll(); // Descarta o menos relevante.
+            }
+        }
+        List<String> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(idByDoc[candidates.docs[heap.poll()]]);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // IDF: termos raros distinguem melhor as tarefas do que termos presentes em quase todas.
+    private float termScore(String queryTerm, String indexedTerm, Postings list) {
+        float idf = (float) Math.log(1 + (double) liveDocs / Math.max(1, list.live));
+        return queryTerm.equals(indexedTerm) ? idf : idf * PREFIX_FACTOR;
+    }
+
+    private static long totalSize(Map<String, Postings> expansion) {
+        long size = 0;
+        for (Postings list : expansion.values()) {
+            size += list.size;
+        }
+        return size;
+    }
+
+    private int allocate(String id, String[] terms) {
+        if (nextDoc == idByDoc.length) {
+            idByDoc = Arrays.copyOf(idByDoc, nextDoc * 2);
+            termsByDoc = Arrays.copyOf(termsByDoc, nextDoc * 2);
+        }
+        int doc = nextDoc++;
+        idByDoc[doc] = id;
+        termsByDoc[doc] = terms;
+        docById.put(id, doc);
+        liveDocs++;
+        return doc;
+    }
+
+    private void kill(int doc) {
+        docById.remove(idByDoc[doc]);
+        idByDoc[doc] = null;
+        liveDocs--;
+        for (String term : termsByDoc[doc]) {
+            Postings list = postings.get(term);
+            list.live--;
+            if (list.live == 0) {
+                postings.remove(term);
+            } else if (list.live * 2 < list.size) {
+                list.removeDead(idByDoc);
+            }
+        }
+        termsByDoc[doc] = null;
+    }
+
+    // Renumera todos os documentos quando os mortos passam a ser maioria.
+    private void renumberIfNeeded() {
+        if (nextDoc - liveDocs < Math.max(liveDocs, MIN_RENUMBER_GARBAGE)) {
+            return;
+        }
+        int[] remap = new int[nextDoc];
+        int live = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            // Os vivos são numerados de 0 em diante na mesma ordem: as listas continuam ordenadas.
+            remap[doc] = idByDoc[doc] == null ? -1 : live++;
+        }
+        for (Postings list : postings.values()) {
+            list.compact(remap);
+        }
+        int next = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (remap[doc] >= 0) {
+                idByDoc[next] = idByDoc[doc];
+                termsByDoc[next] = termsByDoc[doc];
+                docById.put(idByDoc[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(idByDoc, next, nextDoc, null);
+        Arrays.fill(termsByDoc, next, nextDoc, null);
+        nextDoc = next;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jcoremanager.service;
+
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma alteração feita pelo TaskService, entregue a quem assina TaskService.events().
+ * 'task' é uma cópia do estado logo após a alteração (null em REMOVED); alterações posteriores
+ * na tarefa não aparecem nela.
+ * 'sequence' cresce de um em um a cada evento: um salto indica eventos perdidos porque o assinante
+ * ficou para trás (buffer cheio), e ele deve reler o que precisa (ex: listAllTasks()).
+ */
+public record TaskEvent(long sequence, Type type, String taskId, Task task, LocalDateTime time) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,   // Título, descrição ou prioridade.
+        COMPLETED,
+        REMOVED
+    }
+}
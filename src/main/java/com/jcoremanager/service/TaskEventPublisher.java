@@ -0,0 +1,88 @@
+package com.jcoremanager.service;
+
+import com.jcoremanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica os TaskEvents do Service (java.util.concurrent.Flow) sobre um SubmissionPublisher do JDK:
+ * cada assinante tem o seu buffer limitado ('jcore.events.buffer' eventos, padrão 1024) e recebe
+ * só o que pediu com request(n), numa thread de entrega separada.
+ *
+ * Publicar nunca bloqueia quem grava: se o buffer de um assinante está cheio, o evento é descartado
+ * só para ele (o número de sequência denuncia o salto) e contado em droppedEvents().
+ * Sem assinantes, nenhum evento é montado.
+ */
+final class TaskEventPublisher implements Flow.Publisher<TaskEvent>, AutoCloseable {
+
+    static final String BUFFER_PROPERTY = "jcore.events.buffer";
+
+    private static final int DEFAULT_BUFFER = 1024;
+
+    private final ExecutorService executor;
+    private final SubmissionPublisher<TaskEvent> publisher;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    TaskEventPublisher() {
+        int buffer = Integer.getInteger(BUFFER_PROPERTY, DEFAULT_BUFFER);
+        if (buffer <= 0) {
+            throw new IllegalArgumentException("O buffer de eventos deve ser positivo.");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "jcore-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = new SubmissionPublisher<>(executor, buffer);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // Se vale a pena montar eventos (copiar tarefas): há pelo menos um assinante.
+    boolean isActive() {
+        return publisher.hasSubscribers();
+    }
+
+    // 'task' já deve ser uma cópia (ou null em REMOVED).
+    // Sincronizado: os assinantes recebem os eventos na ordem das sequências, mesmo com várias threads gravando.
+    // O Service só chama publish depois que a gravação retorna: um evento nunca anuncia algo não gravado.
+    synchronized void publish(TaskEvent.Type type, String taskId, Task task) {
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        TaskEvent event = new TaskEvent(sequence.incrementAndGet(), type, taskId, task, LocalDateTime.now());
+        // offer() sem espera: com o buffer cheio, o callback descarta o evento para aquele assinante.
+        publisher.offer(event, (subscriber, lost) -> {
+            dropped.incrementAndGet();
+            return false;
+        });
+    }
+
+    void publish(TaskEvent.Type type, Task task) {
+        if (isActive()) {
+            publish(type, task.getId(), new Task(task));
+        }
+    }
+
+    long droppedEvents() {
+        return dropped.get();
+    }
+
+    // Entrega o que já está nos buffers e então onComplete() para cada assinante.
+    @Override
+    public void close() {
+        publisher.close();
+        executor.shutdown();
+    }
+}
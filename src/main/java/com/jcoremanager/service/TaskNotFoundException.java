@@ -0,0 +1,20 @@
+package com.jcoremanager.service;
+
+/**
+ * Lançada quando nenhuma tarefa corresponde ao ID (completo ou parcial) informado.
+ * Estende IllegalArgumentException para continuar sendo tratada como entrada inválida pelo console;
+ * a API HTTP usa o tipo específico para responder 404 em vez de 400.
+ */
+public class TaskNotFoundException extends IllegalArgumentException {
+
+    private final String id;
+
+    public TaskNotFoundException(String id) {
+        super("Tarefa não encontrada com ID: " + id);
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
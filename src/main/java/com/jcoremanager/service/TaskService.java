@@ -1,12 +1,28 @@
 package com.jcoremanager.service;
 
+import com.jcoremanager.metrics.Metrics;
+import com.jcoremanager.metrics.OperationTimer;
 import com.jcoremanager.model.Priority;
 import com.jcoremanager.model.Task;
-import com.jcoremanager.repository.JsonTaskRepository;
+import com.jcoremanager.model.TaskDraft;
+import com.jcoremanager.repository.LoadStats;
+import com.jcoremanager.repository.TaskPage;
 import com.jcoremanager.repository.TaskRepository;
+import com.jcoremanager.repository.TaskRepositoryFactory;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Camada de Serviço (Service Layer).
@@ -15,66 +31,501 @@ import java.util.List;
  */
 public class TaskService {
 
+    // Quantidade padrão de resultados da busca textual.
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    // Maior página aceita por listTasks: quem precisa de mais segue o cursor (getNextCursor()).
+    // Também limita o quanto uma única chamada pode reservar de memória no Repository.
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    // Métricas por operação do Service (contagem e latência; ver Metrics).
+    private static final OperationTimer CREATE_TASK = Metrics.timer("service.createTask");
+    private static final OperationTimer LIST_ALL_TASKS = Metrics.timer("service.listAllTasks");
+    private static final OperationTimer GET_TASK = Metrics.timer("service.getTask");
+    private static final OperationTimer COUNT_TASKS = Metrics.timer("service.countTasks");
+    private static final OperationTimer LIST_TASKS = Metrics.timer("service.listTasks");
+    private static final OperationTimer SEARCH_TASKS = Metrics.timer("service.searchTasks");
+    private static final OperationTimer LIST_TASKS_BY_PRIORITY = Metrics.timer("service.listTasksByPriority");
+    private static final OperationTimer LIST_PENDING_TASKS = Metrics.timer("service.listPendingTasks");
+    private static final OperationTimer LIST_COMPLETED_TASKS = Metrics.timer("service.listCompletedTasks");
+    private static final OperationTimer LIST_TASKS_CREATED_BETWEEN = Metrics.timer("service.listTasksCreatedBetween");
+    private static final OperationTimer LIST_TASKS_COMPLETED_BETWEEN = Metrics.timer("service.listTasksCompletedBetween");
+    private static final OperationTimer LIST_TASKS_COMPLETED_THIS_WEEK = Metrics.timer("service.listTasksCompletedThisWeek");
+    private static final OperationTimer UPDATE_TASK = Metrics.timer("service.updateTask");
+    private static final OperationTimer COMPLETE_TASK = Metrics.timer("service.completeTask");
+    private static final OperationTimer REMOVE_TASK = Metrics.timer("service.removeTask");
+    private static final OperationTimer CREATE_TASKS = Metrics.timer("service.createTasks");
+    private static final OperationTimer COMPLETE_TASKS = Metrics.timer("service.completeTasks");
+    private static final OperationTimer COMPLETE_TASKS_MATCHING = Metrics.timer("service.completeTasksMatching");
+    private static final OperationTimer REMOVE_TASKS = Metrics.timer("service.removeTasks");
+    private static final OperationTimer REMOVE_TASKS_MATCHING = Metrics.timer("service.removeTasksMatching");
+    private static final OperationTimer CHANGE_PRIORITY = Metrics.timer("service.changePriority");
+    private static final OperationTimer CHANGE_PRIORITY_MATCHING = Metrics.timer("service.changePriorityMatching");
+
     private final TaskRepository repository;
+    private final TaskEventPublisher events = new TaskEventPublisher();
 
     public TaskService() {
         // Injeção de dependência manual.
         // Em um ambiente Enterprise (Spring/Jakarta EE), isso seria @Autowired ou @Inject.
-        this.repository = new JsonTaskRepository();
+        // O backend concreto (JSON, log, ...) é escolhido pela configuração.
+        this(TaskRepositoryFactory.create());
     }
 
-    public void createTask(String title, String description, Priority priority) {
-        // Validação: Não permite criar tarefas sem título ou descrição.
-        validateStringInput(title, "O título da tarefa é obrigatório.");
-        validateStringInput(description, "A descrição da tarefa é obrigatória.");
+    public TaskService(TaskRepository repository) {
+        this.repository = repository;
+    }
 
-        Task task = new Task(title, description, priority);
-        repository.save(task);
+    // Retorna a tarefa criada (com ID e data de criação).
+    public Task createTask(String title, String description, Priority priority) {
+        long start = CREATE_TASK.start();
+        try {
+            // Validação: Não permite criar tarefas sem título ou descrição.
+            validateStringInput(title, "O título da tarefa é obrigatório.");
+            validateStringInput(description, "A descrição da tarefa é obrigatória.");
+
+            Task task = new Task(title, description, priority);
+            repository.save(task);
+            events.publish(TaskEvent.Type.CREATED, task);
+            return task;
+        } finally {
+            CREATE_TASK.stop(start);
+        }
     }
 
     public List<Task> listAllTasks() {
-        return repository.findAll();
+        long start = LIST_ALL_TASKS.start();
+        try {
+            return repository.findAll();
+        } finally {
+            LIST_ALL_TASKS.stop(start);
+        }
     }
 
-    public void updateTask(String id, String newTitle, String newDescription, Priority newPriority) {
-        Task task = getTaskOrThrow(id);
-        
-        // Atualização parcial: Só altera os campos que foram preenchidos pelo usuário.
-        if (newTitle != null && !newTitle.trim().isEmpty()) {
-            task.setTitle(newTitle);
+    // Tarefa pelo ID completo ou parcial; TaskNotFoundException se não existir.
+    public Task getTask(String id) {
+        long start = GET_TASK.start();
+        try {
+            validateStringInput(id, "O ID da tarefa é obrigatório.");
+            return getTaskOrThrow(id);
+        } finally {
+            GET_TASK.stop(start);
+        }
+    }
+
+    /**
+     * Listagem paginada em ordem estável (por ID). 'cursor' é o getNextCursor() da página anterior,
+     * ou null para a primeira página; o custo depende do tamanho da página, não do total de tarefas.
+     */
+    public TaskPage listTasks(String cursor, int pageSize) {
+        long start = LIST_TASKS.start();
+        try {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("O tamanho da página deve ser maior que zero.");
+            }
+            if (pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("O tamanho da página deve ser no máximo " + MAX_PAGE_SIZE + ".");
+            }
+            return repository.findPage(cursor, pageSize);
+        } finally {
+            LIST_TASKS.stop(start);
+        }
+    }
+
+    public int countTasks() {
+        long start = COUNT_TASKS.start();
+        try {
+            return repository.count();
+        } finally {
+            COUNT_TASKS.stop(start);
         }
-        
-        if (newDescription != null && !newDescription.trim().isEmpty()) {
-            task.setDescription(newDescription);
+    }
+
+    /**
+     * Busca textual por palavras do título e da descrição, sem diferenciar maiúsculas nem acentos
+     * ("relat" encontra "Relatório"). Todas as palavras precisam aparecer; os resultados vêm
+     * ordenados por relevância (palavras no título e palavras raras pesam mais).
+     */
+    public List<Task> searchTasks(String query) {
+        return searchTasks(query, DEFAULT_SEARCH_LIMIT);
+    }
+
+    public List<Task> searchTasks(String query, int limit) {
+        long start = SEARCH_TASKS.start();
+        try {
+            validateStringInput(query, "O termo de busca é obrigatório.");
+            if (limit <= 0) {
+                throw new IllegalArgumentException("O limite de resultados deve ser maior que zero.");
+            }
+            return repository.search(query, limit);
+        } finally {
+            SEARCH_TASKS.stop(start);
         }
-        
-        if (newPriority != null) {
-            task.setPriority(newPriority);
+    }
+
+    // --- Consultas (respondidas pelos índices secundários do Repository) ---
+
+    public List<Task> listTasksByPriority(Priority priority) {
+        long start = LIST_TASKS_BY_PRIORITY.start();
+        try {
+            return repository.findByStatus(requirePriority(priority), null);
+        } finally {
+            LIST_TASKS_BY_PRIORITY.stop(start);
+        }
+    }
+
+    // Tarefas em aberto (não concluídas), de qualquer prioridade.
+    public List<Task> listPendingTasks() {
+        long start = LIST_PENDING_TASKS.start();
+        try {
+            return repository.findByStatus(null, false);
+        } finally {
+            LIST_PENDING_TASKS.stop(start);
         }
+    }
 
-        repository.update(task);
+    // Tarefas em aberto com a prioridade informada (ex: "ALTA em aberto").
+    public List<Task> listPendingTasks(Priority priority) {
+        long start = LIST_PENDING_TASKS.start();
+        try {
+            return repository.findByStatus(requirePriority(priority), false);
+        } finally {
+            LIST_PENDING_TASKS.stop(start);
+        }
+    }
+
+    public List<Task> listCompletedTasks() {
+        long start = LIST_COMPLETED_TASKS.start();
+        try {
+            return repository.findByStatus(null, true);
+        } finally {
+            LIST_COMPLETED_TASKS.stop(start);
+        }
+    }
+
+    // Concluídas de uma prioridade, direto do índice (sem listar todas e filtrar depois).
+    public List<Task> listCompletedTasks(Priority priority) {
+        long start = LIST_COMPLETED_TASKS.start();
+        try {
+            return repository.findByStatus(requirePriority(priority), true);
+        } finally {
+            LIST_COMPLETED_TASKS.stop(start);
+        }
+    }
+
+    // Tarefas criadas no intervalo [from, to), em ordem de criação.
+    public List<Task> listTasksCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        long start = LIST_TASKS_CREATED_BETWEEN.start();
+        try {
+            validateRange(from, to);
+            return repository.findCreatedBetween(from, to);
+        } finally {
+            LIST_TASKS_CREATED_BETWEEN.stop(start);
+        }
+    }
+
+    // Tarefas concluídas no intervalo [from, to), em ordem de conclusão.
+    public List<Task> listTasksCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        long start = LIST_TASKS_COMPLETED_BETWEEN.start();
+        try {
+            validateRange(from, to);
+            return repository.findCompletedBetween(from, to);
+        } finally {
+            LIST_TASKS_COMPLETED_BETWEEN.stop(start);
+        }
+    }
+
+    // Concluídas desde a última segunda-feira (00:00) até agora.
+    public List<Task> listTasksCompletedThisWeek() {
+        long start = LIST_TASKS_COMPLETED_THIS_WEEK.start();
+        try {
+            LocalDateTime weekStart = LocalDate.now()
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .atStartOfDay();
+            return repository.findCompletedBetween(weekStart, LocalDateTime.now().plusNanos(1));
+        } finally {
+            LIST_TASKS_COMPLETED_THIS_WEEK.stop(start);
+        }
+    }
+
+    public void updateTask(String id, String newTitle, String newDescription, Priority newPriority) {
+        long start = UPDATE_TASK.start();
+        try {
+            Task task = getTaskOrThrow(id);
+
+            // A alteração é aplicada pelo Repository em um único passo (ler-modificar-gravar),
+            // o que mantém a operação correta mesmo com várias threads usando o mesmo Service.
+            // O evento só é publicado depois que o modify retorna, ou seja, com a gravação já feita.
+            List<Task> updated = new ArrayList<>(1);
+            repository.modify(task.getId(), t -> {
+                // Os setters marcam só o que de fato mudou: limpar antes faz o isDirty() abaixo
+                // responder "este passo alterou algo?" (o que estava marcado já está gravado).
+                t.clearDirty();
+
+                // Atualização parcial: Só altera os campos que foram preenchidos pelo usuário.
+                if (newTitle != null && !newTitle.trim().isEmpty()) {
+                    t.setTitle(newTitle);
+                }
+
+                if (newDescription != null && !newDescription.trim().isEmpty()) {
+                    t.setDescription(newDescription);
+                }
+
+                if (newPriority != null) {
+                    t.setPriority(newPriority);
+                }
+                // Mesmos valores de antes: nada a gravar nem a avisar.
+                if (!t.isDirty()) {
+                    return false;
+                }
+                collect(updated, t);
+                return true;
+            });
+            publishAll(TaskEvent.Type.UPDATED, updated);
+        } finally {
+            UPDATE_TASK.stop(start);
+        }
     }
 
     public void completeTask(String id) {
-        Task task = getTaskOrThrow(id);
-        
-        // Regra de negócio: Só atualiza se ainda não estiver concluída.
-        if (!task.isCompleted()) {
-            task.setCompleted(true);
-            task.setCompletionDate(LocalDateTime.now()); // Regra: Registrar data exata da conclusão.
-            repository.update(task);
+        long start = COMPLETE_TASK.start();
+        try {
+            Task task = getTaskOrThrow(id);
+
+            List<Task> completed = new ArrayList<>(1);
+            repository.modify(task.getId(), t -> {
+                // Regra de negócio: Só atualiza se ainda não estiver concluída.
+                if (t.isCompleted()) {
+                    return false;
+                }
+                t.setCompleted(true);
+                t.setCompletionDate(LocalDateTime.now()); // Regra: Registrar data exata da conclusão.
+                collect(completed, t);
+                return true;
+            });
+            publishAll(TaskEvent.Type.COMPLETED, completed);
+        } finally {
+            COMPLETE_TASK.stop(start);
         }
     }
 
     public void removeTask(String id) {
-        getTaskOrThrow(id); // Garante que existe antes de tentar apagar.
-        repository.delete(id);
+        long start = REMOVE_TASK.start();
+        try {
+            // Garante que existe antes de tentar apagar e resolve o ID parcial para o ID completo,
+            // já que o delete do Repository trabalha apenas com o ID exato.
+            Task task = getTaskOrThrow(id);
+            // deleteAll informa se a tarefa ainda existia: outra thread pode tê-la removido antes,
+            // e aí não há remoção a anunciar.
+            repository.deleteAll(List.of(task.getId()))
+                    .forEach(removed -> events.publish(TaskEvent.Type.REMOVED, removed, null));
+        } finally {
+            REMOVE_TASK.stop(start);
+        }
+    }
+
+    // --- Operações em lote ---
+    // Cada método valida a entrada inteira antes de alterar qualquer coisa (tudo ou nada)
+    // e envia o lote ao Repository em uma única transação, com uma única gravação em disco.
+
+    public List<Task> createTasks(List<TaskDraft> drafts) {
+        long start = CREATE_TASKS.start();
+        try {
+            List<Task> tasks = new ArrayList<>(drafts.size());
+            for (TaskDraft draft : drafts) {
+                validateStringInput(draft.title(), "O título da tarefa é obrigatório.");
+                validateStringInput(draft.description(), "A descrição da tarefa é obrigatória.");
+                tasks.add(new Task(draft.title(), draft.description(), draft.priority()));
+            }
+            repository.saveAll(tasks);
+            if (events.isActive()) {
+                tasks.forEach(t -> events.publish(TaskEvent.Type.CREATED, t));
+            }
+            return tasks;
+        } finally {
+            CREATE_TASKS.stop(start);
+        }
+    }
+
+    // Retorna quantas tarefas foram concluídas agora (as que já estavam concluídas não contam).
+    public int completeTasks(Collection<String> ids) {
+        long start = COMPLETE_TASKS.start();
+        try {
+            LocalDateTime now = LocalDateTime.now(); // Todo o lote registra o mesmo momento de conclusão.
+            List<Task> completed = new ArrayList<>();
+            int count = repository.modifyAll(resolveIds(ids), t -> {
+                if (t.isCompleted()) {
+                    return false;
+                }
+                t.setCompleted(true);
+                t.setCompletionDate(now);
+                collect(completed, t);
+                return true;
+            });
+            publishAll(TaskEvent.Type.COMPLETED, completed);
+            return count;
+        } finally {
+            COMPLETE_TASKS.stop(start);
+        }
+    }
+
+    public int completeTasksMatching(Predicate<Task> filter) {
+        long start = COMPLETE_TASKS_MATCHING.start();
+        try {
+            return completeTasks(idsMatching(filter));
+        } finally {
+            COMPLETE_TASKS_MATCHING.stop(start);
+        }
+    }
+
+    public int removeTasks(Collection<String> ids) {
+        long start = REMOVE_TASKS.start();
+        try {
+            // Só os IDs que o Repository de fato removeu geram evento (outra thread pode ter removido antes).
+            List<String> removed = repository.deleteAll(resolveIds(ids));
+            removed.forEach(id -> events.publish(TaskEvent.Type.REMOVED, id, null));
+            return removed.size();
+        } finally {
+            REMOVE_TASKS.stop(start);
+        }
+    }
+
+    public int removeTasksMatching(Predicate<Task> filter) {
+        long start = REMOVE_TASKS_MATCHING.start();
+        try {
+            return removeTasks(idsMatching(filter));
+        } finally {
+            REMOVE_TASKS_MATCHING.stop(start);
+        }
+    }
+
+    // Retorna quantas tarefas tiveram a prioridade de fato alterada.
+    public int changePriority(Collection<String> ids, Priority newPriority) {
+        long start = CHANGE_PRIORITY.start();
+        try {
+            if (newPriority == null) {
+                throw new IllegalArgumentException("A nova prioridade é obrigatória.");
+            }
+            List<Task> updated = new ArrayList<>();
+            int count = repository.modifyAll(resolveIds(ids), t -> {
+                if (t.getPriority() == newPriority) {
+                    return false;
+                }
+                t.setPriority(newPriority);
+                collect(updated, t);
+                return true;
+            });
+            publishAll(TaskEvent.Type.UPDATED, updated);
+            return count;
+        } finally {
+            CHANGE_PRIORITY.stop(start);
+        }
+    }
+
+    public int changePriorityMatching(Predicate<Task> filter, Priority newPriority) {
+        long start = CHANGE_PRIORITY_MATCHING.start();
+        try {
+            return changePriority(idsMatching(filter), newPriority);
+        } finally {
+            CHANGE_PRIORITY_MATCHING.stop(start);
+        }
+    }
+
+    /**
+     * Eventos de alteração (criação, atualização, conclusão e remoção) feitos por este Service, para quem
+     * precisa reagir a eles sem varrer listAllTasks() periodicamente. Cada assinante tem um buffer limitado
+     * e pede os eventos com request(n); um assinante lento perde eventos (ver TaskEvent.sequence),
+     * mas nunca atrasa as gravações. Alterações feitas por outros processos não aparecem aqui.
+     * Todo evento é publicado depois que o Repository retorna, pela thread que gravou, e só para o que
+     * foi de fato alterado: uma gravação que falha não gera evento. Com duas threads alterando a mesma
+     * tarefa ao mesmo tempo, os eventos podem chegar em ordem diferente da das gravações.
+     */
+    public Flow.Publisher<TaskEvent> events() {
+        return events;
+    }
+
+    // Eventos descartados porque algum assinante estava com o buffer cheio.
+    public long getDroppedEvents() {
+        return events.droppedEvents();
+    }
+
+    // Guarda uma cópia da tarefa alterada (dentro do modify) para publicar depois da gravação.
+    // Sem assinantes não há evento a montar, e a cópia é dispensada.
+    private void collect(List<Task> changed, Task task) {
+        if (events.isActive()) {
+            changed.add(new Task(task));
+        }
+    }
+
+    private void publishAll(TaskEvent.Type type, List<Task> changed) {
+        changed.forEach(t -> events.publish(type, t.getId(), t));
+    }
+
+    // Se o Repository aceita chamadas simultâneas; caso contrário, quem usa o Service
+    // a partir de várias threads (ex: o servidor HTTP) precisa serializar as chamadas.
+    public boolean isThreadSafe() {
+        return repository.isThreadSafe();
+    }
+
+    // Métrica de inicialização: quanto tempo o Repository levou para carregar os dados.
+    public LoadStats getStartupStats() {
+        return repository.loadStats();
+    }
+
+    /**
+     * Handle de durabilidade: completa quando todas as operações feitas até agora estiverem gravadas.
+     * As operações não esperam pelo disco; quem precisa dessa garantia (ex: ao final de uma importação)
+     * chama flush().join().
+     */
+    public CompletableFuture<Void> flush() {
+        return repository.flush();
+    }
+
+    // Encerra o Repository, garantindo que as operações pendentes sejam gravadas.
+    public void close() {
+        events.close(); // Os assinantes recebem o que falta e então onComplete().
+        repository.close();
     }
 
     // Método auxiliar para buscar tarefa ou falhar rapidamente (Fail-fast) se não existir.
     private Task getTaskOrThrow(String id) {
         return repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Tarefa não encontrada com ID: " + id));
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    /**
+     * Converte IDs (completos ou parciais) em IDs completos, sem repetições.
+     * Se algum não existir (ou for ambíguo), o lote inteiro é rejeitado antes de qualquer alteração.
+     */
+    private Set<String> resolveIds(Collection<String> ids) {
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String id : ids) {
+            resolved.add(getTaskOrThrow(id).getId());
+        }
+        return resolved;
+    }
+
+    private List<String> idsMatching(Predicate<Task> filter) {
+        return repository.findAll().stream()
+                .filter(filter)
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Priority requirePriority(Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("A prioridade é obrigatória.");
+        }
+        return priority;
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("O início e o fim do período são obrigatórios.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("O início do período deve ser anterior ao fim.");
+        }
     }
 
     private void validateStringInput(String input, String errorMessage) {
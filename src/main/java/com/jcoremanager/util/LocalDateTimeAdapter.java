@@ -1,7 +1,13 @@
 package com.jcoremanager.util;
 
-import com.google.gson.*;
-import java.lang.reflect.Type;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -9,8 +15,13 @@ import java.time.format.DateTimeFormatter;
  * Classe utilitária (Adapter) para o Gson.
  * O Gson padrão não sabe lidar nativamente com o 'LocalDateTime' do Java 8+,
  * então precisamos ensinar a ele como converter Texto -> Data e Data -> Texto.
+ *
+ * Usa a API de streaming (TypeAdapter): a data vai direto do token para o objeto, sem criar
+ * um JsonPrimitive intermediário como o par JsonSerializer/JsonDeserializer. O formato ISO
+ * (ex: 2023-10-05T15:30:00) é escrito e lido à mão no caso comum; o DateTimeFormatter só
+ * entra nas variações raras (anos fora de 0000-9999, texto em outro layout).
  */
-public class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
 
     // Define o formato padrão ISO (ex: 2023-10-05T15:30:00)
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
@@ -19,16 +30,135 @@ public class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, Json
      * Serialização: Converte o objeto LocalDateTime (Java) para uma String (JSON).
      */
     @Override
-    public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(formatter.format(src));
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(format(value));
     }
 
     /**
      * Deserialização: Converte a String (JSON) de volta para um objeto LocalDateTime (Java).
      */
     @Override
-    public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-        return LocalDateTime.parse(json.getAsString(), formatter);
+    public LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return parseJson(in.nextString());
+    }
+
+    /**
+     * parse() para quem lê JSON: qualquer data inválida vira JsonSyntaxException (ex: 400 na API).
+     * Além do texto mal formado (DateTimeParseException), a leitura rápida pode montar campos fora
+     * do intervalo (ex: mês 13, 30 de fevereiro), que o LocalDateTime.of rejeita com DateTimeException.
+     */
+    static LocalDateTime parseJson(String text) {
+        try {
+            return parse(text);
+        } catch (DateTimeException e) {
+            throw new JsonSyntaxException("Data inválida: " + text, e);
+        }
+    }
+
+    // Mesmo texto que formatter.format(value).
+    public static String format(LocalDateTime value) {
+        return appendTo(new StringBuilder(29), value).toString();
+    }
+
+    /**
+     * Escreve a data no formato ISO_LOCAL_DATE_TIME: segundos sempre presentes e a fração
+     * só quando diferente de zero, sem zeros à direita (ex: .5, .123, .934642125).
+     */
+    public static StringBuilder appendTo(StringBuilder sb, LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            formatter.formatTo(value, sb); // Sinal e mais de 4 dígitos: deixa para o formatter.
+            return sb;
+        }
+        appendDigits(sb, year, 4).append('-');
+        appendDigits(sb, value.getMonthValue(), 2).append('-');
+        appendDigits(sb, value.getDayOfMonth(), 2).append('T');
+        appendDigits(sb, value.getHour(), 2).append(':');
+        appendDigits(sb, value.getMinute(), 2).append(':');
+        appendDigits(sb, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            appendDigits(sb.append('.'), nano, digits);
+        }
+        return sb;
+    }
+
+    /**
+     * Leitura rápida do formato ISO "yyyy-MM-ddTHH:mm:ss[.fffffffff]", que é o único que gravamos.
+     * Evita o parser genérico do DateTimeFormatter (e seus objetos temporários) no caso comum;
+     * qualquer outra variação cai no parser completo.
+     */
+    public static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return LocalDateTime.parse(text, formatter);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+        int nano = 0;
+
+        if (length > 19) {
+            int fractionDigits = length - 20;
+            if (text.charAt(19) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                return LocalDateTime.parse(text, formatter);
+            }
+            nano = digits(text, 20, length);
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return LocalDateTime.parse(text, formatter); // Algum caractere não era dígito.
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    // Converte um trecho de dígitos em int; retorna -1 se encontrar outro caractere.
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Escreve 'value' com exatamente 'width' dígitos (zeros à esquerda).
+    private static StringBuilder appendDigits(StringBuilder sb, int value, int width) {
+        for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+        return sb;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.jcoremanager.util;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.jcoremanager.model.Priority;
+
+import java.io.IOException;
+
+/**
+ * Adapter em streaming para a Priority, gravada pelo nome da constante (ex: "ALTA").
+ * O adapter padrão do Gson para enums descobre os nomes por Reflection (e @SerializedName)
+ * e guarda tudo em mapas; aqui a conversão é um switch direto, e um valor desconhecido
+ * vira erro em vez de um null silencioso.
+ */
+public class PriorityTypeAdapter extends TypeAdapter<Priority> {
+
+    @Override
+    public void write(JsonWriter out, Priority value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.name());
+    }
+
+    @Override
+    public Priority read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return parse(in.nextString());
+    }
+
+    public static Priority parse(String name) {
+        return switch (name) {
+            case "BAIXA" -> Priority.BAIXA;
+            case "MEDIA" -> Priority.MEDIA;
+            case "ALTA" -> Priority.ALTA;
+            default -> throw new JsonSyntaxException("Prioridade inválida: '" + name + "' (use BAIXA, MEDIA ou ALTA).");
+        };
+    }
+}
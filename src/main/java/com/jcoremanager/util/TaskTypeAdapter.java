@@ -0,0 +1,90 @@
+package com.jcoremanager.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.jcoremanager.model.Priority;
+import com.jcoremanager.model.Task;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Adapter "escrito à mão" para a classe Task, baseado na API de streaming do Gson.
+ * Diferente do adapter reflexivo padrão, não usa Reflection campo a campo nem cria
+ * árvores intermediárias (JsonElement) para as datas: lê e escreve os tokens diretamente.
+ * O formato do JSON é idêntico ao gerado pelo Gson com o LocalDateTimeAdapter; as datas e a
+ * prioridade usam as mesmas rotinas do LocalDateTimeAdapter e do PriorityTypeAdapter.
+ */
+public class TaskTypeAdapter extends TypeAdapter<Task> {
+
+    @Override
+    public void write(JsonWriter out, Task task) throws IOException {
+        if (task == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeString(out, "id", task.getId());
+        writeString(out, "title", task.getTitle());
+        writeString(out, "description", task.getDescription());
+        if (task.getPriority() != null) {
+            out.name("priority").value(task.getPriority().name());
+        }
+        out.name("completed").value(task.isCompleted());
+        writeDate(out, "creationDate", task.getCreationDate());
+        writeDate(out, "completionDate", task.getCompletionDate());
+        out.endObject();
+    }
+
+    @Override
+    public Task read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String title = null;
+        String description = null;
+        Priority priority = null;
+        boolean completed = false;
+        LocalDateTime creationDate = null;
+        LocalDateTime completionDate = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull(); // Campos nulos mantêm o valor padrão.
+                continue;
+            }
+            switch (name) {
+                case "id" -> id = in.nextString();
+                case "title" -> title = in.nextString();
+                case "description" -> description = in.nextString();
+                case "priority" -> priority = PriorityTypeAdapter.parse(in.nextString());
+                case "completed" -> completed = in.nextBoolean();
+                case "creationDate" -> creationDate = LocalDateTimeAdapter.parseJson(in.nextString());
+                case "completionDate" -> completionDate = LocalDateTimeAdapter.parseJson(in.nextString());
+                default -> in.skipValue(); // Campos desconhecidos são ignorados, como no Gson padrão.
+            }
+        }
+        in.endObject();
+
+        return new Task(id, title, description, priority, completed, creationDate, completionDate);
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeDate(JsonWriter out, String name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            out.name(name).value(LocalDateTimeAdapter.format(value));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jcoremanager.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Quebra textos em termos de busca: palavras (letras e dígitos) em minúsculas e sem acentos.
+ * Assim "Relatório", "RELATORIO" e "relatorio" viram o mesmo termo, tanto ao indexar quanto ao buscar.
+ */
+public final class TextTokenizer {
+
+    private TextTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        // NFD separa cada letra acentuada em letra base + marca (ex: "ó" -> "o" + "´"); as marcas são descartadas.
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jcoremanager.util;
+
+import java.util.UUID;
+
+/**
+ * Conversões entre o ID textual das tarefas (UUID canônico, 36 caracteres)
+ * e sua forma compacta de dois longs (128 bits), usada nos formatos binários.
+ * A ordem "sem sinal" de (msb, lsb) é a mesma ordem lexicográfica do texto em hexadecimal minúsculo,
+ * o que permite buscas por prefixo diretamente sobre os longs.
+ */
+public final class UuidCodec {
+
+    private static final int HEX_DIGITS = 32;
+
+    private UuidCodec() {}
+
+    /**
+     * Converte o ID para UUID, exigindo a forma canônica (minúscula, com hífens),
+     * única que pode ser reconstruída exatamente a partir dos dois longs.
+     */
+    public static UUID parse(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ID de tarefa não é um UUID: " + id, e);
+        }
+        if (!uuid.toString().equals(id)) {
+            throw new IllegalArgumentException("ID de tarefa fora do formato canônico: " + id);
+        }
+        return uuid;
+    }
+
+    public static String format(long msb, long lsb) {
+        return new UUID(msb, lsb).toString();
+    }
+
+    // Compara dois IDs na forma de longs, na mesma ordem da comparação dos textos.
+    public static int compare(long msb1, long lsb1, long msb2, long lsb2) {
+        int cmp = Long.compareUnsigned(msb1, msb2);
+        return cmp != 0 ? cmp : Long.compareUnsigned(lsb1, lsb2);
+    }
+
+    /**
+     * Menor e maior UUID (como {msb, lsb, msb, lsb}) que começam com o prefixo textual informado.
+     * Retorna null se o prefixo não puder pertencer a um UUID canônico.
+     */
+    public static long[] prefixRange(String prefix) {
+        StringBuilder hex = new StringBuilder(HEX_DIGITS);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            boolean dashPosition = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dashPosition) {
+                if (c != '-') {
+                    return null;
+                }
+            } else if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')) {
+                hex.append(c);
+            } else {
+                return null;
+            }
+        }
+        if (hex.length() > HEX_DIGITS) {
+            return null;
+        }
+
+        String low = pad(hex, '0');
+        String high = pad(hex, 'f');
+        return new long[] {
+                Long.parseUnsignedLong(low.substring(0, 16), 16), Long.parseUnsignedLong(low.substring(16), 16),
+                Long.parseUnsignedLong(high.substring(0, 16), 16), Long.parseUnsignedLong(high.substring(16), 16)
+        };
+    }
+
+    private static String pad(CharSequence hex, char filler) {
+        StringBuilder sb = new StringBuilder(HEX_DIGITS).append(hex);
+        while (sb.length() < HEX_DIGITS) {
+            sb.append(filler);
+        }
+        return sb.toString();
+    }
+}
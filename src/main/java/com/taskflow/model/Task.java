@@ -26,6 +26,17 @@ public class Task {
         this.creationDate = LocalDateTime.now();
     }
 
+    // Recria uma tarefa lida do arquivo, preservando o ID e a data de criação.
+    public Task(String id, String title, String description, Priority priority,
+                boolean completed, LocalDateTime creationDate) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.completed = completed;
+        this.creationDate = creationDate;
+    }
+
     // Getters e Setters
 
     public String getId() {
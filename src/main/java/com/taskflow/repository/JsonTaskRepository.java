@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.taskflow.model.Task;
 import com.taskflow.util.LocalDateTimeAdapter;
+import com.taskflow.util.TaskTypeAdapter;
 
 import java.io.*;
 import java.lang.reflect.Type;
@@ -26,6 +27,7 @@ public class JsonTaskRepository implements TaskRepository {
         this.gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
                 .create();
         this.tasks = loadFromFile();
     }
@@ -0,0 +1,93 @@
+package com.taskflow.util;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.taskflow.model.Priority;
+import com.taskflow.model.Task;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador em streaming para a Task: escreve e lê os campos um a um, sem Reflection.
+ * O JSON gerado é o mesmo do Gson padrão (mesmos nomes de campos; nulos omitidos).
+ */
+public class TaskTypeAdapter extends TypeAdapter<Task> {
+
+    private final LocalDateTimeAdapter dates = new LocalDateTimeAdapter();
+
+    @Override
+    public void write(JsonWriter out, Task task) throws IOException {
+        if (task == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (task.getId() != null) {
+            out.name("id").value(task.getId());
+        }
+        if (task.getTitle() != null) {
+            out.name("title").value(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            out.name("description").value(task.getDescription());
+        }
+        if (task.getPriority() != null) {
+            out.name("priority").value(task.getPriority().name());
+        }
+        out.name("completed").value(task.isCompleted());
+        if (task.getCreationDate() != null) {
+            out.name("creationDate");
+            dates.write(out, task.getCreationDate());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Task read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String title = null;
+        String description = null;
+        Priority priority = null;
+        boolean completed = false;
+        LocalDateTime creationDate = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id" -> id = in.nextString();
+                case "title" -> title = in.nextString();
+                case "description" -> description = in.nextString();
+                case "priority" -> priority = parsePriority(in.nextString());
+                case "completed" -> completed = in.nextBoolean();
+                case "creationDate" -> creationDate = dates.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Task(id, title, description, priority, completed, creationDate);
+    }
+
+    private static Priority parsePriority(String name) {
+        return switch (name) {
+            case "BAIXA" -> Priority.BAIXA;
+            case "MEDIA" -> Priority.MEDIA;
+            case "ALTA" -> Priority.ALTA;
+            default -> throw new JsonSyntaxException("Prioridade inválida no arquivo: " + name);
+        };
+    }
+}